@@ -0,0 +1,258 @@
+package co.com.pragma.autenticacion.loadtest;
+
+import co.com.pragma.autenticacion.MainApplication;
+import co.com.pragma.autenticacion.loadtest.LoadTestSettings.Route;
+import org.HdrHistogram.Histogram;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.MySQLContainer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga de extremo a extremo.
+ *
+ * - Arranca MainApplication completa (puerto aleatorio) contra un MySQL efímero (Testcontainers).
+ * - Siembra N usuarios ADMIN con la misma contraseña (un solo hash BCrypt).
+ * - Cada sesión virtual inicia sesión con su usuario y luego ejecuta la mezcla configurada
+ *   de login / refresh / lecturas autenticadas con WebClient, conservando su último refresh token.
+ * - Escribe throughput y p50/p99/p999 por ruta en build/reports/load-test.
+ *
+ * No forma parte de "check": se ejecuta con ./gradlew :app-service:loadTest
+ */
+@SpringBootTest(classes = MainApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthLoadTest {
+
+    private static final String DB = "crediya_auth";
+    private static final String PASSWORD = "LoadTest-123";
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName(DB)
+            .withUsername("root")
+            .withPassword("test");
+
+    static {
+        MYSQL.start();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private final AtomicLong completed = new AtomicLong();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("adapters.r2dbc.host", MYSQL::getHost);
+        registry.add("adapters.r2dbc.port", () -> MYSQL.getMappedPort(MySQLContainer.MYSQL_PORT));
+        registry.add("adapters.r2dbc.database", () -> DB);
+        registry.add("adapters.r2dbc.username", MYSQL::getUsername);
+        registry.add("adapters.r2dbc.password", MYSQL::getPassword);
+        registry.add("spring.flyway.url", MYSQL::getJdbcUrl);
+        registry.add("spring.flyway.user", MYSQL::getUsername);
+        registry.add("spring.flyway.password", MYSQL::getPassword);
+        registry.add("spring.flyway.placeholders.db", () -> DB);
+        // La prueba golpea el login desde una sola IP: el throttle falsearía las mediciones
+        registry.add("security.login-throttle.enabled", () -> "false");
+    }
+
+    /**
+     * Migra y siembra antes de arrancar el contexto, para que el catálogo de roles los cargue al iniciar.
+     */
+    @BeforeAll
+    static void seed() throws SQLException {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("db", DB))
+                .load()
+                .migrate();
+
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        try (Connection connection = DriverManager.getConnection(
+                MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO roles (role_id, name, description) VALUES "
+                        + "(1, 'ADMIN', 'Administrador'), (2, 'ASESOR', 'Asesor'), (3, 'CLIENTE', 'Cliente')");
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO users (name, last_name, date_of_birth, email, identity_document, base_salary, password, role_id) "
+                            + "VALUES (?, ?, '1990-01-01', ?, ?, 1000000, ?, 1)")) {
+                for (int i = 0; i < SETTINGS.users(); i++) {
+                    insert.setString(1, "Carga" + i);
+                    insert.setString(2, "Usuario" + i);
+                    insert.setString(3, email(i));
+                    insert.setString(4, "LT" + i);
+                    insert.setString(5, hash);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    @Test
+    void authenticationRoutesUnderLoad() throws IOException {
+        WebClient client = WebClient.builder().baseUrl("http://localhost:" + port).build();
+        SETTINGS.mix().keySet().forEach(route -> stats.put(route, new RouteStats()));
+        stats.putIfAbsent(Route.LOGIN, new RouteStats());
+
+        run(client, SETTINGS.warmup().toNanos());
+        stats.values().forEach(RouteStats::reset);
+        completed.set(0);
+
+        long start = System.nanoTime();
+        run(client, SETTINGS.duration().toNanos());
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        String report = report(elapsedSeconds);
+        Files.createDirectories(SETTINGS.reportDir());
+        Files.writeString(SETTINGS.reportDir().resolve("summary.md"), report);
+        System.out.println(report);
+
+        assertTrue(completed.get() > 0, "La prueba no completó ninguna petición");
+    }
+
+    // Ejecuta todas las sesiones hasta el deadline; cada sesión es secuencial (un request a la vez).
+    private void run(WebClient client, long durationNanos) {
+        long deadline = System.nanoTime() + durationNanos;
+        Flux.range(0, SETTINGS.concurrency())
+                .flatMap(i -> session(client, new Session(email(i % SETTINGS.users())), deadline),
+                        SETTINGS.concurrency())
+                .blockLast();
+    }
+
+    private Flux<Void> session(WebClient client, Session session, long deadline) {
+        return login(client, session)
+                .thenMany(Mono.defer(() -> next(client, session))
+                        .repeat(() -> System.nanoTime() < deadline));
+    }
+
+    private Mono<Void> next(WebClient client, Session session) {
+        return switch (pickRoute()) {
+            case LOGIN -> login(client, session);
+            case REFRESH -> refresh(client, session);
+            case READ -> read(client, session);
+        };
+    }
+
+    private Mono<Void> login(WebClient client, Session session) {
+        return timed(Route.LOGIN, client.post().uri("/api/v1/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("email", session.email, "password", PASSWORD)), session);
+    }
+
+    private Mono<Void> refresh(WebClient client, Session session) {
+        if (session.refreshToken == null) return login(client, session);
+        return timed(Route.REFRESH, client.post().uri("/api/v1/token/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("refreshToken", session.refreshToken)), session);
+    }
+
+    private Mono<Void> read(WebClient client, Session session) {
+        if (session.accessToken == null) return login(client, session);
+        return timed(Route.READ, client.get().uri("/api/v1/usuarios?limit=20")
+                .headers(h -> h.setBearerAuth(session.accessToken)), session);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Void> timed(Route route, WebClient.RequestHeadersSpec<?> request, Session session) {
+        RouteStats routeStats = stats.get(route);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.exchangeToMono(response -> {
+                if (!response.statusCode().is2xxSuccessful()) {
+                    routeStats.error(response.statusCode().value());
+                    return response.releaseBody();
+                }
+                Mono<Void> body = route == Route.READ
+                        ? response.releaseBody()
+                        : response.bodyToMono(Map.class).doOnNext(tokens -> session.update((Map<String, Object>) tokens)).then();
+                return body.doOnTerminate(() -> {
+                    routeStats.success(System.nanoTime() - start);
+                    completed.incrementAndGet();
+                });
+            }).onErrorResume(e -> {
+                routeStats.error(0);
+                return Mono.empty();
+            });
+        });
+    }
+
+    private Route pickRoute() {
+        int total = SETTINGS.mix().values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Route, Integer> entry : SETTINGS.mix().entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) return entry.getKey();
+        }
+        return Route.READ;
+    }
+
+    private String report(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder()
+                .append("# Load test\n\n")
+                .append(String.format(Locale.ROOT, "users=%d concurrency=%d duration=%.1fs mix=%s%n%n",
+                        SETTINGS.users(), SETTINGS.concurrency(), elapsedSeconds, SETTINGS.mix()))
+                .append("| route | ok | errors | req/s | p50 ms | p99 ms | p999 ms | max ms |\n")
+                .append("|---|---|---|---|---|---|---|---|\n");
+        stats.forEach((route, routeStats) -> {
+            Histogram h = routeStats.snapshot();
+            long errors = routeStats.errors().values().stream().mapToLong(AtomicLong::get).sum();
+            out.append(String.format(Locale.ROOT, "| %s | %d | %d %s | %.1f | %.2f | %.2f | %.2f | %.2f |%n",
+                    route.label, h.getTotalCount(), errors, errors > 0 ? routeStats.errors() : "",
+                    h.getTotalCount() / elapsedSeconds,
+                    h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(99) / 1000.0,
+                    h.getValueAtPercentile(99.9) / 1000.0, h.getMaxValue() / 1000.0));
+        });
+        return out.toString();
+    }
+
+    private static String email(int i) {
+        return "load" + i + "@test.com";
+    }
+
+    /**
+     * Estado de una sesión virtual: conserva los últimos tokens emitidos (soporta rotación de refresh).
+     */
+    private static final class Session {
+        private final String email;
+        private volatile String accessToken;
+        private volatile String refreshToken;
+
+        private Session(String email) {
+            this.email = email;
+        }
+
+        private void update(Map<String, Object> tokens) {
+            Object access = tokens.get("accessToken");
+            Object refresh = tokens.get("refreshToken");
+            if (access != null) accessToken = access.toString();
+            if (refresh != null) refreshToken = refresh.toString();
+        }
+    }
+}
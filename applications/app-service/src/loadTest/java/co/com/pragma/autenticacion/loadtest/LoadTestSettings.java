@@ -0,0 +1,61 @@
+package co.com.pragma.autenticacion.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, leídos de propiedades de sistema
+ * (./gradlew :app-service:loadTest -Dloadtest.users=500 -Dloadtest.mix=login:10,refresh:10,read:80).
+ *
+ * @param users       usuarios sembrados en la base de datos.
+ * @param concurrency sesiones virtuales en paralelo (cada una con su usuario y tokens).
+ * @param warmup      duración del calentamiento (no se mide).
+ * @param duration    duración de la medición.
+ * @param mix         peso relativo de cada ruta.
+ * @param reportDir   carpeta del reporte.
+ */
+record LoadTestSettings(int users,
+                        int concurrency,
+                        Duration warmup,
+                        Duration duration,
+                        Map<Route, Integer> mix,
+                        Path reportDir) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 200),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30)),
+                parseMix(System.getProperty("loadtest.mix", "login:10,refresh:10,read:80")),
+                Path.of(System.getProperty("loadtest.reportDir", "build/reports/load-test")));
+    }
+
+    private static Map<Route, Integer> parseMix(String mix) {
+        Map<Route, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) weights.put(Route.valueOf(kv[0].trim().toUpperCase()), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("loadtest.mix sin rutas: " + mix);
+        return weights;
+    }
+
+    /**
+     * Rutas ejercitadas por la prueba.
+     */
+    enum Route {
+        LOGIN("POST /api/v1/login"),
+        REFRESH("POST /api/v1/token/refresh"),
+        READ("GET /api/v1/usuarios");
+
+        final String label;
+
+        Route(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package co.com.pragma.autenticacion.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencias (HdrHistogram, en microsegundos) y conteo de errores por código de estado de una ruta.
+ */
+final class RouteStats {
+
+    private static final long MAX_LATENCY_US = TimeUnit.SECONDS.toMicros(60);
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_US, 3);
+    private final Map<Integer, AtomicLong> errorsByStatus = new ConcurrentHashMap<>();
+
+    void success(long nanos) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_US));
+    }
+
+    void error(int status) {
+        errorsByStatus.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Descarta lo registrado hasta ahora (fin del calentamiento).
+     */
+    void reset() {
+        recorder.getIntervalHistogram();
+        errorsByStatus.clear();
+    }
+
+    Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+
+    Map<Integer, AtomicLong> errors() {
+        return errorsByStatus;
+    }
+}
@@ -0,0 +1,6 @@
+-- Unicidad de correo y documento garantizada por la base de datos:
+-- el registro hace un único INSERT y el adaptador traduce la violación a DuplicateException.
+-- Los nombres de las restricciones se usan en el adaptador para elegir el mensaje.
+ALTER TABLE `${db}`.`users`
+    ADD CONSTRAINT `uk_users_email` UNIQUE (`email`),
+    ADD CONSTRAINT `uk_users_identity_document` UNIQUE (`identity_document`);
@@ -0,0 +1,14 @@
+-- Refresh tokens emitidos (uno por rotación), agrupados por familia (una por login).
+-- El refresh busca por PK (token_id = jti); la revocación por familia y la purga de vencidos
+-- usan sus propios índices.
+CREATE TABLE IF NOT EXISTS `${db}`.`refresh_tokens` (
+    `token_id` CHAR(36) NOT NULL,
+    `family_id` CHAR(36) NOT NULL,
+    `user_id` BIGINT NULL,
+    `expires_at` BIGINT NOT NULL,            -- epoch millis (UTC)
+    `replaced_by` CHAR(36) NULL,             -- jti del token que lo reemplazó al rotar
+    `revoked` BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (`token_id`),
+    KEY `idx_refresh_tokens_family` (`family_id`),
+    KEY `idx_refresh_tokens_expires_at` (`expires_at`)
+    ) ENGINE=InnoDB;
@@ -0,0 +1,14 @@
+-- Revocaciones de access tokens: por jti (token_id) o por usuario (user_id + not_before).
+-- Cada instancia las mantiene en memoria y sincroniza por created_at; las vencidas se compactan por expires_at.
+-- Tiempos en epoch millis (UTC).
+CREATE TABLE IF NOT EXISTS `${db}`.`token_revocations` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `token_id` CHAR(36) NULL,
+    `user_id` BIGINT NULL,
+    `not_before` BIGINT NULL,
+    `expires_at` BIGINT NOT NULL,
+    `created_at` BIGINT NOT NULL,
+    PRIMARY KEY (`id`),
+    KEY `idx_token_revocations_created_at` (`created_at`),
+    KEY `idx_token_revocations_expires_at` (`expires_at`)
+    ) ENGINE=InnoDB;
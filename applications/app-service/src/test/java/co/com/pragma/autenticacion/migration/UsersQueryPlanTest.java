@@ -0,0 +1,140 @@
+package co.com.pragma.autenticacion.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Regresión de planes de ejecución sobre la tabla users.
+ *
+ * - Levanta un MySQL efímero, aplica las migraciones Flyway reales y siembra datos.
+ * - Ejecuta EXPLAIN sobre el SQL que Spring Data R2DBC genera para las consultas derivadas
+ *   de UserReactiveRepository (las que corren en cada login, refresh y registro).
+ * - Falla si alguna consulta cae en un full scan (type = ALL) o no usa índice.
+ *
+ * Requiere Docker: sin él la suite falla (no se omite), para que una regresión de índices
+ * no pase "check" en silencio.
+ */
+@Testcontainers
+class UsersQueryPlanTest {
+
+    private static final String DB = "crediya-auth";
+    private static final int SEED_USERS = 500;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName(DB)
+            .withUsername("root")
+            .withPassword("test");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .locations("classpath:db/migration")
+                .placeholders(Map.of("db", DB))
+                .load()
+                .migrate();
+
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO roles (role_id, name, description) VALUES "
+                        + "(1, 'ADMIN', 'Administrador'), (2, 'ASESOR', 'Asesor'), (3, 'CLIENTE', 'Cliente')");
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO users (name, last_name, email, identity_document, base_salary, password, role_id) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < SEED_USERS; i++) {
+                    insert.setString(1, "Nombre" + i);
+                    insert.setString(2, "Apellido" + i);
+                    insert.setString(3, "user" + i + "@test.com");
+                    insert.setString(4, "DOC" + i);
+                    insert.setBigDecimal(5, BigDecimal.valueOf(1000L + i));
+                    insert.setString(6, "hash");
+                    insert.setLong(7, (i % 3) + 1L);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                // Estadísticas frescas para que el optimizador decida como en producción
+                statement.execute("ANALYZE TABLE users, roles");
+            }
+        }
+    }
+
+    /**
+     * SQL equivalente al que renderiza Spring Data R2DBC para cada método derivado,
+     * más las consultas @Query (existencia, paginación por cursor) y la proyección de login.
+     */
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("findByEmail",
+                        "SELECT users.* FROM users WHERE users.email = ?", "user42@test.com"),
+                Arguments.of("getCredentialsByEmail",
+                        "SELECT id_user, name, last_name, email, password, role_id FROM users WHERE email = ? LIMIT 1",
+                        "user42@test.com"),
+                Arguments.of("selectOneByEmail",
+                        "SELECT 1 FROM users WHERE email = ? LIMIT 1", "user42@test.com"),
+                Arguments.of("selectOneByIdentityDocument",
+                        "SELECT 1 FROM users WHERE identity_document = ? LIMIT 1", "DOC42"),
+                Arguments.of("selectOneByRoleId",
+                        "SELECT 1 FROM users WHERE role_id = ? LIMIT 1", 2L),
+                Arguments.of("findPageAfter",
+                        "SELECT id_user, name, last_name, date_of_birth, address, telephone, email, base_salary, "
+                                + "identity_document, role_id FROM users WHERE id_user > ? ORDER BY id_user LIMIT 50", 100L)
+        );
+    }
+
+    @ParameterizedTest(name = "{0} no hace full scan")
+    @MethodSource("hotQueries")
+    void hotQueryUsesIndex(String name, String sql, Object parameter) throws SQLException {
+        List<String> plan = explain(sql, parameter);
+
+        assertFalse(plan.isEmpty(), name + ": EXPLAIN sin filas");
+        for (String row : plan) {
+            assertFalse(row.contains("type=ALL"), name + " hace full scan: " + plan);
+            assertFalse(row.contains("key=null"), name + " no usa índice: " + plan);
+        }
+    }
+
+    private static List<String> explain(String sql, Object parameter) throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            statement.setObject(1, parameter);
+            List<String> rows = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    assertNotNull(table, "EXPLAIN sin tabla para: " + sql);
+                    rows.add("table=" + table + ", type=" + rs.getString("type") + ", key=" + rs.getString("key"));
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+}
@@ -17,6 +17,13 @@ public final class AuthConstants {
     public static final String CLAIM_ID    = "uid";
     public static final String CLAIM_EMAIL = "email";
     public static final String CLAIM_NAME  = "name";
+    public static final String CLAIM_EXP   = "exp";
+    public static final String CLAIM_IAT   = "iat";
+    public static final String CLAIM_TOKEN_ID = "jti";
+    public static final String CLAIM_FAMILY   = "fid";
+    public static final String CLAIM_TYPE     = "typ";
+    public static final String TOKEN_TYPE_ACCESS  = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
 
     // ------------------ Roles ------------------
     public static final String ADMIN_ROLE   = "ADMIN";
@@ -30,12 +37,25 @@ public final class AuthConstants {
     // ------------------ Endpoints Auth ------------------
     public static final String LOGIN_PATH   = "/api/v1/login";
     public static final String REFRESH_PATH = "/api/v1/token/refresh";
+    public static final String LOGOUT_PATH  = "/api/v1/logout";
+    public static final String JWKS_PATH    = "/.well-known/jwks.json";
+    public static final String INTROSPECT_PATH = "/api/v1/token/introspect";
 
     // ------------------ Endpoints Usuarios ------------------
     public static final String USERS_BASE_PATH     = "/api/v1/usuarios";
     public static final String PATH_ID = "/{id}";
     public static final String PATH_EXISTS_EMAIL = "/exists/email/{email}";
     public static final String PATH_EXISTS_DOC = "/exists/documento/{documento}";
+    public static final String PATH_IMPORT = "/import";
+    public static final String PATH_EXPORT = "/export";
+
+    // ------------------ Paginación Usuarios ------------------
+    public static final String PARAM_LIMIT = "limit";
+    public static final String PARAM_AFTER = "after";
+    public static final String PARAM_FORMAT = "format";
+    public static final int USERS_PAGE_DEFAULT_LIMIT = 50;
+    public static final int USERS_PAGE_MAX_LIMIT = 500;
+    public static final int USERS_STREAM_MAX_LIMIT = 5000;
 
     // ------------------ Endpoints  ------------------
     public static final String ROLE_BASE_PATH = "/api/v1/roles";
@@ -65,6 +85,12 @@ public final class AuthConstants {
     public static final String MSG_USER_NOT_FOUND      = "Usuario no encontrado";
     public static final String MSG_DUPLICATE_EMAIL     = "El correo ya está registrado";
     public static final String MSG_DUPLICATE_DOCUMENT  = "El documento ya está registrado";
+    public static final String MSG_IMPORT_NOT_PERSISTED = "La fila no se pudo guardar";
+    public static final String MSG_IMPORT_ROW_FAILED   = "Error importando la fila {}";
+    public static final String MSG_IMPORT_BATCH_FAILED = "Error importando un lote de {} filas";
+    public static final String MSG_IMPORT_UNSUPPORTED_TYPE = "Content-Type no soportado; use application/x-ndjson o text/csv";
+    public static final String MSG_IMPORT_CSV_HEADER   = "Cabecera CSV inválida, columnas esperadas: ";
+    public static final String MSG_IMPORT_MALFORMED_ROW = "Fila mal formada: ";
     public static final String MGS_FIELD_REQUIRED      = "email y password son obligatorios";
     public static final String MSG_BODY_REQUIRED      = "Body requerido";
     public static final String MSG_INVALID_DELETE_USER      = "Error eliminando usuario: {}";
@@ -74,6 +100,8 @@ public final class AuthConstants {
     public static final String MSG_INVALID_GET_USER        = "Error obteniendo usuario: {}";
     public static final String MSG_INVALID_CREATE_USER     = "Error creando usuario: {}";
     public static final String MSG_INVALID_CREATE_ROL = "Error creando rol: {}";
+    public static final String MSG_SERVICE_BUSY        = "Servicio saturado, intente nuevamente";
+    public static final String MSG_TOO_MANY_ATTEMPTS   = "Demasiados intentos, intente más tarde";
 
 
     // ------------------ Validaciones Usuario ------------------
@@ -89,8 +117,12 @@ public final class AuthConstants {
     public static final String VALIDATION_PASSWORD_REQUIRED  = "La contraseña es obligatoria";
     public static final String VALIDATION_USER_NOT_FOUND_ID   = "Usuario no encontrado con id: ";
     public static final String VALIDATION_USER_NOT_FOUND_UPDATE= "No se pudo actualizar, usuario no encontrado";
+    public static final String VALIDATION_PATCH_EMPTY = "No hay campos para actualizar";
     public static final String VALIDATION_LOGIN_SUCCESS= "Login exitoso";
     public static final String VALIDATION_REFRESH_SUCCESS= "Refresh exitoso";
+    public static final String VALIDATION_LOGOUT_SUCCESS= "Logout exitoso";
+    public static final String VALIDATION_PAGINATION_PARAMS = "Parámetros de paginación inválidos: limit y after deben ser numéricos";
+    public static final String VALIDATION_INTROSPECTION_BATCH = "El lote de tokens debe tener entre 1 y el máximo permitido de elementos: ";
 
     // ------------------ Mensajes de Éxito Usuario ------------------
     public static final String MSG_USER_DELETE_OK  = "Usuario eliminado con id: {}";
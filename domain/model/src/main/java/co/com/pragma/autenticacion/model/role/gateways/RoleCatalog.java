@@ -0,0 +1,19 @@
+package co.com.pragma.autenticacion.model.role.gateways;
+
+import java.util.Optional;
+
+/**
+ * Puerto de solo lectura para resolver el nombre de un rol a partir de su ID.
+ *
+ * 🔹 Se resuelve en memoria: emitir tokens o mapear respuestas no consulta la base de datos.
+ * 🔹 La implementación se mantiene sincronizada con las altas, cambios y bajas de roles.
+ */
+public interface RoleCatalog {
+
+    /**
+     * Nombre del rol con el ID dado.
+     * @param roleId identificador del rol.
+     * @return Optional con el nombre, vacío si el rol no existe o el ID es nulo.
+     */
+    Optional<String> nameOf(Long roleId);
+}
@@ -0,0 +1,28 @@
+package co.com.pragma.autenticacion.model.tokeninfo;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Registro del lado servidor de un refresh token emitido.
+ *
+ * - tokenId: identificador único del token (claim "jti").
+ * - familyId: familia de la sesión; todos los tokens rotados desde un mismo login la comparten.
+ * - replacedBy: jti del token que lo reemplazó al rotar (null mientras siga vigente).
+ * - revoked: la familia completa fue revocada (p.ej., por reutilización de un token rotado).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder(toBuilder = true)
+public class RefreshToken {
+    private String tokenId;
+    private String familyId;
+    private Long userId;
+    private Instant expiresAt;
+    private String replacedBy;
+    private boolean revoked;
+
+    // Un token ya rotado no puede volver a usarse: si llega de nuevo, es una reutilización.
+    public boolean isRotated() {
+        return replacedBy != null;
+    }
+}
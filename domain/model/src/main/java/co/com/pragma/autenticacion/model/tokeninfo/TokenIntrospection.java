@@ -0,0 +1,20 @@
+package co.com.pragma.autenticacion.model.tokeninfo;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * Resultado de introspección de un token (inspirado en RFC 7662).
+ * Un token inválido o vencido se reporta con active = false, sin claims.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TokenIntrospection {
+    private boolean active;
+    private Map<String, Object> claims;
+    private Long expiresAt;        // segundos epoch (claim "exp")
+
+    public static TokenIntrospection inactive() {
+        return TokenIntrospection.builder().active(false).build();
+    }
+}
@@ -0,0 +1,23 @@
+package co.com.pragma.autenticacion.model.tokeninfo;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Revocación de access tokens. Cada registro es de uno de dos tipos:
+ * - por token: tokenId (claim "jti") de un token concreto.
+ * - por usuario: userId + notBefore; todo token del usuario emitido antes de notBefore queda revocado.
+ *
+ * expiresAt indica desde cuándo el registro ya no aporta nada (todos los tokens afectados vencieron)
+ * y puede compactarse.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder(toBuilder = true)
+public class TokenRevocation {
+    private Long id;
+    private String tokenId;
+    private Long userId;
+    private Instant notBefore;
+    private Instant expiresAt;
+    private Instant createdAt;
+}
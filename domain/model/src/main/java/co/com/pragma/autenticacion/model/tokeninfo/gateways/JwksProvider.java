@@ -0,0 +1,22 @@
+package co.com.pragma.autenticacion.model.tokeninfo.gateways;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Publica las llaves públicas de verificación de tokens en formato JWKS (RFC 7517),
+ * para que otros servicios validen los tokens localmente.
+ */
+public interface JwksProvider {
+
+    /**
+     * Documento JWKS ya serializado.
+     */
+    Mono<String> getJwks();
+
+    /**
+     * Tiempo que los clientes pueden cachear el documento.
+     */
+    Duration cacheMaxAge();
+}
@@ -0,0 +1,27 @@
+package co.com.pragma.autenticacion.model.tokeninfo.gateways;
+
+import co.com.pragma.autenticacion.model.tokeninfo.RefreshToken;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Almacén de refresh tokens emitidos, agrupados por familia (una por login).
+ */
+public interface RefreshTokenStore {
+
+    // Registra un refresh token recién emitido.
+    Mono<Void> save(RefreshToken refreshToken);
+
+    // Busca un token por su jti.
+    Mono<RefreshToken> findById(String tokenId);
+
+    // Marca el token como rotado de forma atómica; false si ya estaba rotado o revocado.
+    Mono<Boolean> markRotated(String tokenId, String replacedBy);
+
+    // Revoca todos los tokens de la familia.
+    Mono<Void> revokeFamily(String familyId);
+
+    // Elimina los tokens vencidos antes del instante dado; retorna cuántos se borraron.
+    Mono<Long> purgeExpired(Instant now);
+}
@@ -1,4 +1,5 @@
 package co.com.pragma.autenticacion.model.tokeninfo.gateways;
+import co.com.pragma.autenticacion.model.tokeninfo.RefreshToken;
 import co.com.pragma.autenticacion.model.user.User;
 import reactor.core.publisher.Mono;
 
@@ -7,6 +8,7 @@ import java.util.Map;
 
 public interface TokenProvider {
     Mono<String> generateAccessToken(User user, List<String> roles, long ttlMs);
-    Mono<String> generateRefreshToken(User user, long ttlMs);
+    // Firma el refresh token registrado (jti, familia y expiración salen del registro).
+    Mono<String> generateRefreshToken(User user, RefreshToken refreshToken);
     Mono<Map<String, Object>> parseAndValidate(String token);
 }
@@ -0,0 +1,22 @@
+package co.com.pragma.autenticacion.model.tokeninfo.gateways;
+
+import co.com.pragma.autenticacion.model.tokeninfo.TokenRevocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Persistencia de revocaciones, compartida entre instancias.
+ */
+public interface TokenRevocationRepository {
+
+    // Guarda una revocación y la retorna con su id asignado.
+    Mono<TokenRevocation> save(TokenRevocation revocation);
+
+    // Revocaciones registradas desde el instante dado (sincronización incremental), ordenadas por creación.
+    Flux<TokenRevocation> findCreatedSince(Instant since);
+
+    // Elimina las revocaciones que ya no afectan a ningún token vigente; retorna cuántas se borraron.
+    Mono<Long> deleteExpired(Instant now);
+}
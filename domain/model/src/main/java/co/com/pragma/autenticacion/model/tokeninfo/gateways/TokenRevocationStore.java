@@ -0,0 +1,20 @@
+package co.com.pragma.autenticacion.model.tokeninfo.gateways;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Revocación de access tokens antes de su "exp" (logout, baja de usuario, etc.).
+ */
+public interface TokenRevocationStore {
+
+    // Revoca un token concreto por su jti hasta su expiración.
+    Mono<Void> revokeToken(String tokenId, Instant expiresAt);
+
+    // Revoca todos los tokens del usuario emitidos antes de notBefore.
+    Mono<Void> revokeUser(Long userId, Instant notBefore);
+
+    // Consulta en memoria (no bloquea): token revocado por jti o por el notBefore de su usuario.
+    boolean isRevoked(String tokenId, Long userId, long issuedAtMs);
+}
@@ -0,0 +1,27 @@
+package co.com.pragma.autenticacion.model.user;
+
+import lombok.*;
+
+/**
+ * Resultado de importar una fila; se emite uno por cada fila recibida y en el mismo orden.
+ *
+ * 🔹 idNumber: id generado cuando el estado es CREATED.
+ * 🔹 message: motivo del rechazo en los demás estados.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class UserImportResult {
+
+    public enum Status { CREATED, INVALID, DUPLICATE, FAILED }
+
+    private final long line;
+
+    private final Status status;
+
+    private final Long idNumber;
+
+    private final String email;
+
+    private final String message;
+}
@@ -0,0 +1,30 @@
+package co.com.pragma.autenticacion.model.user;
+
+import lombok.*;
+
+/**
+ * Fila de una importación masiva de usuarios.
+ *
+ * 🔹 line: número de línea en el archivo de origen (para correlacionar el resultado).
+ * 🔹 user: usuario leído, con el password en texto plano (se hashea en el caso de uso).
+ * 🔹 error: motivo si la línea no se pudo interpretar; en ese caso user es null.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class UserImportRow {
+
+    private final long line;
+
+    private final User user;
+
+    private final String error;
+
+    public static UserImportRow of(long line, User user) {
+        return new UserImportRow(line, user, null);
+    }
+
+    public static UserImportRow invalid(long line, String error) {
+        return new UserImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package co.com.pragma.autenticacion.model.user;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Página de usuarios obtenida con paginación por cursor (keyset).
+ *
+ * 🔹 items: usuarios de la página, ordenados por id ascendente.
+ * 🔹 nextCursor: id a enviar como "after" para pedir la siguiente página (null si no hay más).
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class UserPage {
+
+    private final List<User> items;
+
+    private final Long nextCursor;
+}
@@ -5,6 +5,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Puerto (interfaz) del repositorio de usuarios.
@@ -27,6 +29,21 @@ public interface UserRepository {
      */
     Flux<User> getAllUsers();
 
+    /**
+     * Obtener usuarios con id mayor al cursor, ordenados por id (paginación keyset).
+     * @param afterId cursor exclusivo; null para empezar desde el inicio.
+     * @param limit número máximo de usuarios a devolver.
+     * @return Flux<User> con los usuarios de la página.
+     */
+    Flux<User> getUsersAfter(Long afterId, int limit);
+
+    /**
+     * Emitir, en streaming y ordenados por id, todos los usuarios para exportación.
+     * El password no se lee de la base de datos: los usuarios llegan con password null.
+     * @return Flux<User> que emite cada fila a medida que llega de la base de datos.
+     */
+    Flux<User> exportUsers();
+
     /**
      * Obtener un usuario por su número de identificación.
      * @param number número único de identificación.
@@ -35,16 +52,24 @@ public interface UserRepository {
     Mono<User> getUserByIdNumber(Long number);
 
     /**
-     * Editar un usuario existente.
+     * Editar un usuario existente (todas las columnas de perfil, sin password) en una sola sentencia.
      * @param user objeto usuario con cambios.
-     * @return Mono<User> actualizado.
+     * @return Mono<User> actualizado, o NotFoundException si no existe.
      */
     Mono<User> editUser(User user);
 
     /**
-     * Eliminar un usuario por su número de identificación.
+     * Editar parcialmente un usuario: solo se escriben los campos no null de changes (sin password).
      * @param idNumber número de identificación.
-     * @return Mono<Void> indicando éxito o error.
+     * @param changes campos a modificar.
+     * @return Mono<Void> al terminar, o NotFoundException si no existe.
+     */
+    Mono<Void> patchUser(Long idNumber, User changes);
+
+    /**
+     * Eliminar un usuario por su número de identificación en una sola sentencia.
+     * @param idNumber número de identificación.
+     * @return Mono<Void> indicando éxito, o NotFoundException si no existía.
      */
     Mono<Void> deleteUser(Long idNumber);
 
@@ -71,4 +96,34 @@ public interface UserRepository {
 
     Mono<User> getByEmail(String email);
 
+    /**
+     * Obtener solo los datos necesarios para autenticar y emitir tokens
+     * (id, nombre, apellido, correo, hash del password y rol); el resto de campos llega en null.
+     * @param email correo electrónico.
+     * @return Mono<User> parcial o vacío si no existe.
+     */
+    Mono<User> getCredentialsByEmail(String email);
+
+    /**
+     * Guardar varios usuarios nuevos con un único INSERT multi-fila.
+     * @param users usuarios a insertar (password ya hasheado).
+     * @return Flux<User> con los usuarios guardados y su id generado; si alguno choca con una
+     *         restricción única no se inserta ninguno y se emite DuplicateException.
+     */
+    Flux<User> saveAll(List<User> users);
+
+    /**
+     * Devolver, de los correos indicados, los que ya están registrados (una sola consulta IN).
+     * @param emails correos a comprobar.
+     * @return Flux<String> con los correos existentes.
+     */
+    Flux<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Devolver, de los documentos indicados, los que ya están registrados (una sola consulta IN).
+     * @param identityDocuments documentos a comprobar.
+     * @return Flux<String> con los documentos existentes.
+     */
+    Flux<String> findExistingDocuments(Collection<String> identityDocuments);
+
 }
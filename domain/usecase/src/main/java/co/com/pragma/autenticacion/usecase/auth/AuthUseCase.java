@@ -3,15 +3,25 @@ package co.com.pragma.autenticacion.usecase.auth;
 import co.com.pragma.autenticacion.model.auth.AuthConstants;
 import co.com.pragma.autenticacion.model.auth.AuthCredentials;
 import co.com.pragma.autenticacion.model.auth.gateways.PasswordEncoderPort;
+import co.com.pragma.autenticacion.model.tokeninfo.RefreshToken;
 import co.com.pragma.autenticacion.model.tokeninfo.TokenInfo;
+import co.com.pragma.autenticacion.model.tokeninfo.TokenIntrospection;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.RefreshTokenStore;
 import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenProvider;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationStore;
 import co.com.pragma.autenticacion.model.user.User;
 import co.com.pragma.autenticacion.model.user.gateways.UserRepository;
-import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
+import co.com.pragma.autenticacion.usecase.exceptions.DomainErrors;
+import co.com.pragma.autenticacion.usecase.exceptions.NotFoundException;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @RequiredArgsConstructor
 public class AuthUseCase {
@@ -22,6 +32,10 @@ public class AuthUseCase {
     private final TokenProvider tokenProvider;
     // Puerto para comparar contraseñas (abstrae BCrypt/Argon2, etc.).
     private final PasswordEncoderPort passwordEncoderPort;
+    // Puerto para registrar, rotar y revocar refresh tokens del lado servidor.
+    private final RefreshTokenStore refreshTokenStore;
+    // Puerto para revocar access tokens antes de su expiración (logout).
+    private final TokenRevocationStore tokenRevocationStore;
     // Estrategia para resolver los roles de un usuario (permite centralizar lógica de roles/permisos).
     private final RolesResolver rolesResolver;
 
@@ -29,13 +43,13 @@ public class AuthUseCase {
     public Mono<TokenInfo> login(AuthCredentials credentials) {
         // Validación defensiva: si faltan email o password, retorna error reactivo inmediatamente.
         if (credentials == null || isBlank(credentials.getEmail()) || isBlank(credentials.getPassword())) {
-            return Mono.error(new ValidationException(AuthConstants.MGS_FIELD_REQUIRED));
+            return Mono.error(DomainErrors.FIELD_REQUIRED);
         }
 
-        // Busca el usuario por email de forma reactiva.
-        return userRepository.getByEmail(credentials.getEmail())
+        // Busca por email solo las columnas que necesitan la verificación y los tokens.
+        return userRepository.getCredentialsByEmail(credentials.getEmail())
                 // Si no existe el usuario, emite error de credenciales inválidas (no revela si falló email o password).
-                .switchIfEmpty(Mono.error(new ValidationException(AuthConstants.MSG_INVALID_CREDENTIALS)))
+                .switchIfEmpty(Mono.error(DomainErrors.INVALID_CREDENTIALS))
 
                 // Si existe, continúa con la verificación de la contraseña.
                 .flatMap(user -> passwordEncoderPort.matches(credentials.getPassword(), user.getPassword())
@@ -44,29 +58,10 @@ public class AuthUseCase {
 
                             // Si la contraseña no coincide, devolvemos el mismo error genérico.
                             if (!matches)
-                                return Mono.error(new ValidationException(AuthConstants.MSG_INVALID_CREDENTIALS));
-
-                            // Resuelve los roles efectivos del usuario (lista de strings) según la estrategia inyectada.
-                            List<String> roles = rolesResolver.resolve(user);
-
-                            // En paralelo (zip) genera access y refresh token.
-                            return Mono.zip(
-                                            // Genera access token con TTL (milisegundos) y claims de roles.
-                                            tokenProvider.generateAccessToken(user, roles, AuthConstants.ACCESS_TOKEN_TTL_MS),
-                                            // Genera refresh token con su propio TTL (usualmente más largo).
-                                            tokenProvider.generateRefreshToken(user, AuthConstants.REFRESH_TOKEN_TTL_MS)
-                                    )
-                                    // Con ambos tokens, construye el DTO de respuesta TokenInfo.
-                                    .map(t -> TokenInfo.builder()
-                                            // Estándar de esquema para Authorization header (p.ej., "Bearer <token>").
-                                            .tokenType("Bearer")
-                                            // Primer elemento del zip (T1) es el access token.
-                                            .accessToken(t.getT1())
-                                            // Segundo elemento (T2) es el refresh token.
-                                            .refreshToken(t.getT2())
-                                            // Expiración del access token en segundos (API-friendly).
-                                            .expiresIn(AuthConstants.ACCESS_TOKEN_TTL_MS / 1000)
-                                            .build());
+                                return Mono.error(DomainErrors.INVALID_CREDENTIALS);
+
+                            // Cada login abre una familia nueva de refresh tokens.
+                            return issueTokens(user, newId(), newId());
                         })
                 );
     }
@@ -75,37 +70,152 @@ public class AuthUseCase {
     public Mono<TokenInfo> refresh(String refreshToken) {
         // Validación: si el refresh token viene vacío/nulo, error inmediato.
         if (isBlank(refreshToken))
-            return Mono.error(new ValidationException(AuthConstants.MSG_INVALID_TOKEN));
+            return Mono.error(DomainErrors.INVALID_TOKEN);
 
         // Parsea y valida el refresh token (firma, expiración, estructura, etc.).
         return tokenProvider.parseAndValidate(refreshToken)
-                // A partir de los claims, obtén el email y con él recarga al usuario desde el repositorio.
                 .flatMap(claims -> {
-                    // Extrae el claim de email según la clave estándar definida en AuthConstants.
-                    Object email = claims.get(AuthConstants.CLAIM_EMAIL);
-                    // Si el claim no está, el token es inválido para nuestra lógica.
-                    if (email == null)
-                        return Mono.error(new ValidationException(AuthConstants.MSG_INVALID_TOKEN));
-                    // Recupera el usuario para emitir nuevos tokens con su información/roles actualizados.
-                    return userRepository.getByEmail(email.toString());
-                })
-                // Con el usuario encontrado, vuelve a calcular roles y emite nuevos tokens (rotate tokens).
-                .flatMap(user -> {
-                    // Resolución de roles al momento del refresh (por si cambiaron en el tiempo).
-                    List<String> roles = rolesResolver.resolve(user);
-                    // Genera nuevamente access y refresh para mantener la sesión activa.
-                    return Mono.zip(
-                                    tokenProvider.generateAccessToken(user, roles, AuthConstants.ACCESS_TOKEN_TTL_MS),
-                                    tokenProvider.generateRefreshToken(user, AuthConstants.REFRESH_TOKEN_TTL_MS)
-                            )
-                            // Construye el TokenInfo de salida igual que en login.
-                            .map(t -> TokenInfo.builder()
-                                    .tokenType("Bearer")
-                                    .accessToken(t.getT1())
-                                    .refreshToken(t.getT2())
-                                    .expiresIn(AuthConstants.ACCESS_TOKEN_TTL_MS / 1000)
-                                    .build());
+                    // Solo un refresh token (typ/fid) con jti sirve aquí: los access tokens también
+                    // traen jti, pero nunca están en el almacén de refresh tokens.
+                    Object tokenId = claims.get(AuthConstants.CLAIM_TOKEN_ID);
+                    if (tokenId == null || !isRefreshToken(claims))
+                        return Mono.error(DomainErrors.INVALID_TOKEN);
+                    Long userId = claims.get(AuthConstants.CLAIM_ID) instanceof Number uid ? uid.longValue() : null;
+
+                    // Un único lookup por jti en el almacén de refresh tokens.
+                    return refreshTokenStore.findById(tokenId.toString())
+                            .switchIfEmpty(Mono.error(DomainErrors.INVALID_TOKEN))
+                            .flatMap(stored -> rotate(stored, userId));
+                });
+    }
+
+    // Rota el refresh token: lo marca como reemplazado y emite uno nuevo de la misma familia.
+    // Si el token ya había sido rotado (o pierde la carrera contra otra rotación) se trata
+    // como reutilización: se revoca la familia completa y se rechaza la petición.
+    // El usuario se busca por id (claim "uid", o el del registro en tokens emitidos antes del claim):
+    // el email puede haber cambiado desde el login.
+    private Mono<TokenInfo> rotate(RefreshToken stored, Long claimedUserId) {
+        Long userId = claimedUserId != null ? claimedUserId : stored.getUserId();
+        if (stored.isRevoked() || userId == null
+                || (stored.getUserId() != null && !stored.getUserId().equals(userId)))
+            return Mono.error(DomainErrors.INVALID_TOKEN);
+        if (stored.isRotated())
+            return revokeReused(stored);
+
+        String nextId = newId();
+        return refreshTokenStore.markRotated(stored.getTokenId(), nextId)
+                .flatMap(rotated -> rotated
+                        // Recupera el usuario para emitir nuevos tokens con su información/roles actualizados.
+                        // Si ya no existe (baja), el refresh se rechaza con error explícito.
+                        ? userRepository.getUserByIdNumber(userId)
+                                .onErrorResume(NotFoundException.class, e -> Mono.empty())
+                                .switchIfEmpty(Mono.error(DomainErrors.INVALID_TOKEN))
+                                .flatMap(user -> issueTokens(user, stored.getFamilyId(), nextId))
+                        : revokeReused(stored));
+    }
+
+    private Mono<TokenInfo> revokeReused(RefreshToken stored) {
+        return refreshTokenStore.revokeFamily(stored.getFamilyId())
+                .then(Mono.error(DomainErrors.INVALID_TOKEN));
+    }
+
+    // Registra el refresh token y genera access + refresh (igual para login y refresh).
+    private Mono<TokenInfo> issueTokens(User user, String familyId, String tokenId) {
+        // Resuelve los roles efectivos del usuario (lista de strings) según la estrategia inyectada.
+        List<String> roles = rolesResolver.resolve(user);
+        RefreshToken next = RefreshToken.builder()
+                .tokenId(tokenId)
+                .familyId(familyId)
+                .userId(user.getIdNumber())
+                .expiresAt(Instant.now().plusMillis(AuthConstants.REFRESH_TOKEN_TTL_MS))
+                .build();
+
+        return refreshTokenStore.save(next)
+                // En paralelo (zip) genera access y refresh token.
+                .then(Mono.zip(
+                        // Genera access token con TTL (milisegundos) y claims de roles.
+                        tokenProvider.generateAccessToken(user, roles, AuthConstants.ACCESS_TOKEN_TTL_MS),
+                        // Genera el refresh token con el jti y la familia registrados.
+                        tokenProvider.generateRefreshToken(user, next)
+                ))
+                // Con ambos tokens, construye el DTO de respuesta TokenInfo.
+                .map(t -> TokenInfo.builder()
+                        // Estándar de esquema para Authorization header (p.ej., "Bearer <token>").
+                        .tokenType("Bearer")
+                        .accessToken(t.getT1())
+                        .refreshToken(t.getT2())
+                        // Expiración del access token en segundos (API-friendly).
+                        .expiresIn(AuthConstants.ACCESS_TOKEN_TTL_MS / 1000)
+                        .build());
+    }
+
+    private static String newId() {
+        return UUID.randomUUID().toString();
+    }
+
+    // Caso de uso: cerrar sesión. Revoca el access token presentado hasta su expiración y,
+    // si se envía el refresh token, revoca también su familia para que no pueda renovarse.
+    public Mono<Void> logout(String accessToken, String refreshToken) {
+        if (isBlank(accessToken))
+            return Mono.error(DomainErrors.INVALID_TOKEN);
+
+        Mono<Void> revokeAccess = tokenProvider.parseAndValidate(accessToken)
+                .flatMap(claims -> {
+                    Object tokenId = claims.get(AuthConstants.CLAIM_TOKEN_ID);
+                    Object exp = claims.get(AuthConstants.CLAIM_EXP);
+                    if (tokenId == null || !(exp instanceof Number expSeconds))
+                        return Mono.error(DomainErrors.INVALID_TOKEN);
+                    return tokenRevocationStore.revokeToken(tokenId.toString(), Instant.ofEpochSecond(expSeconds.longValue()));
                 });
+        if (isBlank(refreshToken)) return revokeAccess;
+
+        Mono<Void> revokeFamily = tokenProvider.parseAndValidate(refreshToken)
+                .flatMap(claims -> {
+                    Object tokenId = claims.get(AuthConstants.CLAIM_TOKEN_ID);
+                    if (tokenId == null)
+                        return Mono.error(DomainErrors.INVALID_TOKEN);
+                    return refreshTokenStore.findById(tokenId.toString())
+                            .flatMap(stored -> refreshTokenStore.revokeFamily(stored.getFamilyId()));
+                });
+        return revokeAccess.then(revokeFamily);
+    }
+
+    // Caso de uso: introspección de un lote de tokens. Cada token se valida en paralelo
+    // y el resultado conserva el orden de entrada; un token inválido no afecta a los demás.
+    public Flux<TokenIntrospection> introspect(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) return Flux.empty();
+        return Flux.fromIterable(tokens)
+                .flatMapSequential(token -> introspect(token)
+                        // La verificación de firma es CPU: se reparte entre los núcleos.
+                        .subscribeOn(Schedulers.parallel()));
+    }
+
+    // Un token bien firmado pero revocado (logout, baja de usuario) o que sea un refresh token
+    // se reporta inactivo: solo un access token vigente sirve para autorizar en otros servicios.
+    private Mono<TokenIntrospection> introspect(String token) {
+        if (isBlank(token)) return Mono.just(TokenIntrospection.inactive());
+        return Mono.defer(() -> tokenProvider.parseAndValidate(token))
+                .map(claims -> isRefreshToken(claims) || isRevoked(claims)
+                        ? TokenIntrospection.inactive()
+                        : TokenIntrospection.builder()
+                                .active(true)
+                                .claims(claims)
+                                .expiresAt(claims.get(AuthConstants.CLAIM_EXP) instanceof Number exp ? exp.longValue() : null)
+                                .build())
+                .onErrorResume(e -> Mono.just(TokenIntrospection.inactive()));
+    }
+
+    // Los refresh tokens emitidos antes del claim "typ" se reconocen por su familia ("fid").
+    private static boolean isRefreshToken(Map<String, Object> claims) {
+        return AuthConstants.TOKEN_TYPE_REFRESH.equals(claims.get(AuthConstants.CLAIM_TYPE))
+                || claims.containsKey(AuthConstants.CLAIM_FAMILY);
+    }
+
+    private boolean isRevoked(Map<String, Object> claims) {
+        Object tokenId = claims.get(AuthConstants.CLAIM_TOKEN_ID);
+        Long userId = claims.get(AuthConstants.CLAIM_ID) instanceof Number uid ? uid.longValue() : null;
+        long issuedAtMs = claims.get(AuthConstants.CLAIM_IAT) instanceof Number iat ? iat.longValue() * 1000 : 0L;
+        return tokenRevocationStore.isRevoked(tokenId != null ? tokenId.toString() : null, userId, issuedAtMs);
     }
 
     // Utilidad local para validar strings en blanco (evita duplicar lógica de null/trim).
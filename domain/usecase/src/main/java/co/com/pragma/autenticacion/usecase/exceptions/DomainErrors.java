@@ -0,0 +1,29 @@
+package co.com.pragma.autenticacion.usecase.exceptions;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+
+/**
+ * Errores de dominio con mensaje fijo, creados una sola vez.
+ *
+ * - Cubren los rechazos más frecuentes (credenciales o token inválidos, body vacío, throttling, saturación).
+ * - DomainException no guarda pila ni suprimidas: la misma instancia se emite en cualquier flujo concurrente.
+ * - Los errores con datos variables (ej: id no encontrado) se crean en el momento con Mono.error(Supplier).
+ */
+public final class DomainErrors {
+
+    public static final ValidationException INVALID_CREDENTIALS =
+            new ValidationException(AuthConstants.MSG_INVALID_CREDENTIALS);
+    public static final ValidationException INVALID_TOKEN =
+            new ValidationException(AuthConstants.MSG_INVALID_TOKEN);
+    public static final ValidationException FIELD_REQUIRED =
+            new ValidationException(AuthConstants.MGS_FIELD_REQUIRED);
+    public static final ValidationException BODY_REQUIRED =
+            new ValidationException(AuthConstants.MSG_BODY_REQUIRED);
+    public static final TooManyRequestsException TOO_MANY_ATTEMPTS =
+            new TooManyRequestsException(AuthConstants.MSG_TOO_MANY_ATTEMPTS);
+    public static final ServiceUnavailableException SERVICE_BUSY =
+            new ServiceUnavailableException(AuthConstants.MSG_SERVICE_BUSY);
+
+    private DomainErrors() {
+    }
+}
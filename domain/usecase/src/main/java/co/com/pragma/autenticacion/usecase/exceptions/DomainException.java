@@ -6,13 +6,16 @@ package co.com.pragma.autenticacion.usecase.exceptions;
  * - Extiende de RuntimeException para que sean "unchecked".
  * - Agregamos un `code` que sirve para identificar el tipo de error.
  *   Ej: NOT_FOUND, VALIDATION_ERROR, etc.
+ * - Son resultados esperados (credenciales inválidas, duplicados, no encontrado): no capturan la pila
+ *   ni admiten excepciones suprimidas, así que crearlas es barato y una instancia se puede reutilizar
+ *   (ver DomainErrors). El code y el mensaje bastan para identificarlas.
  */
 public abstract class DomainException extends RuntimeException {
 
     private final String code; //  código único de error
 
     public DomainException(String code, String message) {
-        super(message); // Mensaje descriptivo
+        super(message, null, false, false); // Mensaje descriptivo, sin pila ni suprimidas
         this.code = code; // Código que nos permitirá mapear en respuestas HTTP
     }
 
@@ -0,0 +1,13 @@
+package co.com.pragma.autenticacion.usecase.exceptions;
+
+/**
+ * Se lanza cuando un recurso interno está saturado y no puede atender la petición
+ * (ej: cola de hashing de contraseñas llena). Se traduce a HTTP 503.
+ */
+public class ServiceUnavailableException extends DomainException {
+    private static final String CODE = "SERVICE_UNAVAILABLE";
+
+    public ServiceUnavailableException(String message) {
+        super(CODE, message);
+    }
+}
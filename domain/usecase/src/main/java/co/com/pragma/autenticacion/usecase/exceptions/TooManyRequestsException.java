@@ -0,0 +1,13 @@
+package co.com.pragma.autenticacion.usecase.exceptions;
+
+/**
+ * Se lanza cuando un cliente supera el número de intentos permitidos en la ventana
+ * (ej: ráfaga de logins para un mismo correo o IP). Se traduce a HTTP 429.
+ */
+public class TooManyRequestsException extends DomainException {
+    private static final String CODE = "TOO_MANY_REQUESTS";
+
+    public TooManyRequestsException(String message) {
+        super(CODE, message);
+    }
+}
@@ -1,12 +1,28 @@
 package co.com.pragma.autenticacion.usecase.exceptions;
 
+import java.util.List;
+
 /**
  * Se lanza en validaciones de negocio (ej: edad mínima, salario inválido).
+ * Puede agrupar varias violaciones detectadas en una sola pasada.
  */
 public class ValidationException extends DomainException {
     private static final String CODE = "VALIDATION_ERROR";
+    private static final String SEPARATOR = "; ";
+
+    private final List<String> violations;
 
     public ValidationException(String message) {
         super(CODE, message);
+        this.violations = List.of(message);
+    }
+
+    public ValidationException(List<String> violations) {
+        super(CODE, String.join(SEPARATOR, violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
     }
 }
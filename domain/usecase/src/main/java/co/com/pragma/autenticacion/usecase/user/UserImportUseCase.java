@@ -0,0 +1,188 @@
+package co.com.pragma.autenticacion.usecase.user;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.auth.gateways.PasswordEncoderPort;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.model.user.UserImportResult;
+import co.com.pragma.autenticacion.model.user.UserImportRow;
+import co.com.pragma.autenticacion.model.user.gateways.UserRepository;
+import co.com.pragma.autenticacion.usecase.exceptions.DuplicateException;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.function.Tuple2;
+
+import java.util.*;
+
+/**
+ * Caso de uso de importación masiva de usuarios.
+ * - Valida cada fila apenas llega (mismas reglas que el alta individual).
+ * - Hashea los passwords con concurrencia acotada (el encoder ya usa su propio pool).
+ * - Agrupa las filas en lotes: unicidad con dos consultas IN por lote y un INSERT multi-fila.
+ * - Emite un resultado por fila, en el orden de entrada; una fila rechazada no detiene la importación.
+ *
+ * Todo el flujo respeta la contrapresión: no se lee más del origen de lo que los lotes consumen.
+ *
+ * Los mensajes por fila son constantes: el detalle de un fallo (texto del driver, SQL) solo va al log.
+ */
+@RequiredArgsConstructor
+public class UserImportUseCase {
+
+    private static final Logger log = Loggers.getLogger(UserImportUseCase.class);
+
+    private final UserRepository userRepository;
+    private final PasswordEncoderPort passwordEncoder;
+    // Reglas de negocio compartidas con el alta individual (sin estado, no se inyecta).
+    private final UserValidator userValidator = new UserValidator();
+
+    /**
+     * @param rows            filas a importar, en el orden del archivo.
+     * @param batchSize       filas por lote (una consulta de unicidad y un INSERT por lote).
+     * @param hashConcurrency passwords que se hashean en paralelo como máximo.
+     */
+    public Flux<UserImportResult> importUsers(Flux<UserImportRow> rows, int batchSize, int hashConcurrency) {
+        return rows
+                .flatMapSequential(this::prepare, hashConcurrency)
+                .buffer(batchSize)
+                .concatMap(this::importBatch);
+    }
+
+    // ---------------------- VALIDACIÓN + HASH ----------------------
+    private Mono<Pending> prepare(UserImportRow row) {
+        if (row.getError() != null) {
+            return Mono.just(Pending.done(row, UserImportResult.Status.INVALID, row.getError()));
+        }
+        User user = row.getUser();
+        List<String> violations = userValidator.violations(user);
+        if (violations != null) {
+            return Mono.just(Pending.done(row, UserImportResult.Status.INVALID, String.join("; ", violations)));
+        }
+        if (user.getPassword() == null || user.getPassword().isBlank()) {
+            return Mono.just(Pending.done(row, UserImportResult.Status.INVALID, AuthConstants.VALIDATION_PASSWORD_REQUIRED));
+        }
+        return passwordEncoder.encode(user.getPassword())
+                .map(hash -> new Pending(row.getLine(), user.toBuilder().password(hash).build(), null))
+                .onErrorResume(e -> {
+                    log.error(AuthConstants.MSG_IMPORT_ROW_FAILED, row.getLine(), e);
+                    return Mono.just(Pending.done(row, UserImportResult.Status.FAILED, AuthConstants.MSG_IMPORT_NOT_PERSISTED));
+                });
+    }
+
+    // ---------------------- LOTE ----------------------
+    private Flux<UserImportResult> importBatch(List<Pending> batch) {
+        Map<Pending, UserImportResult> outcome = new IdentityHashMap<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> documents = new HashSet<>();
+        List<Pending> candidates = new ArrayList<>();
+
+        // Duplicados dentro del propio lote: gana la primera aparición
+        for (Pending p : batch) {
+            if (p.result() != null) continue;
+            String email = normalize(p.user().getEmail());
+            String document = p.user().getIdentityDocument();
+            if (emails.contains(email)) {
+                outcome.put(p, p.reject(UserImportResult.Status.DUPLICATE, AuthConstants.MSG_DUPLICATE_EMAIL));
+            } else if (document != null && documents.contains(document)) {
+                outcome.put(p, p.reject(UserImportResult.Status.DUPLICATE, AuthConstants.MSG_DUPLICATE_DOCUMENT));
+            } else {
+                emails.add(email);
+                if (document != null) documents.add(document);
+                candidates.add(p);
+            }
+        }
+        if (candidates.isEmpty()) return emitInOrder(batch, outcome);
+
+        return Mono.zip(
+                        userRepository.findExistingEmails(emails).map(UserImportUseCase::normalize).collect(HashSet<String>::new, Set::add),
+                        userRepository.findExistingDocuments(documents).collect(HashSet<String>::new, Set::add))
+                .flatMap(existing -> insert(candidates, existing, outcome))
+                // Un fallo de BD marca el lote como fallido sin cortar la importación
+                .onErrorResume(e -> {
+                    log.error(AuthConstants.MSG_IMPORT_BATCH_FAILED, candidates.size(), e);
+                    candidates.forEach(p -> outcome.putIfAbsent(p, p.reject(UserImportResult.Status.FAILED, AuthConstants.MSG_IMPORT_NOT_PERSISTED)));
+                    return Mono.empty();
+                })
+                .thenMany(Flux.defer(() -> emitInOrder(batch, outcome)));
+    }
+
+    private Mono<Void> insert(List<Pending> candidates,
+                              Tuple2<HashSet<String>, HashSet<String>> existing,
+                              Map<Pending, UserImportResult> outcome) {
+        List<Pending> toInsert = new ArrayList<>(candidates.size());
+        for (Pending p : candidates) {
+            if (existing.getT1().contains(normalize(p.user().getEmail()))) {
+                outcome.put(p, p.reject(UserImportResult.Status.DUPLICATE, AuthConstants.MSG_DUPLICATE_EMAIL));
+            } else if (existing.getT2().contains(p.user().getIdentityDocument())) {
+                outcome.put(p, p.reject(UserImportResult.Status.DUPLICATE, AuthConstants.MSG_DUPLICATE_DOCUMENT));
+            } else {
+                toInsert.add(p);
+            }
+        }
+        if (toInsert.isEmpty()) return Mono.empty();
+
+        Map<String, Pending> byEmail = new HashMap<>();
+        toInsert.forEach(p -> byEmail.put(normalize(p.user().getEmail()), p));
+
+        return userRepository.saveAll(toInsert.stream().map(Pending::user).toList())
+                .doOnNext(saved -> {
+                    Pending p = byEmail.get(normalize(saved.getEmail()));
+                    if (p != null) outcome.put(p, p.created(saved.getIdNumber()));
+                })
+                .then()
+                // Otro alta concurrente ganó la carrera: se reintenta fila a fila para aislar el conflicto
+                .onErrorResume(DuplicateException.class, e -> insertOneByOne(toInsert, outcome));
+    }
+
+    private Mono<Void> insertOneByOne(List<Pending> toInsert, Map<Pending, UserImportResult> outcome) {
+        return Flux.fromIterable(toInsert)
+                .concatMap(p -> userRepository.saveUser(p.user())
+                        .map(saved -> p.created(saved.getIdNumber()))
+                        .onErrorResume(DuplicateException.class,
+                                e -> Mono.just(p.reject(UserImportResult.Status.DUPLICATE, duplicateMessage(e))))
+                        .onErrorResume(e -> {
+                            log.error(AuthConstants.MSG_IMPORT_ROW_FAILED, p.line(), e);
+                            return Mono.just(p.reject(UserImportResult.Status.FAILED, AuthConstants.MSG_IMPORT_NOT_PERSISTED));
+                        })
+                        .doOnNext(result -> outcome.put(p, result)))
+                .then();
+    }
+
+    private static Flux<UserImportResult> emitInOrder(List<Pending> batch, Map<Pending, UserImportResult> outcome) {
+        return Flux.fromIterable(batch)
+                .map(p -> p.result() != null ? p.result()
+                        : outcome.getOrDefault(p, p.reject(UserImportResult.Status.FAILED, AuthConstants.MSG_IMPORT_NOT_PERSISTED)));
+    }
+
+    // Solo se distingue qué restricción falló; el texto de la excepción nunca llega al cliente
+    private static String duplicateMessage(DuplicateException e) {
+        return AuthConstants.MSG_DUPLICATE_DOCUMENT.equals(e.getMessage())
+                ? AuthConstants.MSG_DUPLICATE_DOCUMENT
+                : AuthConstants.MSG_DUPLICATE_EMAIL;
+    }
+
+    // La columna email usa una intercalación sin distinción de mayúsculas
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Fila en tránsito: usuario listo para insertar o, si result no es null, ya resuelta.
+     */
+    private record Pending(long line, User user, UserImportResult result) {
+
+        static Pending done(UserImportRow row, UserImportResult.Status status, String message) {
+            String email = row.getUser() != null ? row.getUser().getEmail() : null;
+            return new Pending(row.getLine(), row.getUser(), new UserImportResult(row.getLine(), status, null, email, message));
+        }
+
+        UserImportResult reject(UserImportResult.Status status, String message) {
+            return new UserImportResult(line, status, null, user.getEmail(), message);
+        }
+
+        UserImportResult created(Long id) {
+            return new UserImportResult(line, UserImportResult.Status.CREATED, id, user.getEmail(), null);
+        }
+    }
+}
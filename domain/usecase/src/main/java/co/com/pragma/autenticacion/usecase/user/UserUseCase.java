@@ -1,20 +1,18 @@
 package co.com.pragma.autenticacion.usecase.user;
 
 import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationStore;
 import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.model.user.UserPage;
 import co.com.pragma.autenticacion.model.user.gateways.UserRepository;
-import co.com.pragma.autenticacion.usecase.exceptions.DuplicateException;
 import co.com.pragma.autenticacion.usecase.exceptions.NotFoundException;
 import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.Period;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.Instant;
+import java.util.List;
 
 /**
  * Caso de uso para Usuarios.
@@ -26,29 +24,23 @@ import java.time.format.DateTimeParseException;
 public class UserUseCase {
 
     private final UserRepository userRepository;
+    // Al eliminar un usuario se revocan sus access tokens emitidos hasta ese momento.
+    private final TokenRevocationStore tokenRevocationStore;
+    // Reglas de negocio compartidas por alta y edición (sin estado, no se inyecta).
+    private final UserValidator userValidator = new UserValidator();
 
     // ---------------------- CREATE ----------------------
     public Mono<User> saveUser(User user) {
-        validateUser(user); // primero validamos negocio
+        // Primero validamos negocio (todas las reglas juntas); el rechazo es una señal, no un throw
+        List<String> violations = userValidator.violations(user);
+        if (violations != null) return Mono.error(new ValidationException(violations));
 
         /**
-         * Mono.zip: Ejecuta en paralelo 2 Monos y devuelve un Tuple (T1, T2).
-         * - Aquí verificamos si ya existe el correo y el documento de forma concurrente.
-         * - Si alguno ya existe → lanzamos DuplicateException.
+         * La unicidad de correo y documento la garantizan las restricciones únicas de la tabla:
+         * un solo INSERT y, si choca, el repositorio emite DuplicateException.
+         * Así evitamos consultar existsByEmail/existsByDocument antes de cada registro.
          */
-        return Mono.zip(
-                userRepository.existsByEmail(user.getEmail()),   // T1: ¿existe email?
-                userRepository.existsByDocument(user.getIdentityDocument()) // T2: ¿existe documento?
-        ).flatMap(tuple -> {
-            boolean emailExists = tuple.getT1();
-            boolean docExists = tuple.getT2();
-
-            if (emailExists) return Mono.error(new DuplicateException(AuthConstants.MSG_DUPLICATE_EMAIL));
-            if (docExists) return Mono.error(new DuplicateException(AuthConstants.MSG_DUPLICATE_DOCUMENT));
-
-            // Si no hay duplicados → guardamos el usuario
-            return userRepository.saveUser(user);
-        });
+        return userRepository.saveUser(user);
     }
 
     // ---------------------- READ ----------------------
@@ -57,27 +49,71 @@ public class UserUseCase {
         return userRepository.getAllUsers();
     }
 
+    /**
+     * Página de usuarios por cursor: se pide un registro extra para saber si hay más
+     * sin necesidad de un COUNT(*).
+     */
+    public Mono<UserPage> getUsersPage(Long afterId, Integer limit) {
+        int size = normalizeLimit(limit);
+        return userRepository.getUsersAfter(afterId, size + 1)
+                .collectList()
+                .map(users -> {
+                    boolean hasMore = users.size() > size;
+                    List<User> items = hasMore ? users.subList(0, size) : users;
+                    Long nextCursor = hasMore ? items.get(items.size() - 1).getIdNumber() : null;
+                    return new UserPage(items, nextCursor);
+                });
+    }
+
+    /**
+     * Streaming de usuarios desde el cursor, fila a fila. El lote se acota a USERS_STREAM_MAX_LIMIT
+     * (también sin límite explícito): para recorrer la tabla completa se sigue el cursor o se usa la exportación.
+     */
+    public Flux<User> streamUsers(Long afterId, Integer limit) {
+        if (limit != null && limit < 1) return Flux.error(new ValidationException(AuthConstants.VALIDATION_PAGINATION_PARAMS));
+        int size = limit == null ? AuthConstants.USERS_STREAM_MAX_LIMIT : Math.min(limit, AuthConstants.USERS_STREAM_MAX_LIMIT);
+        return userRepository.getUsersAfter(afterId, size);
+    }
+
+    /**
+     * Exportación completa de usuarios en streaming (sin password), fila a fila desde la BD.
+     */
+    public Flux<User> exportUsers() {
+        return userRepository.exportUsers();
+    }
+
     public Mono<User> getUserByIdNumber(Long idNumber) {
         // switchIfEmpty → si no encuentra nada, lanza NotFoundException
         return userRepository.getUserByIdNumber(idNumber)
-                .switchIfEmpty(Mono.error(new NotFoundException(AuthConstants.VALIDATION_USER_NOT_FOUND_ID + idNumber)));
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(AuthConstants.VALIDATION_USER_NOT_FOUND_ID + idNumber)));
     }
 
     // ---------------------- UPDATE ----------------------
+    /**
+     * Edición completa: se valida y se escribe con un único UPDATE; si el usuario no existe
+     * el repositorio emite NotFoundException (sin lectura previa).
+     */
     public Mono<User> editUser(User user) {
-        return userRepository.getUserByIdNumber(user.getIdNumber())
-                .switchIfEmpty(Mono.error(new NotFoundException(AuthConstants.VALIDATION_USER_NOT_FOUND_ID + user.getIdNumber())))
-                .flatMap(existing -> {
-                    validateUser(user); // validamos antes de editar
-                    return userRepository.editUser(user);
-                });
+        List<String> violations = userValidator.violations(user); // validamos antes de editar
+        if (violations != null) return Mono.error(new ValidationException(violations));
+        return userRepository.editUser(user);
+    }
+
+    /**
+     * Edición parcial: solo se validan y escriben los campos presentes.
+     */
+    public Mono<Void> patchUser(Long idNumber, User changes) {
+        List<String> violations = userValidator.patchViolations(changes);
+        if (violations != null) return Mono.error(new ValidationException(violations));
+        return userRepository.patchUser(idNumber, changes);
     }
 
     // ---------------------- DELETE ----------------------
     public Mono<Void> deleteUser(Long idNumber) {
-        return userRepository.getUserByIdNumber(idNumber)
-                .switchIfEmpty(Mono.error(new NotFoundException(AuthConstants.VALIDATION_USER_NOT_FOUND_ID + idNumber)))
-                .flatMap(existing -> userRepository.deleteUser(idNumber));
+        // Un único DELETE; si no había fila el repositorio emite NotFoundException
+        return userRepository.deleteUser(idNumber)
+                // Los tokens ya emitidos dejarían de ser válidos solo al vencer: se revocan desde ahora.
+                .then(Mono.defer(() -> tokenRevocationStore.revokeUser(idNumber, Instant.now())));
     }
 
     // ---------------------- EXISTENCE CHECK ----------------------
@@ -89,40 +125,8 @@ public class UserUseCase {
         return userRepository.existsByDocument(documentoIdentidad);
     }
 
-    // ---------------------- VALIDACIONES ----------------------
-    private void validateUser(User user) {
-        if (isNullOrEmpty(user.getName())) throw new ValidationException(AuthConstants.VALIDATION_NAME_REQUIRED);
-        if (isNullOrEmpty(user.getLastName())) throw new ValidationException(AuthConstants.VALIDATION_LASTNAME_REQUIRED);
-
-        validateEmail(user.getEmail());
-        validateSalary(user.getBaseSalary());
-        validateDateOfBirth(user.getDateOfBirth());
-    }
-
-    private void validateEmail(String email) {
-        if (isNullOrEmpty(email)) throw new ValidationException(AuthConstants.VALIDATION_EMAIL_REQUIRED);
-        if (!email.matches("^[A-Za-z0-9+_.-]+@(.+)$"))
-            throw new ValidationException(AuthConstants.VALIDATION_EMAIL_FORMAT);
-    }
-
-    private void validateSalary(BigDecimal salario) {
-        if (salario == null) throw new ValidationException(AuthConstants.VALIDATION_SALARY_REQUIRED);
-        if (salario.compareTo(BigDecimal.ZERO) < 0 || salario.compareTo(new BigDecimal("1500000")) > 0)
-            throw new ValidationException(AuthConstants.VALIDATION_SALARY_RANGE);
-    }
-
-    private void validateDateOfBirth(String dateOfBirth) {
-        if (isNullOrEmpty(dateOfBirth)) throw new ValidationException(AuthConstants.VALIDATION_DOB_REQUIRED);
-        try {
-            LocalDate fecha = LocalDate.parse(dateOfBirth, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            int edad = Period.between(fecha, LocalDate.now()).getYears();
-            if (edad < 18) throw new ValidationException(AuthConstants.VALIDATION_DOB_UNDERAGE);
-        } catch (DateTimeParseException e) {
-            throw new ValidationException(AuthConstants.VALIDATION_DOB_FORMAT);
-        }
-    }
-
-    private boolean isNullOrEmpty(String value) {
-        return value == null || value.trim().isEmpty();
+    private int normalizeLimit(Integer limit) {
+        if (limit == null || limit < 1) return AuthConstants.USERS_PAGE_DEFAULT_LIMIT;
+        return Math.min(limit, AuthConstants.USERS_PAGE_MAX_LIMIT);
     }
 }
@@ -0,0 +1,172 @@
+package co.com.pragma.autenticacion.usecase.user;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reglas de negocio de un usuario (alta y edición).
+ *
+ * Explicación:
+ * - Recorre todas las reglas en una sola pasada y reporta todas las violaciones juntas.
+ * - Sin regex ni DateTimeFormatter por llamada: correo y fecha se revisan carácter a carácter,
+ *   el tope de salario es una constante y no se usan excepciones para el flujo de control.
+ * - Un usuario válido no asigna memoria salvo la fecha actual; la lista de violaciones se crea
+ *   solo cuando aparece la primera.
+ */
+public final class UserValidator {
+
+    private static final BigDecimal MAX_SALARY = new BigDecimal("1500000");
+    private static final int ADULT_AGE = 18;
+
+    private final Clock clock;
+
+    public UserValidator() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public UserValidator(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Valida el usuario y lanza ValidationException con todas las violaciones encontradas.
+     */
+    public void validate(User user) {
+        List<String> violations = violations(user);
+        if (violations != null) throw new ValidationException(violations);
+    }
+
+    /**
+     * Violaciones del usuario en el orden nombre, apellido, correo, salario, fecha; null si es válido.
+     */
+    public List<String> violations(User user) {
+        List<String> violations = null;
+        if (isBlank(user.getName())) violations = add(violations, AuthConstants.VALIDATION_NAME_REQUIRED);
+        if (isBlank(user.getLastName())) violations = add(violations, AuthConstants.VALIDATION_LASTNAME_REQUIRED);
+        violations = add(violations, emailViolation(user.getEmail()));
+        violations = add(violations, salaryViolation(user.getBaseSalary()));
+        violations = add(violations, dateOfBirthViolation(user.getDateOfBirth()));
+        return violations;
+    }
+
+    /**
+     * Violaciones de una edición parcial: solo se revisan los campos presentes (no null).
+     * Una edición sin ningún campo también es inválida. Devuelve null si es válida.
+     */
+    public List<String> patchViolations(User changes) {
+        if (changes.getName() == null && changes.getLastName() == null && changes.getEmail() == null
+                && changes.getBaseSalary() == null && changes.getDateOfBirth() == null
+                && changes.getAddress() == null && changes.getTelephone() == null
+                && changes.getIdentityDocument() == null && changes.getIdRole() == null) {
+            return add(null, AuthConstants.VALIDATION_PATCH_EMPTY);
+        }
+        List<String> violations = null;
+        if (changes.getName() != null && isBlank(changes.getName()))
+            violations = add(violations, AuthConstants.VALIDATION_NAME_REQUIRED);
+        if (changes.getLastName() != null && isBlank(changes.getLastName()))
+            violations = add(violations, AuthConstants.VALIDATION_LASTNAME_REQUIRED);
+        if (changes.getEmail() != null) violations = add(violations, emailViolation(changes.getEmail()));
+        if (changes.getBaseSalary() != null) violations = add(violations, salaryViolation(changes.getBaseSalary()));
+        if (changes.getDateOfBirth() != null) violations = add(violations, dateOfBirthViolation(changes.getDateOfBirth()));
+        return violations;
+    }
+
+    private static String emailViolation(String email) {
+        if (isBlank(email)) return AuthConstants.VALIDATION_EMAIL_REQUIRED;
+        return isValidEmail(email) ? null : AuthConstants.VALIDATION_EMAIL_FORMAT;
+    }
+
+    private static String salaryViolation(BigDecimal salary) {
+        if (salary == null) return AuthConstants.VALIDATION_SALARY_REQUIRED;
+        if (salary.signum() < 0 || salary.compareTo(MAX_SALARY) > 0) return AuthConstants.VALIDATION_SALARY_RANGE;
+        return null;
+    }
+
+    private String dateOfBirthViolation(String dateOfBirth) {
+        if (isBlank(dateOfBirth)) return AuthConstants.VALIDATION_DOB_REQUIRED;
+        // Formato estricto yyyy-MM-dd: 10 caracteres, guiones en las posiciones 4 y 7.
+        if (dateOfBirth.length() != 10 || dateOfBirth.charAt(4) != '-' || dateOfBirth.charAt(7) != '-')
+            return AuthConstants.VALIDATION_DOB_FORMAT;
+        int year = digits(dateOfBirth, 0, 4);
+        int month = digits(dateOfBirth, 5, 7);
+        int day = digits(dateOfBirth, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month))
+            return AuthConstants.VALIDATION_DOB_FORMAT;
+
+        // Misma edad que Period.between(fecha, hoy).getYears(), sin construir fechas intermedias.
+        LocalDate today = LocalDate.now(clock);
+        int age = today.getYear() - year;
+        if (today.getMonthValue() < month || (today.getMonthValue() == month && today.getDayOfMonth() < day)) age--;
+        return age < ADULT_AGE ? AuthConstants.VALIDATION_DOB_UNDERAGE : null;
+    }
+
+    /**
+     * Equivalente a "^[A-Za-z0-9+_.-]+@(.+)$": parte local no vacía con caracteres permitidos,
+     * una '@' y al menos un carácter después (sin saltos de línea).
+     */
+    private static boolean isValidEmail(String email) {
+        int length = email.length();
+        int at = 0;
+        while (at < length && email.charAt(at) != '@') {
+            if (!isLocalChar(email.charAt(at))) return false;
+            at++;
+        }
+        if (at == 0 || at >= length - 1) return false;
+        for (int i = at + 1; i < length; i++) {
+            if (isLineTerminator(email.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    // Caracteres que "." no acepta en java.util.regex sin DOTALL.
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    // Entero de los dígitos ASCII en [from, to); -1 si algún carácter no es dígito.
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Igual que value.trim().isEmpty() pero sin crear un String nuevo.
+    private static boolean isBlank(String value) {
+        if (value == null) return true;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+
+    private static List<String> add(List<String> violations, String violation) {
+        if (violation == null) return violations;
+        List<String> result = violations != null ? violations : new ArrayList<>(4);
+        result.add(violation);
+        return result;
+    }
+}
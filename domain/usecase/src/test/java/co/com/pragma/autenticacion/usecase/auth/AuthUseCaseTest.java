@@ -0,0 +1,307 @@
+package co.com.pragma.autenticacion.usecase.auth;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.auth.AuthCredentials;
+import co.com.pragma.autenticacion.model.auth.gateways.PasswordEncoderPort;
+import co.com.pragma.autenticacion.model.tokeninfo.RefreshToken;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.RefreshTokenStore;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenProvider;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationStore;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.model.user.gateways.UserRepository;
+import co.com.pragma.autenticacion.usecase.exceptions.DomainErrors;
+import co.com.pragma.autenticacion.usecase.exceptions.NotFoundException;
+import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Test unitario del AuthUseCase: rotación de refresh tokens e introspección por lotes.
+@ExtendWith(MockitoExtension.class)
+class AuthUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TokenProvider tokenProvider;
+    @Mock
+    private PasswordEncoderPort passwordEncoderPort;
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+    @Mock
+    private AuthUseCase.RolesResolver rolesResolver;
+
+    @InjectMocks
+    private AuthUseCase authUseCase;
+
+    private static final Instant EXPIRES = Instant.now().plusSeconds(600);
+
+    private RefreshToken stored(String replacedBy, boolean revoked) {
+        return RefreshToken.builder().tokenId("t1").familyId("f1").userId(1L)
+                .expiresAt(EXPIRES).replacedBy(replacedBy).revoked(revoked).build();
+    }
+
+    private void refreshClaims() {
+        when(tokenProvider.parseAndValidate("refresh"))
+                .thenReturn(Mono.just(Map.of(AuthConstants.CLAIM_EMAIL, "a@test.com", AuthConstants.CLAIM_TOKEN_ID, "t1",
+                        AuthConstants.CLAIM_ID, 1L, AuthConstants.CLAIM_TYPE, AuthConstants.TOKEN_TYPE_REFRESH)));
+    }
+
+    @Test
+    void login_opensNewFamily() {
+        User user = User.builder().idNumber(1L).email("a@test.com").password("hash").build();
+        when(userRepository.getCredentialsByEmail("a@test.com")).thenReturn(Mono.just(user));
+        when(passwordEncoderPort.matches("secret", "hash")).thenReturn(Mono.just(true));
+        when(rolesResolver.resolve(user)).thenReturn(List.of("ADMIN"));
+        when(refreshTokenStore.save(any())).thenReturn(Mono.empty());
+        when(tokenProvider.generateAccessToken(eq(user), eq(List.of("ADMIN")), anyLong())).thenReturn(Mono.just("access"));
+        when(tokenProvider.generateRefreshToken(eq(user), any())).thenReturn(Mono.just("refresh"));
+
+        StepVerifier.create(authUseCase.login(new AuthCredentials("a@test.com", "secret")))
+                .assertNext(info -> assertEquals("refresh", info.getRefreshToken()))
+                .verifyComplete();
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenStore).save(saved.capture());
+        assertNotNull(saved.getValue().getFamilyId());
+        assertNotEquals(saved.getValue().getFamilyId(), saved.getValue().getTokenId());
+        assertEquals(Long.valueOf(1L), saved.getValue().getUserId());
+    }
+
+    @Test
+    void login_wrongPasswordOrUnknownEmail_emitsSharedStacklessError() {
+        User user = User.builder().idNumber(1L).email("a@test.com").password("hash").build();
+        when(userRepository.getCredentialsByEmail("a@test.com")).thenReturn(Mono.just(user));
+        when(userRepository.getCredentialsByEmail("b@test.com")).thenReturn(Mono.empty());
+        when(passwordEncoderPort.matches("wrong", "hash")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(authUseCase.login(new AuthCredentials("a@test.com", "wrong")))
+                .expectErrorSatisfies(e -> assertSame(DomainErrors.INVALID_CREDENTIALS, e))
+                .verify();
+        StepVerifier.create(authUseCase.login(new AuthCredentials("b@test.com", "wrong")))
+                .expectErrorSatisfies(e -> assertSame(DomainErrors.INVALID_CREDENTIALS, e))
+                .verify();
+        // Rechazo esperado: sin pila que capturar
+        assertEquals(0, DomainErrors.INVALID_CREDENTIALS.getStackTrace().length);
+        verifyNoInteractions(refreshTokenStore);
+    }
+
+    @Test
+    void refresh_rotatesWithinSameFamily() {
+        User user = User.builder().idNumber(1L).email("a@test.com").build();
+        refreshClaims();
+        when(refreshTokenStore.findById("t1")).thenReturn(Mono.just(stored(null, false)));
+        when(refreshTokenStore.markRotated(eq("t1"), anyString())).thenReturn(Mono.just(true));
+        when(userRepository.getUserByIdNumber(1L)).thenReturn(Mono.just(user));
+        when(rolesResolver.resolve(user)).thenReturn(List.of());
+        when(refreshTokenStore.save(any())).thenReturn(Mono.empty());
+        when(tokenProvider.generateAccessToken(eq(user), anyList(), anyLong())).thenReturn(Mono.just("access"));
+        when(tokenProvider.generateRefreshToken(eq(user), any())).thenReturn(Mono.just("refresh-2"));
+
+        StepVerifier.create(authUseCase.refresh("refresh"))
+                .assertNext(info -> assertEquals("refresh-2", info.getRefreshToken()))
+                .verifyComplete();
+
+        ArgumentCaptor<String> nextId = ArgumentCaptor.forClass(String.class);
+        verify(refreshTokenStore).markRotated(eq("t1"), nextId.capture());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenStore).save(saved.capture());
+        assertEquals("f1", saved.getValue().getFamilyId());
+        assertEquals(nextId.getValue(), saved.getValue().getTokenId());
+        verify(refreshTokenStore, never()).revokeFamily(anyString());
+        verify(userRepository, never()).getCredentialsByEmail(anyString());
+    }
+
+    @Test
+    void refresh_deletedUserFailsWithInvalidToken() {
+        refreshClaims();
+        when(refreshTokenStore.findById("t1")).thenReturn(Mono.just(stored(null, false)));
+        when(refreshTokenStore.markRotated(eq("t1"), anyString())).thenReturn(Mono.just(true));
+        when(userRepository.getUserByIdNumber(1L))
+                .thenReturn(Mono.error(new NotFoundException("no existe")), Mono.empty());
+
+        StepVerifier.create(authUseCase.refresh("refresh")).expectErrorMatches(e -> e == DomainErrors.INVALID_TOKEN).verify();
+        StepVerifier.create(authUseCase.refresh("refresh")).expectErrorMatches(e -> e == DomainErrors.INVALID_TOKEN).verify();
+        verify(refreshTokenStore, never()).save(any());
+    }
+
+    @Test
+    void refresh_reuseOfRotatedTokenRevokesFamily() {
+        refreshClaims();
+        when(refreshTokenStore.findById("t1")).thenReturn(Mono.just(stored("t2", false)));
+        when(refreshTokenStore.revokeFamily("f1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(authUseCase.refresh("refresh"))
+                .expectError(ValidationException.class)
+                .verify();
+
+        verify(refreshTokenStore, never()).markRotated(anyString(), anyString());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void refresh_lostRotationRaceRevokesFamily() {
+        refreshClaims();
+        when(refreshTokenStore.findById("t1")).thenReturn(Mono.just(stored(null, false)));
+        when(refreshTokenStore.markRotated(eq("t1"), anyString())).thenReturn(Mono.just(false));
+        when(refreshTokenStore.revokeFamily("f1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(authUseCase.refresh("refresh"))
+                .expectError(ValidationException.class)
+                .verify();
+
+        verify(refreshTokenStore, never()).save(any());
+    }
+
+    @Test
+    void refresh_unknownOrRevokedTokenRejected() {
+        refreshClaims();
+        when(refreshTokenStore.findById("t1")).thenReturn(Mono.empty(), Mono.just(stored(null, true)));
+
+        StepVerifier.create(authUseCase.refresh("refresh")).expectError(ValidationException.class).verify();
+        StepVerifier.create(authUseCase.refresh("refresh")).expectError(ValidationException.class).verify();
+
+        verify(refreshTokenStore, never()).markRotated(anyString(), anyString());
+        verify(refreshTokenStore, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void refresh_accessTokenOrTokenWithoutJtiRejected() {
+        // Un access token trae jti, pero no es un refresh token.
+        when(tokenProvider.parseAndValidate("access"))
+                .thenReturn(Mono.just(Map.of(AuthConstants.CLAIM_TOKEN_ID, "a1",
+                        AuthConstants.CLAIM_TYPE, AuthConstants.TOKEN_TYPE_ACCESS)));
+        when(tokenProvider.parseAndValidate("no-jti"))
+                .thenReturn(Mono.just(Map.of(AuthConstants.CLAIM_TYPE, AuthConstants.TOKEN_TYPE_REFRESH)));
+
+        StepVerifier.create(authUseCase.refresh("access")).expectError(ValidationException.class).verify();
+        StepVerifier.create(authUseCase.refresh("no-jti")).expectError(ValidationException.class).verify();
+        verifyNoInteractions(refreshTokenStore);
+    }
+
+    @Test
+    void logout_revokesAccessTokenAndRefreshFamily() {
+        when(tokenProvider.parseAndValidate("access"))
+                .thenReturn(Mono.just(Map.of(AuthConstants.CLAIM_TOKEN_ID, "a1", AuthConstants.CLAIM_EXP, 2_000_000_000L)));
+        when(tokenRevocationStore.revokeToken("a1", Instant.ofEpochSecond(2_000_000_000L))).thenReturn(Mono.empty());
+        refreshClaims();
+        when(refreshTokenStore.findById("t1")).thenReturn(Mono.just(stored(null, false)));
+        when(refreshTokenStore.revokeFamily("f1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(authUseCase.logout("access", "refresh")).verifyComplete();
+
+        verify(tokenRevocationStore).revokeToken("a1", Instant.ofEpochSecond(2_000_000_000L));
+        verify(refreshTokenStore).revokeFamily("f1");
+    }
+
+    @Test
+    void logout_withoutRefreshOnlyRevokesAccessToken() {
+        when(tokenProvider.parseAndValidate("access"))
+                .thenReturn(Mono.just(Map.of(AuthConstants.CLAIM_TOKEN_ID, "a1", AuthConstants.CLAIM_EXP, 2_000_000_000L)));
+        when(tokenRevocationStore.revokeToken(eq("a1"), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(authUseCase.logout("access", "")).verifyComplete();
+
+        verifyNoInteractions(refreshTokenStore);
+    }
+
+    @Test
+    void introspect_keepsInputOrder() {
+        // El primer token tarda más: aun así su resultado debe salir primero.
+        when(tokenProvider.parseAndValidate("t1"))
+                .thenReturn(Mono.just(Map.<String, Object>of("sub", "a@test.com", "exp", 100L))
+                        .delayElement(Duration.ofMillis(50)));
+        when(tokenProvider.parseAndValidate("t2"))
+                .thenReturn(Mono.just(Map.of("sub", "b@test.com", "exp", 200L)));
+
+        StepVerifier.create(authUseCase.introspect(List.of("t1", "t2")))
+                .assertNext(r -> {
+                    assertTrue(r.isActive());
+                    assertEquals("a@test.com", r.getClaims().get("sub"));
+                    assertEquals(Long.valueOf(100L), r.getExpiresAt());
+                })
+                .assertNext(r -> {
+                    assertTrue(r.isActive());
+                    assertEquals(Long.valueOf(200L), r.getExpiresAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void introspect_invalidTokenIsInactiveWithoutFailingBatch() {
+        when(tokenProvider.parseAndValidate("bad"))
+                .thenReturn(Mono.error(new ValidationException("Token inválido")));
+        when(tokenProvider.parseAndValidate("good"))
+                .thenReturn(Mono.just(Map.of("sub", "a@test.com")));
+
+        StepVerifier.create(authUseCase.introspect(Arrays.asList("bad", " ", "good")))
+                .assertNext(r -> {
+                    assertFalse(r.isActive());
+                    assertNull(r.getClaims());
+                })
+                .assertNext(r -> assertFalse(r.isActive()))
+                .assertNext(r -> {
+                    assertTrue(r.isActive());
+                    assertNull(r.getExpiresAt());
+                })
+                .verifyComplete();
+
+        // El token en blanco ni siquiera llega al proveedor.
+        verify(tokenProvider, never()).parseAndValidate(" ");
+    }
+
+    @Test
+    void introspect_revokedTokenIsInactive() {
+        when(tokenProvider.parseAndValidate("revoked"))
+                .thenReturn(Mono.just(Map.<String, Object>of(AuthConstants.CLAIM_TOKEN_ID, "a1",
+                        AuthConstants.CLAIM_ID, 7L, AuthConstants.CLAIM_IAT, 1_700_000_000L)));
+        when(tokenRevocationStore.isRevoked("a1", 7L, 1_700_000_000_000L)).thenReturn(true);
+
+        StepVerifier.create(authUseCase.introspect(List.of("revoked")))
+                .assertNext(r -> {
+                    assertFalse(r.isActive());
+                    assertNull(r.getClaims());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void introspect_refreshTokenIsInactive() {
+        when(tokenProvider.parseAndValidate("refresh"))
+                .thenReturn(Mono.just(Map.<String, Object>of(AuthConstants.CLAIM_TOKEN_ID, "r1",
+                        AuthConstants.CLAIM_TYPE, AuthConstants.TOKEN_TYPE_REFRESH)));
+        when(tokenProvider.parseAndValidate("legacy-refresh"))
+                .thenReturn(Mono.just(Map.<String, Object>of(AuthConstants.CLAIM_TOKEN_ID, "r2",
+                        AuthConstants.CLAIM_FAMILY, "f1")));
+
+        StepVerifier.create(authUseCase.introspect(List.of("refresh", "legacy-refresh")))
+                .assertNext(r -> assertFalse(r.isActive()))
+                .assertNext(r -> assertFalse(r.isActive()))
+                .verifyComplete();
+
+        verify(tokenRevocationStore, never()).isRevoked(any(), any(), anyLong());
+    }
+
+    @Test
+    void introspect_emptyBatch() {
+        StepVerifier.create(authUseCase.introspect(List.of()))
+                .verifyComplete();
+        verifyNoInteractions(tokenProvider);
+    }
+}
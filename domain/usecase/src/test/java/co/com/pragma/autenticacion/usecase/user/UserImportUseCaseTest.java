@@ -0,0 +1,192 @@
+package co.com.pragma.autenticacion.usecase.user;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.auth.gateways.PasswordEncoderPort;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.model.user.UserImportResult;
+import co.com.pragma.autenticacion.model.user.UserImportRow;
+import co.com.pragma.autenticacion.model.user.gateways.UserRepository;
+import co.com.pragma.autenticacion.usecase.exceptions.DuplicateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+// Test unitario de la importación masiva: orden de resultados, lotes y duplicados.
+@ExtendWith(MockitoExtension.class)
+class UserImportUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoderPort passwordEncoder;
+
+    @InjectMocks
+    private UserImportUseCase userImportUseCase;
+
+    private final AtomicLong ids = new AtomicLong(10);
+
+    @BeforeEach
+    void setUp() {
+        when(passwordEncoder.encode(anyString()))
+                .thenAnswer(inv -> Mono.just("hash:" + inv.getArgument(0)));
+    }
+
+    private static User user(String email, String document) {
+        return User.builder()
+                .name("Ana")
+                .lastName("Martinez")
+                .email(email)
+                .identityDocument(document)
+                .baseSalary(new BigDecimal("1000000"))
+                .dateOfBirth("1990-01-01")
+                .idRole(BigDecimal.ONE)
+                .password("secret1")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void saveAllAssignsIds() {
+        when(userRepository.saveAll(anyList())).thenAnswer(inv -> Flux.fromIterable((List<User>) inv.getArgument(0))
+                .map(u -> u.toBuilder().idNumber(ids.getAndIncrement()).build()));
+    }
+
+    @Test
+    void importUsers_shouldResolveEveryRowInInputOrder() {
+        User underage = user("d@test.com", "5").toBuilder().dateOfBirth("2020-01-01").build();
+        Flux<UserImportRow> rows = Flux.just(
+                UserImportRow.of(1, user("a@test.com", "1")),
+                UserImportRow.invalid(2, "Fila mal formada"),
+                UserImportRow.of(3, user("b@test.com", "2")),   // ya registrado en BD
+                UserImportRow.of(4, user("A@test.com", "3")),   // repetido dentro del lote
+                UserImportRow.of(5, user("c@test.com", "4")),
+                UserImportRow.of(6, underage));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Flux.just("B@TEST.com"));
+        when(userRepository.findExistingDocuments(anyCollection())).thenReturn(Flux.empty());
+        saveAllAssignsIds();
+
+        StepVerifier.create(userImportUseCase.importUsers(rows, 100, 2))
+                .assertNext(r -> assertResult(r, 1, UserImportResult.Status.CREATED, 10L))
+                .assertNext(r -> assertResult(r, 2, UserImportResult.Status.INVALID, null))
+                .assertNext(r -> {
+                    assertResult(r, 3, UserImportResult.Status.DUPLICATE, null);
+                    assertEquals(AuthConstants.MSG_DUPLICATE_EMAIL, r.getMessage());
+                })
+                .assertNext(r -> assertResult(r, 4, UserImportResult.Status.DUPLICATE, null))
+                .assertNext(r -> assertResult(r, 5, UserImportResult.Status.CREATED, 11L))
+                .assertNext(r -> assertResult(r, 6, UserImportResult.Status.INVALID, null))
+                .verifyComplete();
+
+        // Un único INSERT multi-fila con los passwords ya hasheados
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).saveAll(inserted.capture());
+        assertEquals(2, inserted.getValue().size());
+        assertEquals("hash:secret1", inserted.getValue().get(0).getPassword());
+        verify(userRepository, never()).saveUser(any());
+    }
+
+    @Test
+    void importUsers_shouldSplitRowsIntoBatches() {
+        Flux<UserImportRow> rows = Flux.range(1, 5)
+                .map(i -> UserImportRow.of(i, user("u" + i + "@test.com", String.valueOf(i))));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Flux.empty());
+        when(userRepository.findExistingDocuments(anyCollection())).thenReturn(Flux.empty());
+        saveAllAssignsIds();
+
+        StepVerifier.create(userImportUseCase.importUsers(rows, 2, 4).map(UserImportResult::getLine))
+                .expectNext(1L, 2L, 3L, 4L, 5L)
+                .verifyComplete();
+
+        verify(userRepository, times(3)).saveAll(anyList());
+        verify(userRepository, times(3)).findExistingEmails(anyCollection());
+    }
+
+    @Test
+    void importUsers_duplicateOnBatchInsert_shouldRetryRowByRow() {
+        User a = user("a@test.com", "1");
+        User b = user("b@test.com", "2");
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Flux.empty());
+        when(userRepository.findExistingDocuments(anyCollection())).thenReturn(Flux.empty());
+        when(userRepository.saveAll(anyList()))
+                .thenReturn(Flux.error(new DuplicateException(AuthConstants.MSG_DUPLICATE_DOCUMENT)));
+        when(userRepository.saveUser(argThat(u -> u != null && "a@test.com".equals(u.getEmail()))))
+                .thenAnswer(inv -> Mono.just(((User) inv.getArgument(0)).toBuilder().idNumber(7L).build()));
+        when(userRepository.saveUser(argThat(u -> u != null && "b@test.com".equals(u.getEmail()))))
+                .thenReturn(Mono.error(new DuplicateException(AuthConstants.MSG_DUPLICATE_DOCUMENT)));
+
+        StepVerifier.create(userImportUseCase.importUsers(Flux.just(UserImportRow.of(1, a), UserImportRow.of(2, b)), 10, 1))
+                .assertNext(r -> assertResult(r, 1, UserImportResult.Status.CREATED, 7L))
+                .assertNext(r -> {
+                    assertResult(r, 2, UserImportResult.Status.DUPLICATE, null);
+                    assertEquals(AuthConstants.MSG_DUPLICATE_DOCUMENT, r.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void importUsers_failures_shouldNotEchoDriverMessages() {
+        String driverText = "Table 'users' doesn't exist [SQL: INSERT INTO users ...]";
+        User a = user("a@test.com", "1");
+        User b = user("b@test.com", "2");
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Flux.empty());
+        when(userRepository.findExistingDocuments(anyCollection())).thenReturn(Flux.empty());
+        when(userRepository.saveAll(anyList())).thenReturn(Flux.error(new DuplicateException(driverText)));
+        when(userRepository.saveUser(argThat(u -> u != null && "a@test.com".equals(u.getEmail()))))
+                .thenReturn(Mono.error(new DuplicateException(driverText)));
+        when(userRepository.saveUser(argThat(u -> u != null && "b@test.com".equals(u.getEmail()))))
+                .thenReturn(Mono.error(new IllegalStateException(driverText)));
+        User c = user("c@test.com", "3").toBuilder().password("boom").build();
+        when(passwordEncoder.encode("boom")).thenReturn(Mono.error(new IllegalStateException(driverText)));
+
+        StepVerifier.create(userImportUseCase.importUsers(
+                        Flux.just(UserImportRow.of(1, a), UserImportRow.of(2, b), UserImportRow.of(3, c)), 10, 1))
+                .assertNext(r -> {
+                    assertResult(r, 1, UserImportResult.Status.DUPLICATE, null);
+                    assertEquals(AuthConstants.MSG_DUPLICATE_EMAIL, r.getMessage());
+                })
+                .assertNext(r -> {
+                    assertResult(r, 2, UserImportResult.Status.FAILED, null);
+                    assertEquals(AuthConstants.MSG_IMPORT_NOT_PERSISTED, r.getMessage());
+                })
+                .assertNext(r -> {
+                    assertResult(r, 3, UserImportResult.Status.FAILED, null);
+                    assertEquals(AuthConstants.MSG_IMPORT_NOT_PERSISTED, r.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void importUsers_databaseFailure_shouldMarkBatchWithConstantMessage() {
+        when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(Flux.error(new IllegalStateException("Connection refused: mysql:3306")));
+        when(userRepository.findExistingDocuments(anyCollection())).thenReturn(Flux.empty());
+
+        StepVerifier.create(userImportUseCase.importUsers(Flux.just(UserImportRow.of(1, user("a@test.com", "1"))), 10, 1))
+                .assertNext(r -> {
+                    assertResult(r, 1, UserImportResult.Status.FAILED, null);
+                    assertEquals(AuthConstants.MSG_IMPORT_NOT_PERSISTED, r.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    private static void assertResult(UserImportResult result, long line, UserImportResult.Status status, Long id) {
+        assertEquals(line, result.getLine());
+        assertEquals(status, result.getStatus());
+        assertEquals(id, result.getIdNumber());
+    }
+}
@@ -1,20 +1,26 @@
 package co.com.pragma.autenticacion.usecase.user;
 
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationStore;
 import co.com.pragma.autenticacion.model.user.User;
 import co.com.pragma.autenticacion.model.user.gateways.UserRepository;
 import co.com.pragma.autenticacion.usecase.exceptions.DuplicateException;
 import co.com.pragma.autenticacion.usecase.exceptions.NotFoundException;
+import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 // Test unitario para la lógica del UserUseCase con mocks del repositorio.
@@ -24,6 +30,9 @@ class UserUseCaseTest {
     @Mock
     private UserRepository userRepository; //  Mock: simulamos el acceso a la BD.
 
+    @Mock
+    private TokenRevocationStore tokenRevocationStore; //  Mock: revocación de tokens del usuario eliminado.
+
     @InjectMocks
     private UserUseCase userUseCase; //Clase que vamos a probar.
 
@@ -44,32 +53,30 @@ class UserUseCaseTest {
 //agregar datamock
     @Test
     void saveUser_ok() {
-        //  Simulamos que NO existen duplicados
-        when(userRepository.existsByEmail(user.getEmail()))
-                .thenReturn(Mono.just(false));
-        when(userRepository.existsByDocument(user.getIdentityDocument()))
-                .thenReturn(Mono.just(false));
-
-        //  Simulamos que el repo guarda el usuario
+        //  Simulamos que el repo guarda el usuario (un único INSERT)
         when(userRepository.saveUser(user)).thenReturn(Mono.just(user));
 
         StepVerifier.create(userUseCase.saveUser(user))
                 .expectNext(user) //  Esperamos que retorne el usuario
                 .verifyComplete();
 
-        //  Validamos que efectivamente se llamó al saveUser del repo
+        //  Validamos que solo se llamó al saveUser del repo: sin consultas previas de unicidad
         verify(userRepository).saveUser(user);
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
     void saveUser_emailDuplicado() {
-        //  Simulamos que el correo ya existe
-        when(userRepository.existsByEmail(user.getEmail())).thenReturn(Mono.just(true));
-        when(userRepository.existsByDocument(user.getIdentityDocument())).thenReturn(Mono.just(false));
+        //  La restricción única de la BD rechaza el INSERT
+        when(userRepository.saveUser(user))
+                .thenReturn(Mono.error(new DuplicateException("El correo ya está registrado")));
 
         StepVerifier.create(userUseCase.saveUser(user))
-                .expectError(DuplicateException.class) //  Debe lanzar excepción
+                .expectError(DuplicateException.class) //  Debe propagar la excepción
                 .verify();
+
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).existsByDocument(anyString());
     }
 
     @Test
@@ -94,22 +101,100 @@ class UserUseCaseTest {
 
     @Test
     void editUser_ok() {
-        //  Simulamos que el usuario existe y luego lo actualiza
-        when(userRepository.getUserByIdNumber(1L)).thenReturn(Mono.just(user));
+        //  Un único UPDATE: no se consulta el usuario antes de editarlo
         when(userRepository.editUser(user)).thenReturn(Mono.just(user));
 
         StepVerifier.create(userUseCase.editUser(user))
                 .expectNext(user) //  Usuario actualizado
                 .verifyComplete();
+
+        verify(userRepository, never()).getUserByIdNumber(anyLong());
+    }
+
+    @Test
+    void patchUser_soloCamposPresentes() {
+        User changes = User.builder().telephone("3110000").build();
+        when(userRepository.patchUser(1L, changes)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userUseCase.patchUser(1L, changes))
+                .verifyComplete();
+    }
+
+    @Test
+    void patchUser_sinCampos_error() {
+        StepVerifier.create(userUseCase.patchUser(1L, new User()))
+                .expectError(ValidationException.class)
+                .verify();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void deleteUser_noExiste() {
+        //  El DELETE no afectó filas: no se revocan tokens
+        when(userRepository.deleteUser(2L)).thenReturn(Mono.error(new NotFoundException("Usuario no encontrado")));
+
+        StepVerifier.create(userUseCase.deleteUser(2L))
+                .expectError(NotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(tokenRevocationStore);
     }
 
     @Test
     void deleteUser_ok() {
-        //  Simulamos que el usuario existe y se elimina
-        when(userRepository.getUserByIdNumber(1L)).thenReturn(Mono.just(user));
+        //  Un único DELETE, sin lectura previa
         when(userRepository.deleteUser(1L)).thenReturn(Mono.empty());
+        when(tokenRevocationStore.revokeUser(eq(1L), any())).thenReturn(Mono.empty());
 
         StepVerifier.create(userUseCase.deleteUser(1L))
                 .verifyComplete(); //  Terminó bien
+
+        //  Sus tokens emitidos quedan revocados
+        verify(tokenRevocationStore).revokeUser(eq(1L), any());
+    }
+
+    @Test
+    void getUsersPage_conMasResultados_devuelveCursor() {
+        //  Se pide limit + 1 para saber si existe una página siguiente
+        User second = user.toBuilder().idNumber(2L).build();
+        User third = user.toBuilder().idNumber(3L).build();
+        when(userRepository.getUsersAfter(null, 3)).thenReturn(Flux.just(user, second, third));
+
+        StepVerifier.create(userUseCase.getUsersPage(null, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.getItems().size());
+                    assertEquals(2L, page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getUsersPage_ultimaPagina_sinCursor() {
+        when(userRepository.getUsersAfter(1L, 3)).thenReturn(Flux.just(user));
+
+        StepVerifier.create(userUseCase.getUsersPage(1L, 2))
+                .assertNext(page -> {
+                    assertEquals(1, page.getItems().size());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void streamUsers_limiteSobreElMaximo_seAcota() {
+        when(userRepository.getUsersAfter(5L, AuthConstants.USERS_STREAM_MAX_LIMIT)).thenReturn(Flux.just(user));
+
+        StepVerifier.create(userUseCase.streamUsers(5L, Integer.MAX_VALUE))
+                .expectNext(user)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamUsers_sinLimite_usaElMaximo() {
+        when(userRepository.getUsersAfter(null, AuthConstants.USERS_STREAM_MAX_LIMIT)).thenReturn(Flux.empty());
+
+        StepVerifier.create(userUseCase.streamUsers(null, null))
+                .verifyComplete();
     }
 }
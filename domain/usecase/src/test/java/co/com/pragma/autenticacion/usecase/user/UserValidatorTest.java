@@ -0,0 +1,109 @@
+package co.com.pragma.autenticacion.usecase.user;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test unitario de las reglas de negocio del usuario.
+class UserValidatorTest {
+
+    // "Hoy" fijo: 2026-06-15
+    private final UserValidator validator = new UserValidator(
+            Clock.fixed(Instant.parse("2026-06-15T12:00:00Z"), ZoneOffset.UTC));
+
+    private User valid() {
+        return User.builder()
+                .name("Oscar")
+                .lastName("Mayor")
+                .email("oscar@test.com")
+                .baseSalary(new BigDecimal("1000000"))
+                .dateOfBirth("1990-05-10")
+                .build();
+    }
+
+    @Test
+    void validUser_hasNoViolations() {
+        assertNull(validator.violations(valid()));
+        assertDoesNotThrow(() -> validator.validate(valid()));
+    }
+
+    @Test
+    void collectsAllViolationsInOnePass() {
+        User user = valid().toBuilder().name(" ").email("sin-arroba").baseSalary(new BigDecimal("-1")).build();
+
+        ValidationException error = assertThrows(ValidationException.class, () -> validator.validate(user));
+
+        assertEquals(List.of(AuthConstants.VALIDATION_NAME_REQUIRED,
+                AuthConstants.VALIDATION_EMAIL_FORMAT,
+                AuthConstants.VALIDATION_SALARY_RANGE), error.getViolations());
+    }
+
+    @Test
+    void singleViolation_keepsOriginalMessage() {
+        ValidationException error = assertThrows(ValidationException.class,
+                () -> validator.validate(valid().toBuilder().email(null).build()));
+
+        assertEquals(AuthConstants.VALIDATION_EMAIL_REQUIRED, error.getMessage());
+    }
+
+    // Mismos casos que acepta "^[A-Za-z0-9+_.-]+@(.+)$"
+    @ParameterizedTest
+    @ValueSource(strings = {"a@b", "a.b-c+d_e@x.co", "a@b@c", "A1@ dominio"})
+    void email_acceptedLikeRegex(String email) {
+        assertTrue(email.matches("^[A-Za-z0-9+_.-]+@(.+)$"));
+        assertNull(validator.violations(valid().toBuilder().email(email).build()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"@b", "a@", "a b@c", "ñ@c", "a@b\n", "sin-arroba"})
+    void email_rejectedLikeRegex(String email) {
+        assertFalse(email.matches("^[A-Za-z0-9+_.-]+@(.+)$"));
+        assertEquals(List.of(AuthConstants.VALIDATION_EMAIL_FORMAT),
+                validator.violations(valid().toBuilder().email(email).build()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1990/05/10", "10-05-1990", "1990-13-01", "1990-02-30", "1990-5-10", "199a-05-10"})
+    void dateOfBirth_invalidFormat(String date) {
+        assertEquals(List.of(AuthConstants.VALIDATION_DOB_FORMAT),
+                validator.violations(valid().toBuilder().dateOfBirth(date).build()));
+    }
+
+    @Test
+    void dateOfBirth_ageBoundary() {
+        // Cumple 18 justo hoy: es mayor de edad; un día después aún no.
+        assertNull(validator.violations(valid().toBuilder().dateOfBirth("2008-06-15").build()));
+        assertEquals(List.of(AuthConstants.VALIDATION_DOB_UNDERAGE),
+                validator.violations(valid().toBuilder().dateOfBirth("2008-06-16").build()));
+        assertNull(validator.violations(valid().toBuilder().dateOfBirth("2000-02-29").build()));
+    }
+
+    @Test
+    void salary_bounds() {
+        assertNull(validator.violations(valid().toBuilder().baseSalary(BigDecimal.ZERO).build()));
+        assertNull(validator.violations(valid().toBuilder().baseSalary(new BigDecimal("1500000.00")).build()));
+        assertEquals(List.of(AuthConstants.VALIDATION_SALARY_RANGE),
+                validator.violations(valid().toBuilder().baseSalary(new BigDecimal("1500000.01")).build()));
+        assertEquals(List.of(AuthConstants.VALIDATION_SALARY_REQUIRED),
+                validator.violations(valid().toBuilder().baseSalary(null).build()));
+    }
+
+    @Test
+    void patch_checksOnlyPresentFields() {
+        assertNull(validator.patchViolations(User.builder().telephone("3110000").build()));
+        assertEquals(List.of(AuthConstants.VALIDATION_EMAIL_FORMAT),
+                validator.patchViolations(User.builder().email("sin-arroba").build()));
+        assertEquals(List.of(AuthConstants.VALIDATION_PATCH_EMPTY), validator.patchViolations(new User()));
+    }
+}
@@ -0,0 +1,170 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.model.user.gateways.UserRepository;
+import co.com.pragma.autenticacion.r2dbc.config.UserCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decorador de UserRepository con caché de lectura para login/refresh (por correo) y consultas por id.
+ *
+ * Explicación:
+ * - Las demás operaciones van directo a UserReactiveRepositoryAdapter.
+ * - saveUser, saveAll, editUser, patchUser y deleteUser invalidan las entradas afectadas al terminar
+ *   (también si fallan, por si la escritura llegó a aplicarse).
+ * - La invalidación es local: otra instancia puede servir un usuario viejo hasta que venza el ttl.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(prefix = "adapters.r2dbc.user-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CachedUserRepository implements UserRepository {
+
+    private final UserReactiveRepositoryAdapter delegate;
+    private final UserLookupCache<String> byEmail;
+    private final UserLookupCache<Long> byId;
+
+    @Autowired
+    public CachedUserRepository(UserReactiveRepositoryAdapter delegate,
+                                UserCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    CachedUserRepository(UserReactiveRepositoryAdapter delegate,
+                         UserCacheProperties properties,
+                         MeterRegistry meterRegistry,
+                         Clock clock) {
+        this.delegate = delegate;
+        this.byEmail = new UserLookupCache<>("email", properties.maxSize(), properties.ttl(), clock, meterRegistry);
+        this.byId = new UserLookupCache<>("id", properties.maxSize(), properties.ttl(), clock, meterRegistry);
+    }
+
+    // ---------------------- LECTURAS CACHEADAS ----------------------
+    @Override
+    public Mono<User> getCredentialsByEmail(String email) {
+        if (email == null) return delegate.getCredentialsByEmail(null);
+        return byEmail.get(normalize(email), key -> delegate.getCredentialsByEmail(email));
+    }
+
+    @Override
+    public Mono<User> getUserByIdNumber(Long number) {
+        if (number == null) return delegate.getUserByIdNumber(null);
+        return byId.get(number, delegate::getUserByIdNumber);
+    }
+
+    // ---------------------- ESCRITURAS (INVALIDAN) ----------------------
+    @Override
+    public Mono<User> saveUser(User user) {
+        return delegate.saveUser(user)
+                .doFinally(signal -> {
+                    if (user != null) forgetEmail(user.getEmail());
+                });
+    }
+
+    @Override
+    public Flux<User> saveAll(List<User> users) {
+        return delegate.saveAll(users)
+                .doFinally(signal -> users.forEach(u -> {
+                    if (u != null) forgetEmail(u.getEmail());
+                }));
+    }
+
+    @Override
+    public Mono<User> editUser(User user) {
+        return delegate.editUser(user)
+                .doFinally(signal -> {
+                    if (user == null) return;
+                    forgetUser(user.getIdNumber());
+                    forgetEmail(user.getEmail());
+                });
+    }
+
+    @Override
+    public Mono<Void> patchUser(Long idNumber, User changes) {
+        return delegate.patchUser(idNumber, changes)
+                .doFinally(signal -> {
+                    forgetUser(idNumber);
+                    if (changes != null) forgetEmail(changes.getEmail());
+                });
+    }
+
+    @Override
+    public Mono<Void> deleteUser(Long idNumber) {
+        return delegate.deleteUser(idNumber)
+                .doFinally(signal -> forgetUser(idNumber));
+    }
+
+    // ---------------------- SIN CACHÉ ----------------------
+    @Override
+    public Flux<User> getAllUsers() {
+        return delegate.getAllUsers();
+    }
+
+    @Override
+    public Flux<User> getUsersAfter(Long afterId, int limit) {
+        return delegate.getUsersAfter(afterId, limit);
+    }
+
+    @Override
+    public Flux<User> exportUsers() {
+        return delegate.exportUsers();
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public Mono<Boolean> existsByDocument(String identityDocument) {
+        return delegate.existsByDocument(identityDocument);
+    }
+
+    @Override
+    public Mono<Boolean> existsRoleById(BigDecimal idRol) {
+        return delegate.existsRoleById(idRol);
+    }
+
+    @Override
+    public Mono<User> getByEmail(String email) {
+        return delegate.getByEmail(email);
+    }
+
+    @Override
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        return delegate.findExistingEmails(emails);
+    }
+
+    @Override
+    public Flux<String> findExistingDocuments(Collection<String> identityDocuments) {
+        return delegate.findExistingDocuments(identityDocuments);
+    }
+
+    // El usuario puede estar en la caché por correo bajo un correo anterior: se busca por id
+    private void forgetUser(Long idNumber) {
+        if (idNumber == null) return;
+        byId.invalidate(idNumber);
+        byEmail.invalidateIf(cached -> idNumber.equals(cached.getIdNumber()));
+    }
+
+    private void forgetEmail(String email) {
+        if (email != null) byEmail.invalidate(normalize(email));
+    }
+
+    // La columna email usa una intercalación sin distinción de mayúsculas
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,59 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.RefreshTokenStore;
+import co.com.pragma.autenticacion.r2dbc.config.RefreshTokenStoreProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tarea en segundo plano que elimina los refresh tokens vencidos, en lotes,
+ * para que la tabla no crezca indefinidamente.
+ */
+@Slf4j
+@Component
+public class RefreshTokenPurgeJob implements DisposableBean {
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final Duration interval;
+    private volatile Disposable subscription;
+
+    public RefreshTokenPurgeJob(RefreshTokenStore refreshTokenStore, RefreshTokenStoreProperties properties) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.interval = properties.purgeInterval();
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        subscription = Flux.interval(interval, interval)
+                // Si una purga tarda más que el intervalo, se omite el tick en lugar de acumularlos.
+                .onBackpressureDrop()
+                .concatMap(tick -> purge(), 1)
+                .subscribe();
+    }
+
+    Mono<Long> purge() {
+        return refreshTokenStore.purgeExpired(Instant.now())
+                .doOnNext(deleted -> {
+                    if (deleted > 0) log.info("Refresh tokens vencidos eliminados: {}", deleted);
+                })
+                .onErrorResume(e -> {
+                    log.warn("No se pudo purgar refresh tokens vencidos: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void destroy() {
+        Disposable current = subscription;
+        if (current != null) current.dispose();
+    }
+}
@@ -0,0 +1,43 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.r2dbc.entity.RefreshTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repositorio reactivo para la tabla refresh_tokens.
+ *
+ * Explicación:
+ * - La PK es el jti (String asignado por la aplicación), por eso el alta es un INSERT explícito
+ *   en lugar de save() (que lo trataría como UPDATE).
+ * - La rotación es un UPDATE condicional: solo una petición concurrente puede ganarla.
+ */
+public interface RefreshTokenReactiveRepository extends ReactiveCrudRepository<RefreshTokenEntity, String> {
+
+    @Modifying
+    @Query("INSERT INTO refresh_tokens (token_id, family_id, user_id, expires_at, revoked) " +
+            "VALUES (:tokenId, :familyId, :userId, :expiresAt, FALSE)")
+    Mono<Integer> insert(@Param("tokenId") String tokenId,
+                         @Param("familyId") String familyId,
+                         @Param("userId") Long userId,
+                         @Param("expiresAt") long expiresAt);
+
+    @Modifying
+    @Query("UPDATE refresh_tokens SET replaced_by = :replacedBy " +
+            "WHERE token_id = :tokenId AND replaced_by IS NULL AND revoked = FALSE")
+    Mono<Integer> markRotated(@Param("tokenId") String tokenId, @Param("replacedBy") String replacedBy);
+
+    @Modifying
+    @Query("UPDATE refresh_tokens SET revoked = TRUE WHERE family_id = :familyId AND revoked = FALSE")
+    Mono<Integer> revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Borra un lote de tokens vencidos (DELETE ... LIMIT evita transacciones largas y bloqueos extensos).
+     */
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE expires_at < :now LIMIT :limit")
+    Mono<Integer> deleteExpired(@Param("now") long now, @Param("limit") int limit);
+}
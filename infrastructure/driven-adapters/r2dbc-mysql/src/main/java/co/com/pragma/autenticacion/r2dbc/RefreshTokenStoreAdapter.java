@@ -0,0 +1,98 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.model.tokeninfo.RefreshToken;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.RefreshTokenStore;
+import co.com.pragma.autenticacion.r2dbc.config.RefreshTokenStoreProperties;
+import co.com.pragma.autenticacion.r2dbc.mapper.RefreshTokenMapper;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adaptador que implementa RefreshTokenStore sobre la tabla refresh_tokens.
+ *
+ * Explicación:
+ * - Caché en memoria write-through: cada alta se guarda en la BD y en el mapa, así el refresh
+ *   habitual se resuelve sin consulta; si no está en caché, es un único SELECT por PK.
+ * - La rotación siempre es un UPDATE condicional en la BD (fuente de verdad entre instancias);
+ *   si una entrada en caché quedó desactualizada, el UPDATE no afecta filas y se trata como reutilización.
+ * - La caché tiene un tope de entradas; al llenarse los nuevos tokens solo quedan en la BD.
+ */
+@Repository
+public class RefreshTokenStoreAdapter implements RefreshTokenStore {
+
+    private final RefreshTokenReactiveRepository repository;
+    private final RefreshTokenMapper mapper;
+    private final int cacheMaxEntries;
+    private final int purgeBatchSize;
+    private final Map<String, RefreshToken> cache = new ConcurrentHashMap<>();
+
+    public RefreshTokenStoreAdapter(RefreshTokenReactiveRepository repository,
+                                    RefreshTokenMapper mapper,
+                                    RefreshTokenStoreProperties properties) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.cacheMaxEntries = properties.cacheMaxEntries();
+        this.purgeBatchSize = properties.purgeBatchSize();
+    }
+
+    @Override
+    public Mono<Void> save(RefreshToken refreshToken) {
+        return repository.insert(refreshToken.getTokenId(), refreshToken.getFamilyId(),
+                        refreshToken.getUserId(), refreshToken.getExpiresAt().toEpochMilli())
+                .doOnSuccess(rows -> cache(refreshToken))
+                .then();
+    }
+
+    @Override
+    public Mono<RefreshToken> findById(String tokenId) {
+        return Mono.defer(() -> {
+            RefreshToken cached = cache.get(tokenId);
+            if (cached != null) return Mono.just(cached);
+            return repository.findById(tokenId)
+                    .map(mapper::toModel)
+                    .doOnNext(this::cache);
+        });
+    }
+
+    @Override
+    public Mono<Boolean> markRotated(String tokenId, String replacedBy) {
+        return repository.markRotated(tokenId, replacedBy)
+                .map(rows -> {
+                    if (rows == 1) {
+                        // El token queda marcado en caché: un segundo uso se detecta sin ir a la BD.
+                        cache.computeIfPresent(tokenId, (id, token) -> token.toBuilder().replacedBy(replacedBy).build());
+                        return true;
+                    }
+                    cache.remove(tokenId);
+                    return false;
+                });
+    }
+
+    @Override
+    public Mono<Void> revokeFamily(String familyId) {
+        return repository.revokeFamily(familyId)
+                // Recorre la caché completa: solo ocurre ante una reutilización, que es excepcional.
+                .doOnSuccess(rows -> cache.values().removeIf(token -> familyId.equals(token.getFamilyId())))
+                .then();
+    }
+
+    @Override
+    public Mono<Long> purgeExpired(Instant now) {
+        long cutoff = now.toEpochMilli();
+        return Mono.defer(() -> {
+            cache.values().removeIf(token -> token.getExpiresAt().toEpochMilli() < cutoff);
+            // Borra en lotes hasta que un lote salga incompleto.
+            return repository.deleteExpired(cutoff, purgeBatchSize)
+                    .expand(rows -> rows >= purgeBatchSize ? repository.deleteExpired(cutoff, purgeBatchSize) : Mono.empty())
+                    .reduce(0L, (total, rows) -> total + rows);
+        });
+    }
+
+    private void cache(RefreshToken refreshToken) {
+        if (cache.size() < cacheMaxEntries) cache.put(refreshToken.getTokenId(), refreshToken);
+    }
+}
@@ -0,0 +1,80 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.model.role.gateways.RoleCatalog;
+import co.com.pragma.autenticacion.r2dbc.entity.RoleEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Catálogo en memoria de roles (id → nombre).
+ *
+ * Explicación:
+ * - Se carga desde RoleReactiveRepository al arrancar (migraciones ya aplicadas, antes de quedar "ready").
+ *   Si la carga falla el arranque se aborta: sin catálogo los tokens saldrían sin roles.
+ * - Las lecturas usan un Map inmutable publicado en un campo volatile: sin locks ni consultas a la BD.
+ * - RoleReactiveRepositoryAdapter lo actualiza en cada alta, cambio o baja (copy-on-write).
+ */
+@Slf4j
+@Component
+public class RoleCatalogCache implements RoleCatalog {
+
+    private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(30);
+
+    private final RoleReactiveRepository roleReactiveRepository;
+    private volatile Map<Long, String> roles = Map.of();
+
+    public RoleCatalogCache(RoleReactiveRepository roleReactiveRepository) {
+        this.roleReactiveRepository = roleReactiveRepository;
+    }
+
+    /**
+     * Carga inicial del catálogo. Si la BD no responde lanza IllegalStateException y la aplicación
+     * no arranca (igual que Flyway, que ya exige la BD al iniciar).
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void load() {
+        try {
+            Map<Long, String> loaded = roleReactiveRepository.findAll()
+                    .filter(role -> role.getIdRole() != null && role.getName() != null)
+                    .collectMap(RoleEntity::getIdRole, RoleEntity::getName)
+                    .block(LOAD_TIMEOUT);
+            roles = loaded != null ? Map.copyOf(loaded) : Map.of();
+            log.info("Catálogo de roles cargado: {} roles", roles.size());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("No se pudo cargar el catálogo de roles", e);
+        }
+    }
+
+    @Override
+    public Optional<String> nameOf(Long roleId) {
+        if (roleId == null) return Optional.empty();
+        return Optional.ofNullable(roles.get(roleId));
+    }
+
+    /**
+     * Registra o actualiza un rol en el catálogo.
+     */
+    public synchronized void put(Long roleId, String name) {
+        if (roleId == null || name == null) return;
+        Map<Long, String> copy = new HashMap<>(roles);
+        copy.put(roleId, name);
+        roles = Map.copyOf(copy);
+    }
+
+    /**
+     * Quita un rol del catálogo.
+     */
+    public synchronized void remove(Long roleId) {
+        if (roleId == null || !roles.containsKey(roleId)) return;
+        Map<Long, String> copy = new HashMap<>(roles);
+        copy.remove(roleId);
+        roles = Map.copyOf(copy);
+    }
+}
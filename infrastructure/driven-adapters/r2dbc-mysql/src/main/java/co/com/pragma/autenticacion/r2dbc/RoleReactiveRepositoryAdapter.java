@@ -24,18 +24,22 @@ public class RoleReactiveRepositoryAdapter extends ReactiveAdapterOperations<
 
     private final RoleMapper roleMapper;
     private final RoleReactiveRepository roleReactiveRepository;
+    private final RoleCatalogCache roleCatalog;
 
     /**
      * Constructor:
      * - Se inyectan el repositorio reactivo de roles y el mapper.
      * - Se pasa el mapper::toModel a la superclase para que convierta de Entity -> Domain automáticamente.
      * - El parámetro "null" indica que no usamos ReactiveCommons en este caso.
+     * - El catálogo de roles en memoria se actualiza con cada escritura.
      */
     protected RoleReactiveRepositoryAdapter(RoleReactiveRepository roleReactiveRepository,
-                                            RoleMapper roleMapper) {
+                                            RoleMapper roleMapper,
+                                            RoleCatalogCache roleCatalog) {
         super(roleReactiveRepository, null, roleMapper::toModel);
         this.roleReactiveRepository = roleReactiveRepository;
         this.roleMapper = roleMapper;
+        this.roleCatalog = roleCatalog;
     }
 
     /**
@@ -54,10 +58,12 @@ public class RoleReactiveRepositoryAdapter extends ReactiveAdapterOperations<
      * - Convierte de dominio a entidad.
      * - Guarda en la BD.
      * - Convierte la entidad guardada nuevamente a dominio.
+     * - Registra el rol en el catálogo en memoria.
      */
     @Override
     public Mono<Role> save(Role role) {
         return roleReactiveRepository.save(roleMapper.toEntity(role))
+                .doOnNext(this::cache)
                 .map(roleMapper::toModel);
     }
 
@@ -66,6 +72,7 @@ public class RoleReactiveRepositoryAdapter extends ReactiveAdapterOperations<
      * - Primero busca si el role existe.
      * - Si existe, convierte el nuevo estado a entidad pero conserva el ID original.
      * - Guarda los cambios y retorna el role actualizado en modelo de dominio.
+     * - Refresca el nombre en el catálogo en memoria.
      */
     @Override
     public Mono<Role> update(Role role) {
@@ -75,15 +82,22 @@ public class RoleReactiveRepositoryAdapter extends ReactiveAdapterOperations<
                     entity.setIdRole(existing.getIdRole()); // preserva el ID original para no crear uno nuevo
                     return roleReactiveRepository.save(entity);
                 })
+                .doOnNext(this::cache)
                 .map(roleMapper::toModel);
     }
 
     /**
      * Elimina un rol por ID.
      * - Convierte el ID de Long a Integer porque la entidad lo maneja así.
+     * - Lo quita del catálogo en memoria una vez confirmado el borrado.
      */
     @Override
     public Mono<Void> delete(Long id) {
-        return roleReactiveRepository.deleteById(id.intValue());
+        return roleReactiveRepository.deleteById(id.intValue())
+                .doOnSuccess(v -> roleCatalog.remove(id));
+    }
+
+    private void cache(RoleEntity entity) {
+        roleCatalog.put(entity.getIdRole(), entity.getName());
     }
 }
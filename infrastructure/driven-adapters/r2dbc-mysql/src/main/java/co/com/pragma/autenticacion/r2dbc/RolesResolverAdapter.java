@@ -1,23 +1,29 @@
 package co.com.pragma.autenticacion.r2dbc;
 
 
-import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.role.gateways.RoleCatalog;
 import co.com.pragma.autenticacion.model.user.User;
 import co.com.pragma.autenticacion.usecase.auth.AuthUseCase.RolesResolver;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Resuelve los roles del usuario desde el catálogo en memoria (sin consultar la BD al emitir tokens).
+ */
 @Component
+@RequiredArgsConstructor
 public class RolesResolverAdapter implements RolesResolver {
+
+    private final RoleCatalog roleCatalog;
+
     @Override
     public List<String> resolve(User user) {
         if (user.getIdRole() == null) return Collections.emptyList();
-        long rid = user.getIdRole().longValue();
-        if (rid == 1L) return List.of(AuthConstants.ADMIN_ROLE);
-        if (rid == 2L) return List.of(AuthConstants.ADVISOR_ROLE);
-        if (rid == 3L) return List.of(AuthConstants.CLIENT_ROLE);
-        return Collections.emptyList();
+        return roleCatalog.nameOf(user.getIdRole().longValue())
+                .map(List::of)
+                .orElse(Collections.emptyList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.r2dbc.entity.TokenRevocationEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repositorio reactivo para la tabla token_revocations.
+ */
+public interface TokenRevocationReactiveRepository extends ReactiveCrudRepository<TokenRevocationEntity, Long> {
+
+    /**
+     * Revocaciones creadas desde el instante dado (usa idx_token_revocations_created_at).
+     */
+    @Query("SELECT * FROM token_revocations WHERE created_at >= :since ORDER BY created_at")
+    Flux<TokenRevocationEntity> findCreatedSince(@Param("since") long since);
+
+    /**
+     * Borra un lote de revocaciones vencidas.
+     */
+    @Modifying
+    @Query("DELETE FROM token_revocations WHERE expires_at < :now LIMIT :limit")
+    Mono<Integer> deleteExpired(@Param("now") long now, @Param("limit") int limit);
+}
@@ -0,0 +1,47 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.model.tokeninfo.TokenRevocation;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationRepository;
+import co.com.pragma.autenticacion.r2dbc.mapper.TokenRevocationMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Adaptador que implementa TokenRevocationRepository sobre la tabla token_revocations.
+ * La consulta por revocación se hace en memoria (TokenRevocationList); aquí solo hay altas,
+ * sincronización incremental y compactación.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TokenRevocationRepositoryAdapter implements TokenRevocationRepository {
+
+    static final int DELETE_BATCH_SIZE = 1_000;
+
+    private final TokenRevocationReactiveRepository repository;
+    private final TokenRevocationMapper mapper;
+
+    @Override
+    public Mono<TokenRevocation> save(TokenRevocation revocation) {
+        return repository.save(mapper.toEntity(revocation))
+                .map(mapper::toModel);
+    }
+
+    @Override
+    public Flux<TokenRevocation> findCreatedSince(Instant since) {
+        return repository.findCreatedSince(since.toEpochMilli())
+                .map(mapper::toModel);
+    }
+
+    @Override
+    public Mono<Long> deleteExpired(Instant now) {
+        long cutoff = now.toEpochMilli();
+        // Borra en lotes hasta que un lote salga incompleto.
+        return repository.deleteExpired(cutoff, DELETE_BATCH_SIZE)
+                .expand(rows -> rows >= DELETE_BATCH_SIZE ? repository.deleteExpired(cutoff, DELETE_BATCH_SIZE) : Mono.empty())
+                .reduce(0L, (total, rows) -> total + rows);
+    }
+}
@@ -0,0 +1,132 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.model.user.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Caché acotada con TTL de usuarios por una clave (correo o id).
+ *
+ * Explicación:
+ * - Read-through: en un fallo se consulta el loader y el resultado se guarda hasta ahora + ttl.
+ * - Coalescencia: fallos concurrentes de la misma clave comparten una única consulta en curso.
+ * - Una invalidación durante una consulta en curso impide que ese resultado (quizá viejo) se guarde.
+ * - Los vacíos y errores no se cachean. Cada lectura devuelve una copia (User es mutable).
+ * - Al llenarse, primero purga vencidos y luego descarta entradas arbitrarias hasta bajar al 90%.
+ */
+final class UserLookupCache<K> {
+
+    private final Map<K, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<K, Mono<User>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxSize;
+    private final long ttlMs;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    UserLookupCache(String name, int maxSize, Duration ttl, Clock clock, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttl.toMillis();
+        this.clock = clock;
+        this.hits = Counter.builder("auth.user.cache").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.user.cache").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("auth.user.cache.evictions").tag("cache", name).register(meterRegistry);
+        Gauge.builder("auth.user.cache.size", entries, Map::size).tag("cache", name).register(meterRegistry);
+    }
+
+    Mono<User> get(K key, Function<K, Mono<User>> loader) {
+        return Mono.defer(() -> {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtMs() > clock.millis()) {
+                    hits.increment();
+                    return Mono.just(copy(entry.user()));
+                }
+                entries.remove(key, entry);
+            }
+            misses.increment();
+            return shared(key, loader).map(UserLookupCache::copy);
+        });
+    }
+
+    /**
+     * Olvida la clave y cualquier consulta en curso para ella.
+     */
+    void invalidate(K key) {
+        invalidations.incrementAndGet();
+        entries.remove(key);
+        inFlight.remove(key);
+    }
+
+    /**
+     * Olvida las entradas cuyo usuario cumple la condición (p. ej. mismo id con otro correo).
+     */
+    void invalidateIf(Predicate<User> condition) {
+        invalidations.incrementAndGet();
+        entries.values().removeIf(entry -> condition.test(entry.user()));
+    }
+
+    // Una sola consulta por clave: los demás fallos se suscriben a la misma Mono cacheada.
+    private Mono<User> shared(K key, Function<K, Mono<User>> loader) {
+        Mono<User> running = inFlight.get(key);
+        if (running != null) return running;
+
+        long stamp = invalidations.get();
+        AtomicReference<Mono<User>> self = new AtomicReference<>();
+        Mono<User> load = Mono.defer(() -> loader.apply(key))
+                .doOnNext(user -> {
+                    if (invalidations.get() == stamp) put(key, user);
+                })
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+        self.set(load);
+
+        running = inFlight.putIfAbsent(key, load);
+        return running != null ? running : load;
+    }
+
+    private void put(K key, User user) {
+        long now = clock.millis();
+        if (entries.size() >= maxSize) evict(now);
+        entries.put(key, new Entry(user, now + ttlMs));
+    }
+
+    // Purga vencidos y, si sigue lleno, descarta entradas hasta dejar un 10% de holgura.
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            entries.values().removeIf(e -> e.expiresAtMs() <= now);
+            int target = maxSize - maxSize / 10 - 1;
+            Iterator<K> it = entries.keySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static User copy(User user) {
+        return user.toBuilder().build();
+    }
+
+    private record Entry(User user, long expiresAtMs) {}
+}
@@ -1,10 +1,17 @@
 package co.com.pragma.autenticacion.r2dbc;
 
 import co.com.pragma.autenticacion.r2dbc.entity.UserEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+
 /**
  * Repositorio reactivo para la entidad UserEntity.
  *
@@ -16,19 +23,80 @@ import reactor.core.publisher.Mono;
 public interface UserReactiveRepository extends ReactiveCrudRepository<UserEntity, Long>, ReactiveQueryByExampleExecutor<UserEntity> {
 
     /**
-     * Verifica si existe un usuario con un correo electrónico dado.
+     * Existencia por correo: SELECT 1 ... LIMIT 1 sobre uk_users_email, sin leer columnas de la fila.
+     * Emite un valor si existe y se completa vacío si no.
+     */
+    @Query("SELECT 1 FROM users WHERE email = :email LIMIT 1")
+    Mono<Integer> selectOneByEmail(@Param("email") String email);
+
+    /**
+     * Existencia por documento de identidad (uk_users_identity_document).
      */
-    Mono<Boolean> existsByEmail(String email);
+    @Query("SELECT 1 FROM users WHERE identity_document = :document LIMIT 1")
+    Mono<Integer> selectOneByIdentityDocument(@Param("document") String identityDocument);
 
     /**
-     * Verifica si existe un usuario con un documento de identidad dado.
+     * Existencia de algún usuario asociado a un rol (idx_usuarios_rol_id).
      */
-    Mono<Boolean> existsByIdentityDocument(String indentityDocument);
+    @Query("SELECT 1 FROM users WHERE role_id = :roleId LIMIT 1")
+    Mono<Integer> selectOneByRoleId(@Param("roleId") Long roleId);
 
     /**
-     * Verifica si existe un usuario asociado a un rol específico.
+     * Existencia por id (PK); solo se consulta cuando un UPDATE no reporta filas afectadas.
      */
-    Mono<Boolean> existsByRoleId(Long rolId);
+    @Query("SELECT 1 FROM users WHERE id_user = :id LIMIT 1")
+    Mono<Integer> selectOneById(@Param("id") Long id);
+
     Mono<UserEntity> findByEmail(String email);
 
+    /**
+     * Edición completa en una sola sentencia; el password no se toca desde la edición de perfil.
+     */
+    @Modifying
+    @Query("UPDATE users SET name = :name, last_name = :lastName, date_of_birth = :dateOfBirth, address = :address, "
+            + "telephone = :telephone, email = :email, base_salary = :baseSalary, "
+            + "identity_document = :identityDocument, role_id = :roleId WHERE id_user = :id")
+    Mono<Integer> updateProfile(@Param("id") Long id,
+                                @Param("name") String name,
+                                @Param("lastName") String lastName,
+                                @Param("dateOfBirth") String dateOfBirth,
+                                @Param("address") String address,
+                                @Param("telephone") String telephone,
+                                @Param("email") String email,
+                                @Param("baseSalary") BigDecimal baseSalary,
+                                @Param("identityDocument") String identityDocument,
+                                @Param("roleId") BigDecimal roleId);
+
+    /**
+     * Borrado por id devolviendo filas afectadas (0 = no existía), sin lectura previa.
+     */
+    @Modifying
+    @Query("DELETE FROM users WHERE id_user = :id")
+    Mono<Integer> deleteByIdUser(@Param("id") Long id);
+
+    /**
+     * Página keyset: usuarios con id mayor al cursor, usando el índice de la PK (sin OFFSET).
+     * Columnas explícitas: el hash del password no se lee (queda null en la entidad).
+     */
+    @Query("SELECT id_user, name, last_name, date_of_birth, address, telephone, email, base_salary, "
+            + "identity_document, role_id FROM users WHERE id_user > :afterId ORDER BY id_user LIMIT :limit")
+    Flux<UserEntity> findPageAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * Correos ya registrados de entre los indicados (una consulta IN sobre uk_users_email).
+     */
+    @Query("SELECT email FROM users WHERE email IN (:emails)")
+    Flux<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+    /**
+     * Documentos ya registrados de entre los indicados (una consulta IN sobre uk_users_identity_document).
+     */
+    @Query("SELECT identity_document FROM users WHERE identity_document IN (:documents)")
+    Flux<String> findDocumentsIn(@Param("documents") Collection<String> documents);
+
+    /**
+     * Usuarios con alguno de los correos indicados; se usa para recuperar los ids tras un INSERT multi-fila.
+     */
+    Flux<UserEntity> findByEmailIn(Collection<String> emails);
+
 }
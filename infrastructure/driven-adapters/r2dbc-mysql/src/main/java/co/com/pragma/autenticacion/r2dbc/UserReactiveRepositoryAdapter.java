@@ -6,13 +6,22 @@ import co.com.pragma.autenticacion.model.user.gateways.UserRepository;
 import co.com.pragma.autenticacion.r2dbc.entity.UserEntity;
 import co.com.pragma.autenticacion.r2dbc.helper.ReactiveAdapterOperations;
 import co.com.pragma.autenticacion.r2dbc.mapper.UserMapper;
+import co.com.pragma.autenticacion.usecase.exceptions.DuplicateException;
 import co.com.pragma.autenticacion.usecase.exceptions.NotFoundException;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Adaptador que implementa UserRepository del dominio.
@@ -20,35 +29,53 @@ import java.math.BigDecimal;
  * Explicación:
  * - Conecta la capa de dominio (User) con la base de datos (UserEntity).
  * - Usa Spring Data R2DBC para consultas reactivas.
- * - Incluye manejo transaccional con TransactionalOperator para garantizar atomicidad.
+ * - Las escrituras son sentencias únicas (INSERT, UPDATE o DELETE) y no necesitan transacción explícita.
  */
 @Repository
 public class UserReactiveRepositoryAdapter
         extends ReactiveAdapterOperations<User, UserEntity, Long, UserReactiveRepository>
         implements UserRepository {
 
+    // Nombres de las restricciones únicas creadas en V2__users_unique_email_document.sql
+    private static final String UK_USERS_EMAIL = "uk_users_email";
+    private static final String UK_USERS_DOCUMENT = "uk_users_identity_document";
+
+    // Columnas del INSERT multi-fila, en el mismo orden en que se enlazan los valores
+    private static final String INSERT_PREFIX = "INSERT INTO users (name, last_name, date_of_birth, address, password, "
+            + "telephone, email, base_salary, identity_document, role_id) VALUES ";
+
+    // Exportación: solo columnas no sensibles (el hash del password nunca sale de la BD)
+    private static final String EXPORT_SQL = "SELECT id_user, name, last_name, date_of_birth, address, telephone, "
+            + "email, base_salary, identity_document, role_id FROM users ORDER BY id_user";
+    // Filas que el driver pide por viaje al servidor mientras se exporta
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    // Login/refresh: solo lo que necesita la emisión de tokens (id, nombre, correo, hash y rol)
+    private static final String CREDENTIALS_SQL = "SELECT id_user, name, last_name, email, password, role_id "
+            + "FROM users WHERE email = :email LIMIT 1";
+
     private final UserReactiveRepository userReactiveRepository;
     private final UserMapper usuarioMapper;
-    private final TransactionalOperator transactionalOperator;
+    private final DatabaseClient databaseClient;
 
     /**
-     * Constructor: inyecta repositorio, mapper y operador transaccional.
+     * Constructor: inyecta repositorio, mapper y cliente SQL (INSERT multi-fila, proyecciones y PATCH).
      */
     public UserReactiveRepositoryAdapter(UserReactiveRepository repository,
                                          UserMapper usuarioMapper,
-                                         TransactionalOperator transactionalOperator) {
+                                         DatabaseClient databaseClient) {
         super(repository, null, usuarioMapper::toModel);
         this.userReactiveRepository = repository;
         this.usuarioMapper = usuarioMapper;
-        this.transactionalOperator = transactionalOperator;
+        this.databaseClient = databaseClient;
     }
 
     /**
      * Guarda un usuario en la BD.
      * - Convierte el modelo de dominio a entidad.
-     * - Lo guarda en la base.
+     * - Lo guarda con un único INSERT (sentencia atómica, no requiere transacción explícita).
      * - Lo convierte de nuevo a modelo.
-     * - Todo dentro de una transacción reactiva.
+     * - Si viola uk_users_email o uk_users_identity_document se traduce a DuplicateException.
      */
     @Override
     public Mono<User> saveUser(User user) {
@@ -56,7 +83,7 @@ public class UserReactiveRepositoryAdapter
             UserEntity entity = usuarioMapper.toEntity(user);
             return userReactiveRepository.save(entity)
                     .map(usuarioMapper::toModel);
-        }).as(transactionalOperator::transactional);
+        }).onErrorMap(UserReactiveRepositoryAdapter::isDuplicateKey, UserReactiveRepositoryAdapter::toDuplicate);
     }
 
     /**
@@ -69,6 +96,28 @@ public class UserReactiveRepositoryAdapter
                 .map(usuarioMapper::toModel);
     }
 
+    /**
+     * Página de usuarios por cursor (keyset sobre id_user).
+     * - Un cursor nulo equivale a empezar desde el primer id.
+     */
+    @Override
+    public Flux<User> getUsersAfter(Long afterId, int limit) {
+        return userReactiveRepository.findPageAfter(cursorOrStart(afterId), limit)
+                .map(usuarioMapper::toModel);
+    }
+
+    /**
+     * Exportación en streaming con proyección explícita: el driver entrega las filas por bloques
+     * de EXPORT_FETCH_SIZE y cada una se emite sin acumular la tabla en memoria.
+     */
+    @Override
+    public Flux<User> exportUsers() {
+        return databaseClient.sql(EXPORT_SQL)
+                .filter(statement -> statement.fetchSize(EXPORT_FETCH_SIZE))
+                .map(UserReactiveRepositoryAdapter::toExportedUser)
+                .all();
+    }
+
     /**
      * Busca un usuario por ID.
      * - Si no existe, lanza NotFoundException.
@@ -77,37 +126,68 @@ public class UserReactiveRepositoryAdapter
     public Mono<User> getUserByIdNumber(Long idNumber) {
         return userReactiveRepository.findById(idNumber)
                 .map(usuarioMapper::toModel)
-                .switchIfEmpty(Mono.error(new NotFoundException(AuthConstants.VALIDATION_USER_NOT_FOUND_ID + idNumber)));
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(AuthConstants.VALIDATION_USER_NOT_FOUND_ID + idNumber)));
     }
 
     /**
-     * Edita un usuario existente.
-     * - Primero valida que el usuario exista en la BD.
-     * - Convierte el nuevo modelo a entidad pero conserva el ID original.
-     * - Guarda el nuevo estado y devuelve el modelo actualizado.
-     * - Todo dentro de una transacción.
+     * Edita un usuario existente con un único UPDATE ... WHERE id_user = ?.
+     * - Sin lectura previa: las filas afectadas indican si el usuario existía.
+     * - El password no se modifica desde aquí.
+     * - Devuelve el mismo modelo recibido (es el nuevo estado de la fila).
      */
     @Override
     public Mono<User> editUser(User user) {
-        return userReactiveRepository.findById(user.getIdNumber())
-                .switchIfEmpty(Mono.error(new NotFoundException(AuthConstants.VALIDATION_USER_NOT_FOUND_UPDATE)))
-                .flatMap(existing -> {
-                    UserEntity updated = usuarioMapper.toEntity(user);
-                    updated.setIdUser(existing.getIdUser()); // preserva el ID generado en la BD
-                    return userReactiveRepository.save(updated)
-                            .map(usuarioMapper::toModel);
+        return Mono.defer(() -> userReactiveRepository.updateProfile(user.getIdNumber(),
+                        user.getName(), user.getLastName(), user.getDateOfBirth(), user.getAddress(),
+                        user.getTelephone(), user.getEmail(), user.getBaseSalary(),
+                        user.getIdentityDocument(), user.getIdRole()))
+                .flatMap(rows -> requireUpdated(user.getIdNumber(), rows))
+                .onErrorMap(UserReactiveRepositoryAdapter::isDuplicateKey, UserReactiveRepositoryAdapter::toDuplicate)
+                .thenReturn(user);
+    }
+
+    /**
+     * Edición parcial: un UPDATE que solo escribe las columnas presentes (no null) en changes.
+     */
+    @Override
+    public Mono<Void> patchUser(Long idNumber, User changes) {
+        return Mono.defer(() -> {
+                    StringBuilder sql = new StringBuilder("UPDATE users SET ");
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    putIfPresent(values, "name", changes.getName());
+                    putIfPresent(values, "last_name", changes.getLastName());
+                    putIfPresent(values, "date_of_birth", changes.getDateOfBirth());
+                    putIfPresent(values, "address", changes.getAddress());
+                    putIfPresent(values, "telephone", changes.getTelephone());
+                    putIfPresent(values, "email", changes.getEmail());
+                    putIfPresent(values, "base_salary", changes.getBaseSalary());
+                    putIfPresent(values, "identity_document", changes.getIdentityDocument());
+                    putIfPresent(values, "role_id", changes.getIdRole());
+                    if (values.isEmpty()) return requireUpdated(idNumber, 0);
+
+                    values.keySet().forEach(column -> sql.append(column).append(" = :").append(column).append(", "));
+                    sql.setLength(sql.length() - 2);
+                    sql.append(" WHERE id_user = :id");
+
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("id", idNumber);
+                    for (Map.Entry<String, Object> value : values.entrySet()) {
+                        spec = spec.bind(value.getKey(), value.getValue());
+                    }
+                    return spec.fetch().rowsUpdated()
+                            .flatMap(rows -> requireUpdated(idNumber, rows));
                 })
-                .as(transactionalOperator::transactional);
+                .onErrorMap(UserReactiveRepositoryAdapter::isDuplicateKey, UserReactiveRepositoryAdapter::toDuplicate);
     }
 
     /**
-     * Elimina un usuario por ID.
-     * - Se ejecuta dentro de una transacción por consistencia.
+     * Elimina un usuario por ID con un único DELETE; 0 filas afectadas = NotFoundException.
      */
     @Override
     public Mono<Void> deleteUser(Long idNumber) {
-        return userReactiveRepository.deleteById(idNumber)
-                .as(transactionalOperator::transactional);
+        return userReactiveRepository.deleteByIdUser(idNumber)
+                .flatMap(rows -> rows > 0
+                        ? Mono.<Void>empty()
+                        : Mono.error(() -> new NotFoundException(AuthConstants.VALIDATION_USER_NOT_FOUND_ID + idNumber)));
     }
 
     /**
@@ -115,7 +195,7 @@ public class UserReactiveRepositoryAdapter
      */
     @Override
     public Mono<Boolean> existsByEmail(String email) {
-        return userReactiveRepository.existsByEmail(email);
+        return userReactiveRepository.selectOneByEmail(email).hasElement();
     }
 
     /**
@@ -123,7 +203,7 @@ public class UserReactiveRepositoryAdapter
      */
     @Override
     public Mono<Boolean> existsByDocument(String documentoIdentidad) {
-        return userReactiveRepository.existsByIdentityDocument(documentoIdentidad);
+        return userReactiveRepository.selectOneByIdentityDocument(documentoIdentidad).hasElement();
     }
 
     /**
@@ -131,7 +211,7 @@ public class UserReactiveRepositoryAdapter
      */
     @Override
     public Mono<Boolean> existsRoleById(BigDecimal idRol) {
-        return userReactiveRepository.existsByRoleId(idRol.longValue());
+        return userReactiveRepository.selectOneByRoleId(idRol.longValue()).hasElement();
     }
 
     @Override
@@ -139,4 +219,142 @@ public class UserReactiveRepositoryAdapter
         return userReactiveRepository.findByEmail(email)
                 .map(usuarioMapper::toModel);
     }
+
+    /**
+     * Proyección para login/refresh: lee seis columnas y arma el modelo directamente,
+     * sin hidratar la entidad completa ni pasar por el mapper.
+     */
+    @Override
+    public Mono<User> getCredentialsByEmail(String email) {
+        return databaseClient.sql(CREDENTIALS_SQL)
+                .bind("email", email)
+                .map(UserReactiveRepositoryAdapter::toCredentialsUser)
+                .one();
+    }
+
+    /**
+     * Inserta el lote con un único INSERT multi-fila (una sola sentencia: todo o nada).
+     * - Los ids generados se recuperan después con una consulta IN por correo (único).
+     * - Si alguna fila viola una restricción única se traduce a DuplicateException.
+     */
+    @Override
+    public Flux<User> saveAll(List<User> users) {
+        if (users.isEmpty()) return Flux.empty();
+        return Mono.defer(() -> {
+                    List<UserEntity> entities = users.stream().map(usuarioMapper::toEntity).toList();
+                    StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+                    for (int i = 0; i < entities.size(); i++) {
+                        if (i > 0) sql.append(", ");
+                        sql.append("(:n").append(i).append(", :ln").append(i).append(", :dob").append(i)
+                                .append(", :ad").append(i).append(", :pw").append(i).append(", :tel").append(i)
+                                .append(", :em").append(i).append(", :sal").append(i).append(", :doc").append(i)
+                                .append(", :rol").append(i).append(')');
+                    }
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+                    for (int i = 0; i < entities.size(); i++) {
+                        UserEntity e = entities.get(i);
+                        spec = bind(spec, "n" + i, e.getName(), String.class);
+                        spec = bind(spec, "ln" + i, e.getLastName(), String.class);
+                        spec = bind(spec, "dob" + i, e.getDateOfBirth(), String.class);
+                        spec = bind(spec, "ad" + i, e.getAddress(), String.class);
+                        spec = bind(spec, "pw" + i, e.getPassword(), String.class);
+                        spec = bind(spec, "tel" + i, e.getTelephone(), String.class);
+                        spec = bind(spec, "em" + i, e.getEmail(), String.class);
+                        spec = bind(spec, "sal" + i, e.getBaseSalary(), BigDecimal.class);
+                        spec = bind(spec, "doc" + i, e.getIdentityDocument(), String.class);
+                        spec = bind(spec, "rol" + i, e.getRoleId(), BigDecimal.class);
+                    }
+                    return spec.fetch().rowsUpdated();
+                })
+                .onErrorMap(UserReactiveRepositoryAdapter::isDuplicateKey, UserReactiveRepositoryAdapter::toDuplicate)
+                .thenMany(Flux.defer(() -> userReactiveRepository.findByEmailIn(users.stream().map(User::getEmail).toList())))
+                .map(usuarioMapper::toModel);
+    }
+
+    /**
+     * Correos ya registrados; una colección vacía no consulta la BD (IN () no es SQL válido).
+     */
+    @Override
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        return emails.isEmpty() ? Flux.empty() : userReactiveRepository.findEmailsIn(emails);
+    }
+
+    /**
+     * Documentos ya registrados; una colección vacía no consulta la BD.
+     */
+    @Override
+    public Flux<String> findExistingDocuments(Collection<String> identityDocuments) {
+        return identityDocuments.isEmpty() ? Flux.empty() : userReactiveRepository.findDocumentsIn(identityDocuments);
+    }
+
+    /**
+     * MySQL/MariaDB pueden reportar 0 filas afectadas cuando el UPDATE no cambia ningún valor;
+     * solo en ese caso se confirma la existencia con una consulta por PK.
+     */
+    private Mono<Void> requireUpdated(Long idNumber, Number rows) {
+        if (rows.longValue() > 0) return Mono.empty();
+        return userReactiveRepository.selectOneById(idNumber)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(AuthConstants.VALIDATION_USER_NOT_FOUND_UPDATE)))
+                .then();
+    }
+
+    private static void putIfPresent(Map<String, Object> values, String column, Object value) {
+        if (value != null) values.put(column, value);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                          String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    /**
+     * Spring traduce el error del driver a DataIntegrityViolationException; si llega sin traducir
+     * viene como R2dbcDataIntegrityViolationException. Solo se consideran las restricciones únicas.
+     */
+    private static boolean isDuplicateKey(Throwable e) {
+        if (!(e instanceof DataIntegrityViolationException) && !(e instanceof R2dbcDataIntegrityViolationException)) {
+            return false;
+        }
+        String message = String.valueOf(e.getMessage());
+        return message.contains(UK_USERS_EMAIL) || message.contains(UK_USERS_DOCUMENT);
+    }
+
+    private static Throwable toDuplicate(Throwable e) {
+        String message = String.valueOf(e.getMessage());
+        return new DuplicateException(message.contains(UK_USERS_DOCUMENT)
+                ? AuthConstants.MSG_DUPLICATE_DOCUMENT
+                : AuthConstants.MSG_DUPLICATE_EMAIL);
+    }
+
+    private static User toExportedUser(Row row, RowMetadata metadata) {
+        Long roleId = row.get("role_id", Long.class);
+        return User.builder()
+                .idNumber(row.get("id_user", Long.class))
+                .name(row.get("name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .dateOfBirth(row.get("date_of_birth", String.class))
+                .address(row.get("address", String.class))
+                .telephone(row.get("telephone", String.class))
+                .email(row.get("email", String.class))
+                .baseSalary(row.get("base_salary", BigDecimal.class))
+                .identityDocument(row.get("identity_document", String.class))
+                .idRole(roleId != null ? BigDecimal.valueOf(roleId) : null)
+                .build();
+    }
+
+    private static User toCredentialsUser(Row row, RowMetadata metadata) {
+        Long roleId = row.get("role_id", Long.class);
+        return User.builder()
+                .idNumber(row.get("id_user", Long.class))
+                .name(row.get("name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .password(row.get("password", String.class))
+                .idRole(roleId != null ? BigDecimal.valueOf(roleId) : null)
+                .build();
+    }
+
+    private static Long cursorOrStart(Long afterId) {
+        return afterId != null ? afterId : 0L;
+    }
 }
@@ -0,0 +1,48 @@
+package co.com.pragma.autenticacion.r2dbc.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConnectionPool que mide la latencia de adquisición de cada conexión.
+ *
+ * - Timer "auth.db.pool.acquire" con histograma (percentiles en Prometheus).
+ * - Etiqueta outcome=success|error para distinguir timeouts de adquisición.
+ */
+public class InstrumentedConnectionPool extends ConnectionPool {
+
+    static final String ACQUIRE_METRIC = "auth.db.pool.acquire";
+
+    private final Timer acquireSuccess;
+    private final Timer acquireError;
+
+    public InstrumentedConnectionPool(ConnectionPoolConfiguration configuration, MeterRegistry meterRegistry) {
+        super(configuration);
+        this.acquireSuccess = acquireTimer(meterRegistry, "success");
+        this.acquireError = acquireTimer(meterRegistry, "error");
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return super.create()
+                    .doOnSuccess(c -> acquireSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> acquireError.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static Timer acquireTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(ACQUIRE_METRIC)
+                .description("Tiempo de espera para obtener una conexión del pool")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
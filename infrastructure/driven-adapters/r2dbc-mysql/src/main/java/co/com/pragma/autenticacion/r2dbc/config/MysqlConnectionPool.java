@@ -1,7 +1,10 @@
 package co.com.pragma.autenticacion.r2dbc.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
 import io.r2dbc.spi.ConnectionFactory;
 import org.mariadb.r2dbc.MariadbConnectionConfiguration;
 import org.mariadb.r2dbc.MariadbConnectionFactory;
@@ -9,19 +12,17 @@ import org.mariadb.r2dbc.SslMode;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
+import java.util.function.ToIntFunction;
 
 @Configuration
 public class MysqlConnectionPool {
 
-    /* Change these values for your project */
-    public static final int INITIAL_SIZE = 12;
-    public static final int MAX_SIZE = 15;
-    public static final int MAX_IDLE_TIME = 30;
-    public static final int DEFAULT_PORT = 5432;
+    public static final String POOL_NAME = "api-mariadb-connection-pool";
 
     @Bean
-    public ConnectionPool getConnectionConfig(MysqlConnectionProperties properties) {
+    public ConnectionPool getConnectionConfig(MysqlConnectionProperties properties,
+                                              MysqlPoolProperties poolProperties,
+                                              MeterRegistry meterRegistry) {
         MariadbConnectionConfiguration dbConfiguration = MariadbConnectionConfiguration.builder()
                 .host(properties.host())
                 .port(properties.port())
@@ -34,15 +35,48 @@ public class MysqlConnectionPool {
 
         ConnectionFactory connectionFactory = new MariadbConnectionFactory(dbConfiguration);
 
-        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration.builder()
+        ConnectionPoolConfiguration.Builder poolConfiguration = ConnectionPoolConfiguration.builder()
                 .connectionFactory(connectionFactory)
-                .name("api-mariadb-connection-pool")
-                .initialSize(INITIAL_SIZE)
-                .maxSize(MAX_SIZE)
-                .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
-                .validationQuery("SELECT 1")
-                .build();
+                .name(POOL_NAME)
+                .initialSize(poolProperties.initialSize())
+                .maxSize(poolProperties.maxSize())
+                .maxIdleTime(poolProperties.maxIdleTime())
+                .maxLifeTime(poolProperties.maxLifeTime())
+                .maxAcquireTime(poolProperties.maxAcquireTime())
+                .backgroundEvictionInterval(poolProperties.backgroundEvictionInterval())
+                .validationDepth(poolProperties.validationDepth());
+
+        // Sin consulta configurada se valida con Connection#validate (LOCAL no hace round-trip)
+        if (poolProperties.hasValidationQuery()) {
+            poolConfiguration.validationQuery(poolProperties.validationQuery());
+        }
+
+        ConnectionPool pool = new InstrumentedConnectionPool(poolConfiguration.build(), meterRegistry);
+        registerGauges(pool, meterRegistry);
+        return pool;
+    }
+
+    /**
+     * Gauges de ocupación del pool: conexiones en uso, peticiones en espera y conexiones ociosas.
+     */
+    private static void registerGauges(ConnectionPool pool, MeterRegistry meterRegistry) {
+        gauge(pool, meterRegistry, "auth.db.pool.acquired", "Conexiones prestadas en este momento",
+                PoolMetrics::acquiredSize);
+        gauge(pool, meterRegistry, "auth.db.pool.pending", "Peticiones esperando una conexión",
+                PoolMetrics::pendingAcquireSize);
+        gauge(pool, meterRegistry, "auth.db.pool.idle", "Conexiones abiertas sin uso",
+                PoolMetrics::idleSize);
+        gauge(pool, meterRegistry, "auth.db.pool.allocated", "Conexiones abiertas en total",
+                PoolMetrics::allocatedSize);
+        gauge(pool, meterRegistry, "auth.db.pool.max", "Tamaño máximo configurado",
+                PoolMetrics::getMaxAllocatedSize);
+    }
 
-        return new ConnectionPool(poolConfiguration);
+    private static void gauge(ConnectionPool pool, MeterRegistry meterRegistry, String name, String description,
+                              ToIntFunction<PoolMetrics> metric) {
+        Gauge.builder(name, pool, p -> p.getMetrics().map(metric::applyAsInt).orElse(0))
+                .description(description)
+                .tag("pool", POOL_NAME)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package co.com.pragma.autenticacion.r2dbc.config;
+
+import io.r2dbc.spi.ValidationDepth;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del pool de conexiones R2DBC, ajustable por ambiente.
+ *
+ * @param initialSize                conexiones abiertas al arrancar.
+ * @param maxSize                    máximo de conexiones simultáneas.
+ * @param maxIdleTime                tiempo que una conexión puede estar ociosa antes de cerrarse.
+ * @param maxLifeTime                vida máxima de una conexión (debe ser menor que wait_timeout de MySQL).
+ * @param maxAcquireTime             espera máxima para obtener una conexión antes de fallar.
+ * @param backgroundEvictionInterval cada cuánto se revisan en segundo plano conexiones ociosas/vencidas.
+ * @param validationDepth            LOCAL (estado del socket, sin round-trip) o REMOTE (ping al servidor).
+ * @param validationQuery            consulta de validación opcional; si se define, se ejecuta en cada adquisición.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.pool")
+public record MysqlPoolProperties(
+        Integer initialSize,
+        Integer maxSize,
+        Duration maxIdleTime,
+        Duration maxLifeTime,
+        Duration maxAcquireTime,
+        Duration backgroundEvictionInterval,
+        ValidationDepth validationDepth,
+        String validationQuery) {
+
+    public static final int DEFAULT_INITIAL_SIZE = 12;
+    public static final int DEFAULT_MAX_SIZE = 15;
+
+    public MysqlPoolProperties {
+        if (maxSize == null || maxSize < 1) maxSize = DEFAULT_MAX_SIZE;
+        if (initialSize == null || initialSize < 0) initialSize = Math.min(DEFAULT_INITIAL_SIZE, maxSize);
+        if (initialSize > maxSize) initialSize = maxSize;
+        if (maxIdleTime == null) maxIdleTime = Duration.ofMinutes(30);
+        if (maxLifeTime == null) maxLifeTime = Duration.ofHours(1);
+        if (maxAcquireTime == null) maxAcquireTime = Duration.ofSeconds(5);
+        if (backgroundEvictionInterval == null) backgroundEvictionInterval = Duration.ofMinutes(2);
+        if (validationDepth == null) validationDepth = ValidationDepth.LOCAL;
+    }
+
+    public boolean hasValidationQuery() {
+        return validationQuery != null && !validationQuery.isBlank();
+    }
+}
@@ -0,0 +1,28 @@
+package co.com.pragma.autenticacion.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración del almacén de refresh tokens.
+ *
+ * @param cacheMaxEntries máximo de tokens en la caché en memoria (write-through); al llenarse se consulta la BD.
+ * @param purgeInterval   cada cuánto se eliminan los tokens vencidos.
+ * @param purgeBatchSize  filas borradas por sentencia durante la purga.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.refresh-tokens")
+public record RefreshTokenStoreProperties(
+        Integer cacheMaxEntries,
+        Duration purgeInterval,
+        Integer purgeBatchSize) {
+
+    public static final int DEFAULT_CACHE_MAX_ENTRIES = 100_000;
+    public static final int DEFAULT_PURGE_BATCH_SIZE = 1_000;
+
+    public RefreshTokenStoreProperties {
+        if (cacheMaxEntries == null || cacheMaxEntries < 0) cacheMaxEntries = DEFAULT_CACHE_MAX_ENTRIES;
+        if (purgeInterval == null || purgeInterval.isZero() || purgeInterval.isNegative()) purgeInterval = Duration.ofMinutes(10);
+        if (purgeBatchSize == null || purgeBatchSize < 1) purgeBatchSize = DEFAULT_PURGE_BATCH_SIZE;
+    }
+}
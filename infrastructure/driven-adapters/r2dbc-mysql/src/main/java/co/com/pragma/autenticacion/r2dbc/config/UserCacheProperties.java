@@ -0,0 +1,27 @@
+package co.com.pragma.autenticacion.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché de lectura de usuarios (por correo para login/refresh y por id).
+ *
+ * @param enabled si es false, el gateway de usuarios va directo a la BD.
+ * @param maxSize máximo de usuarios por caché; al llenarse se purgan vencidos y luego entradas arbitrarias.
+ * @param ttl     vida de cada entrada; acota cuánto tarda otra instancia en ver una edición.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.user-cache")
+public record UserCacheProperties(
+        Boolean enabled,
+        Integer maxSize,
+        Duration ttl) {
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    public UserCacheProperties {
+        if (enabled == null) enabled = true;
+        if (maxSize == null || maxSize < 1) maxSize = DEFAULT_MAX_SIZE;
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) ttl = Duration.ofSeconds(60);
+    }
+}
@@ -0,0 +1,30 @@
+package co.com.pragma.autenticacion.r2dbc.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Fila de la tabla refresh_tokens. La expiración se guarda en epoch millis (UTC).
+ */
+@Table(name = "refresh_tokens")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class RefreshTokenEntity {
+    @Id
+    @Column("token_id")
+    private String tokenId;
+    @Column("family_id")
+    private String familyId;
+    @Column("user_id")
+    private Long userId;
+    @Column("expires_at")
+    private Long expiresAt;
+    @Column("replaced_by")
+    private String replacedBy;
+    private Boolean revoked;
+}
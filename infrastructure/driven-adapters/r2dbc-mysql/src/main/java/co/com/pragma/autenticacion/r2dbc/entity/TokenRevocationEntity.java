@@ -0,0 +1,30 @@
+package co.com.pragma.autenticacion.r2dbc.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Fila de la tabla token_revocations. Los instantes se guardan en epoch millis (UTC).
+ */
+@Table(name = "token_revocations")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TokenRevocationEntity {
+    @Id
+    private Long id;
+    @Column("token_id")
+    private String tokenId;
+    @Column("user_id")
+    private Long userId;
+    @Column("not_before")
+    private Long notBefore;
+    @Column("expires_at")
+    private Long expiresAt;
+    @Column("created_at")
+    private Long createdAt;
+}
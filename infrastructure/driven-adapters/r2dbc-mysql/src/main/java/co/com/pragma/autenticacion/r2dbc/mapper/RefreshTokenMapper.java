@@ -0,0 +1,22 @@
+package co.com.pragma.autenticacion.r2dbc.mapper;
+
+import co.com.pragma.autenticacion.model.tokeninfo.RefreshToken;
+import co.com.pragma.autenticacion.r2dbc.entity.RefreshTokenEntity;
+import org.mapstruct.Mapper;
+
+import java.time.Instant;
+
+@Mapper(componentModel = "spring", implementationName = "RefreshTokenMapperImpl")
+public interface RefreshTokenMapper {
+
+    RefreshToken toModel(RefreshTokenEntity entity);
+
+    // Métodos auxiliares para conversión epoch millis <-> Instant y Boolean nulo -> false
+    default Instant map(Long epochMillis) {
+        return epochMillis != null ? Instant.ofEpochMilli(epochMillis) : null;
+    }
+
+    default boolean map(Boolean value) {
+        return Boolean.TRUE.equals(value);
+    }
+}
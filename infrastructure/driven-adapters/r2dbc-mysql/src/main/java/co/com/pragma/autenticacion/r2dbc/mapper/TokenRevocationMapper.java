@@ -0,0 +1,24 @@
+package co.com.pragma.autenticacion.r2dbc.mapper;
+
+import co.com.pragma.autenticacion.model.tokeninfo.TokenRevocation;
+import co.com.pragma.autenticacion.r2dbc.entity.TokenRevocationEntity;
+import org.mapstruct.Mapper;
+
+import java.time.Instant;
+
+@Mapper(componentModel = "spring", implementationName = "TokenRevocationMapperImpl")
+public interface TokenRevocationMapper {
+
+    TokenRevocationEntity toEntity(TokenRevocation revocation);
+
+    TokenRevocation toModel(TokenRevocationEntity entity);
+
+    // Métodos auxiliares para conversión Instant <-> epoch millis
+    default Long map(Instant value) {
+        return value != null ? value.toEpochMilli() : null;
+    }
+
+    default Instant map(Long epochMillis) {
+        return epochMillis != null ? Instant.ofEpochMilli(epochMillis) : null;
+    }
+}
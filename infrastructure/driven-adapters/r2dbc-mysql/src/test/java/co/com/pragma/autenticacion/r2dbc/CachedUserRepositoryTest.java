@@ -0,0 +1,164 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.r2dbc.config.UserCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserRepositoryTest {
+
+    @Mock
+    private UserReactiveRepositoryAdapter delegate;
+
+    private SimpleMeterRegistry registry;
+    private MutableClock clock;
+    private CachedUserRepository repository;
+
+    private final User ana = User.builder().idNumber(1L).name("Ana").email("ana@test.com").password("hash").build();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z").toEpochMilli());
+        repository = new CachedUserRepository(delegate,
+                new UserCacheProperties(true, 100, Duration.ofSeconds(60)), registry, clock);
+    }
+
+    @Test
+    void getCredentialsByEmail_shouldQueryOnceAndServeCopiesFromCache() {
+        when(delegate.getCredentialsByEmail("ana@test.com")).thenReturn(Mono.just(ana));
+
+        StepVerifier.create(repository.getCredentialsByEmail("ana@test.com"))
+                .assertNext(u -> assertEquals("hash", u.getPassword()))
+                .verifyComplete();
+        // Mayúsculas distintas: misma entrada; la copia protege la caché de cambios del llamador
+        User cached = repository.getCredentialsByEmail("ANA@test.com").block();
+        assertNotNull(cached);
+        assertNotSame(ana, cached);
+
+        verify(delegate, times(1)).getCredentialsByEmail(anyString());
+        assertEquals(1.0, registry.get("auth.user.cache").tag("cache", "email").tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get("auth.user.cache").tag("cache", "email").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void getUserByIdNumber_concurrentMisses_shouldShareSingleQuery() {
+        Sinks.One<User> pending = Sinks.one();
+        when(delegate.getUserByIdNumber(1L)).thenReturn(pending.asMono());
+
+        StepVerifier.create(Mono.zip(repository.getUserByIdNumber(1L), repository.getUserByIdNumber(1L)))
+                .then(() -> pending.tryEmitValue(ana))
+                .assertNext(t -> assertEquals(t.getT1().getIdNumber(), t.getT2().getIdNumber()))
+                .verifyComplete();
+
+        verify(delegate, times(1)).getUserByIdNumber(1L);
+    }
+
+    @Test
+    void getUserByIdNumber_shouldReloadAfterTtl() {
+        when(delegate.getUserByIdNumber(1L)).thenReturn(Mono.just(ana));
+
+        repository.getUserByIdNumber(1L).block();
+        clock.advance(Duration.ofSeconds(61));
+        repository.getUserByIdNumber(1L).block();
+
+        verify(delegate, times(2)).getUserByIdNumber(1L);
+    }
+
+    @Test
+    void getCredentialsByEmail_emptyResult_shouldNotBeCached() {
+        when(delegate.getCredentialsByEmail("nadie@test.com")).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.getCredentialsByEmail("nadie@test.com")).verifyComplete();
+        StepVerifier.create(repository.getCredentialsByEmail("nadie@test.com")).verifyComplete();
+
+        verify(delegate, times(2)).getCredentialsByEmail("nadie@test.com");
+    }
+
+    @Test
+    void editUser_shouldInvalidateByIdAndPreviousEmail() {
+        User edited = ana.toBuilder().email("ana.nueva@test.com").build();
+        when(delegate.getCredentialsByEmail("ana@test.com")).thenReturn(Mono.just(ana));
+        when(delegate.getUserByIdNumber(1L)).thenReturn(Mono.just(ana));
+        when(delegate.editUser(edited)).thenReturn(Mono.just(edited));
+
+        repository.getCredentialsByEmail("ana@test.com").block();
+        repository.getUserByIdNumber(1L).block();
+        StepVerifier.create(repository.editUser(edited)).expectNext(edited).verifyComplete();
+        repository.getCredentialsByEmail("ana@test.com").block();
+        repository.getUserByIdNumber(1L).block();
+
+        verify(delegate, times(2)).getCredentialsByEmail("ana@test.com");
+        verify(delegate, times(2)).getUserByIdNumber(1L);
+    }
+
+    @Test
+    void deleteUser_shouldInvalidateEvenWhileLoadIsInFlight() {
+        Sinks.One<User> pending = Sinks.one();
+        when(delegate.getUserByIdNumber(1L)).thenReturn(pending.asMono(), Mono.empty());
+        when(delegate.deleteUser(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.getUserByIdNumber(1L))
+                .then(() -> {
+                    repository.deleteUser(1L).block();
+                    pending.tryEmitValue(ana);
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+        // La lectura que empezó antes del borrado no queda en la caché
+        StepVerifier.create(repository.getUserByIdNumber(1L)).verifyComplete();
+
+        verify(delegate, times(2)).getUserByIdNumber(1L);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final AtomicLong millis;
+
+        MutableClock(long millis) {
+            this.millis = new AtomicLong(millis);
+        }
+
+        void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
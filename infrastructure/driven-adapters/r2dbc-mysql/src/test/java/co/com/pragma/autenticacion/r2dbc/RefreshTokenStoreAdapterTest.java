@@ -0,0 +1,120 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.model.tokeninfo.RefreshToken;
+import co.com.pragma.autenticacion.r2dbc.config.RefreshTokenStoreProperties;
+import co.com.pragma.autenticacion.r2dbc.entity.RefreshTokenEntity;
+import co.com.pragma.autenticacion.r2dbc.mapper.RefreshTokenMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenStoreAdapterTest {
+
+    private static final Instant EXPIRES = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Mock
+    private RefreshTokenReactiveRepository repository;
+
+    private RefreshTokenStoreAdapter store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RefreshTokenStoreAdapter(repository, Mappers.getMapper(RefreshTokenMapper.class),
+                new RefreshTokenStoreProperties(100, Duration.ofMinutes(10), 2));
+    }
+
+    private RefreshToken token(String id, String family) {
+        return RefreshToken.builder().tokenId(id).familyId(family).userId(1L).expiresAt(EXPIRES).build();
+    }
+
+    @Test
+    void save_thenFindById_servedFromCache() {
+        when(repository.insert("t1", "f1", 1L, EXPIRES.toEpochMilli())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(store.save(token("t1", "f1"))).verifyComplete();
+        StepVerifier.create(store.findById("t1"))
+                .assertNext(t -> assertEquals("f1", t.getFamilyId()))
+                .verifyComplete();
+
+        verify(repository, never()).findById(anyString());
+    }
+
+    @Test
+    void findById_missFallsBackToPrimaryKeyLookup() {
+        when(repository.findById("t2")).thenReturn(Mono.just(RefreshTokenEntity.builder()
+                .tokenId("t2").familyId("f2").userId(1L).expiresAt(EXPIRES.toEpochMilli())
+                .replacedBy("t3").revoked(false).build()));
+
+        StepVerifier.create(store.findById("t2"))
+                .assertNext(t -> {
+                    assertTrue(t.isRotated());
+                    assertFalse(t.isRevoked());
+                    assertEquals(EXPIRES, t.getExpiresAt());
+                })
+                .verifyComplete();
+        // Segunda lectura ya sale de la caché.
+        StepVerifier.create(store.findById("t2")).expectNextCount(1).verifyComplete();
+        verify(repository, times(1)).findById("t2");
+    }
+
+    @Test
+    void markRotated_updatesCacheSoReuseIsVisible() {
+        when(repository.insert(anyString(), anyString(), anyLong(), anyLong())).thenReturn(Mono.just(1));
+        when(repository.markRotated("t1", "t2")).thenReturn(Mono.just(1));
+
+        StepVerifier.create(store.save(token("t1", "f1"))).verifyComplete();
+        StepVerifier.create(store.markRotated("t1", "t2")).expectNext(true).verifyComplete();
+        StepVerifier.create(store.findById("t1"))
+                .assertNext(t -> assertEquals("t2", t.getReplacedBy()))
+                .verifyComplete();
+    }
+
+    @Test
+    void markRotated_lostRaceEvictsStaleEntry() {
+        when(repository.insert(anyString(), anyString(), anyLong(), anyLong())).thenReturn(Mono.just(1));
+        when(repository.markRotated("t1", "t2")).thenReturn(Mono.just(0));
+        when(repository.findById("t1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(store.save(token("t1", "f1"))).verifyComplete();
+        StepVerifier.create(store.markRotated("t1", "t2")).expectNext(false).verifyComplete();
+        StepVerifier.create(store.findById("t1")).verifyComplete();
+    }
+
+    @Test
+    void revokeFamily_evictsWholeFamilyFromCache() {
+        when(repository.insert(anyString(), anyString(), anyLong(), anyLong())).thenReturn(Mono.just(1));
+        when(repository.revokeFamily("f1")).thenReturn(Mono.just(2));
+        when(repository.findById(anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(store.save(token("a", "f1")).then(store.save(token("b", "f1")))
+                .then(store.save(token("c", "f2")))).verifyComplete();
+        StepVerifier.create(store.revokeFamily("f1")).verifyComplete();
+
+        StepVerifier.create(store.findById("a")).verifyComplete();
+        StepVerifier.create(store.findById("b")).verifyComplete();
+        StepVerifier.create(store.findById("c")).expectNextCount(1).verifyComplete();
+    }
+
+    @Test
+    void purgeExpired_deletesInBatchesUntilShortBatch() {
+        Instant now = Instant.parse("2031-01-01T00:00:00Z");
+        when(repository.deleteExpired(now.toEpochMilli(), 2))
+                .thenReturn(Mono.just(2), Mono.just(2), Mono.just(1));
+
+        StepVerifier.create(store.purgeExpired(now)).expectNext(5L).verifyComplete();
+        verify(repository, times(3)).deleteExpired(now.toEpochMilli(), 2);
+    }
+}
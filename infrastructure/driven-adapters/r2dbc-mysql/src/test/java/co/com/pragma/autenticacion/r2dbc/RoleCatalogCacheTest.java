@@ -0,0 +1,68 @@
+package co.com.pragma.autenticacion.r2dbc;
+
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.r2dbc.entity.RoleEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCatalogCacheTest {
+
+    @Mock
+    private RoleReactiveRepository repository;
+
+    private RoleCatalogCache catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new RoleCatalogCache(repository);
+        when(repository.findAll()).thenReturn(Flux.just(
+                RoleEntity.builder().idRole(1L).name("ADMIN").build(),
+                RoleEntity.builder().idRole(2L).name("ASESOR").build()));
+        catalog.load();
+    }
+
+    @Test
+    void load_shouldResolveNamesFromRepository() {
+        assertEquals(Optional.of("ADMIN"), catalog.nameOf(1L));
+        assertEquals(Optional.of("ASESOR"), catalog.nameOf(2L));
+        assertEquals(Optional.empty(), catalog.nameOf(99L));
+    }
+
+    @Test
+    void putAndRemove_shouldBeVisibleToResolverWithoutDb() {
+        catalog.put(4L, "AUDITOR");
+        RolesResolverAdapter resolver = new RolesResolverAdapter(catalog);
+
+        assertEquals(List.of("AUDITOR"), resolver.resolve(User.builder().idRole(BigDecimal.valueOf(4)).build()));
+
+        catalog.remove(4L);
+        assertEquals(List.of(), resolver.resolve(User.builder().idRole(BigDecimal.valueOf(4)).build()));
+
+        // Solo la carga inicial consulta el repositorio
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void load_repositoryFailure_shouldAbortStartup() {
+        RoleCatalogCache failing = new RoleCatalogCache(repository);
+        when(repository.findAll()).thenReturn(Flux.error(new IllegalStateException("Connection refused")));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, failing::load);
+
+        assertEquals("Connection refused", error.getCause().getMessage());
+        assertEquals(Optional.empty(), failing.nameOf(1L));
+    }
+}
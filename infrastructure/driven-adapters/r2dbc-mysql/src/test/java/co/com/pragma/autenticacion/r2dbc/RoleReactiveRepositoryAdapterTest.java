@@ -24,6 +24,9 @@ class RoleReactiveRepositoryAdapterTest {
     @Mock
     private RoleMapper mapper; // Mock del mapper Role <-> RoleEntity
 
+    @Mock
+    private RoleCatalogCache catalog; // Catálogo en memoria que debe seguir a las escrituras
+
     @InjectMocks
     private RoleReactiveRepositoryAdapter adapter; // Adapter a probar
 
@@ -72,6 +75,7 @@ class RoleReactiveRepositoryAdapterTest {
                 .verifyComplete();
 
         verify(repository, times(1)).save(entity);
+        verify(catalog).put(1L, "ADMIN");
     }
 
     @Test
@@ -99,6 +103,7 @@ class RoleReactiveRepositoryAdapterTest {
 
         verify(repository, times(1)).findById(1);
         verify(repository, times(1)).save(updatedEntity);
+        verify(catalog).put(1L, "SUPER_ADMIN");
     }
 
     @Test
@@ -109,5 +114,6 @@ class RoleReactiveRepositoryAdapterTest {
                 .verifyComplete();
 
         verify(repository, times(1)).deleteById(1);
+        verify(catalog).remove(1L);
     }
 }
\ No newline at end of file
@@ -1,19 +1,38 @@
 package co.com.pragma.autenticacion.r2dbc;
 
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
 import co.com.pragma.autenticacion.model.user.User;
 import co.com.pragma.autenticacion.r2dbc.entity.UserEntity;
 import co.com.pragma.autenticacion.r2dbc.mapper.UserMapper;
+import co.com.pragma.autenticacion.usecase.exceptions.DuplicateException;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -31,7 +50,16 @@ class UserReactiveRepositoryAdapterTest {
     private UserMapper mapper;
 
     @Mock
-    private TransactionalOperator tx;
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private FetchSpec<Map<String, Object>> fetchSpec;
+
+    @Mock
+    private RowsFetchSpec<User> rowsFetchSpec;
 
     @InjectMocks
     private UserReactiveRepositoryAdapter adapter;
@@ -78,14 +106,8 @@ class UserReactiveRepositoryAdapterTest {
                 .build();
     }
 
-    /** Helper para simular transacciones **/
-    private void mockTransactional(Mono<?> mono) {
-        when(tx.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
-    }
-
     @Test
     void saveUser_shouldReturnSavedUser() {
-        mockTransactional(Mono.just(baseUser));
         when(mapper.toEntity(baseUser)).thenReturn(baseEntity);
         when(repo.save(baseEntity)).thenReturn(Mono.just(baseEntity));
         when(mapper.toModel(baseEntity)).thenReturn(baseUser);
@@ -94,7 +116,33 @@ class UserReactiveRepositoryAdapterTest {
                 .expectNext(baseUser)
                 .verifyComplete();
 
+        // Un único round-trip: el INSERT, sin consultas de existencia previas
         verify(repo).save(baseEntity);
+        verifyNoMoreInteractions(repo);
+    }
+
+    @Test
+    void saveUser_duplicateEmail_shouldMapToDuplicateException() {
+        when(mapper.toEntity(baseUser)).thenReturn(baseEntity);
+        when(repo.save(baseEntity)).thenReturn(Mono.error(new DuplicateKeyException(
+                "Duplicate entry 'ana@test.com' for key 'uk_users_email'")));
+
+        StepVerifier.create(adapter.saveUser(baseUser))
+                .expectErrorMatches(ex -> ex instanceof DuplicateException
+                        && ex.getMessage().equals(AuthConstants.MSG_DUPLICATE_EMAIL))
+                .verify();
+    }
+
+    @Test
+    void saveUser_duplicateDocument_shouldMapToDuplicateException() {
+        when(mapper.toEntity(baseUser)).thenReturn(baseEntity);
+        when(repo.save(baseEntity)).thenReturn(Mono.error(new DuplicateKeyException(
+                "Duplicate entry '123' for key 'users.uk_users_identity_document'")));
+
+        StepVerifier.create(adapter.saveUser(baseUser))
+                .expectErrorMatches(ex -> ex instanceof DuplicateException
+                        && ex.getMessage().equals(AuthConstants.MSG_DUPLICATE_DOCUMENT))
+                .verify();
     }
 
     @Test
@@ -122,32 +170,191 @@ class UserReactiveRepositoryAdapterTest {
     }
 
     @Test
-    void editUser_shouldUpdateUser() {
+    void editUser_shouldUpdateWithSingleStatement() {
         User updatedUser = baseUser.toBuilder().lastName("Lopez").build();
-        UserEntity updatedEntity = buildEntity(USER_ID, "Ana", "Lopez");
-
-        when(repo.findById(USER_ID)).thenReturn(Mono.just(baseEntity));
-        when(mapper.toEntity(updatedUser)).thenReturn(updatedEntity);
-        when(repo.save(updatedEntity)).thenReturn(Mono.just(updatedEntity));
-        when(mapper.toModel(updatedEntity)).thenReturn(updatedUser);
-        mockTransactional(Mono.just(updatedUser));
+        when(repo.updateProfile(USER_ID, "Ana", "Lopez", "1990-01-01", "Calle 1", "3000000", "ana@test.com",
+                BigDecimal.valueOf(2000), "123", ROLE_ID)).thenReturn(Mono.just(1));
 
         StepVerifier.create(adapter.editUser(updatedUser))
                 .expectNext(updatedUser)
                 .verifyComplete();
 
-        verify(repo).findById(USER_ID);
-        verify(repo).save(updatedEntity);
+        // Sin lectura previa ni save() de la entidad completa
+        verify(repo, never()).findById(anyLong());
+        verify(repo, never()).selectOneById(anyLong());
+        verify(repo, never()).save(any(UserEntity.class));
+    }
+
+    @Test
+    void editUser_noRowsAndMissingUser_shouldThrowNotFound() {
+        when(repo.updateProfile(eq(USER_ID), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(0));
+        when(repo.selectOneById(USER_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.editUser(baseUser))
+                .expectError(co.com.pragma.autenticacion.usecase.exceptions.NotFoundException.class)
+                .verify();
     }
 
     @Test
-    void deleteUser_shouldCompleteWithoutError() {
-        when(repo.deleteById(USER_ID)).thenReturn(Mono.empty());
-        mockTransactional(Mono.empty());
+    void editUser_noRowsButUserExists_shouldSucceed() {
+        // MySQL reporta 0 filas afectadas si el UPDATE no cambia ningún valor
+        when(repo.updateProfile(eq(USER_ID), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(0));
+        when(repo.selectOneById(USER_ID)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(adapter.editUser(baseUser))
+                .expectNext(baseUser)
+                .verifyComplete();
+    }
+
+    @Test
+    void patchUser_shouldWriteOnlyPresentColumns() {
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        when(executeSpec.fetch()).thenReturn(fetchSpec);
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(adapter.patchUser(USER_ID, User.builder().telephone("3110000").build()))
+                .verifyComplete();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient).sql(sql.capture());
+        assertEquals("UPDATE users SET telephone = :telephone WHERE id_user = :id", sql.getValue());
+        verify(executeSpec).bind("telephone", "3110000");
+        verify(executeSpec).bind("id", USER_ID);
+    }
+
+    @Test
+    void deleteUser_shouldUseSingleDelete() {
+        when(repo.deleteByIdUser(USER_ID)).thenReturn(Mono.just(1));
 
         StepVerifier.create(adapter.deleteUser(USER_ID))
                 .verifyComplete();
 
-        verify(repo).deleteById(USER_ID);
+        verify(repo, never()).findById(anyLong());
+    }
+
+    @Test
+    void deleteUser_noRows_shouldThrowNotFound() {
+        when(repo.deleteByIdUser(2L)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(adapter.deleteUser(2L))
+                .expectError(co.com.pragma.autenticacion.usecase.exceptions.NotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void saveAll_shouldInsertBatchWithSingleStatementAndReloadIds() {
+        User second = baseUser.toBuilder().idNumber(null).email("luis@test.com").identityDocument("456").telephone(null).build();
+        UserEntity secondEntity = buildEntity(null, "Ana", "Martinez");
+        secondEntity.setEmail("luis@test.com");
+        secondEntity.setIdentityDocument("456");
+        secondEntity.setTelephone(null);
+        UserEntity secondSaved = buildEntity(2L, "Ana", "Martinez");
+        User secondModel = second.toBuilder().idNumber(2L).build();
+
+        when(mapper.toEntity(baseUser)).thenReturn(baseEntity);
+        when(mapper.toEntity(second)).thenReturn(secondEntity);
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        when(executeSpec.bindNull(anyString(), any())).thenReturn(executeSpec);
+        when(executeSpec.fetch()).thenReturn(fetchSpec);
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(2L));
+        when(repo.findByEmailIn(List.of("ana@test.com", "luis@test.com"))).thenReturn(Flux.just(baseEntity, secondSaved));
+        when(mapper.toModel(baseEntity)).thenReturn(baseUser);
+        when(mapper.toModel(secondSaved)).thenReturn(secondModel);
+
+        StepVerifier.create(adapter.saveAll(List.of(baseUser, second)))
+                .expectNext(baseUser, secondModel)
+                .verifyComplete();
+
+        // Una sola sentencia con dos tuplas de valores; los nulos se enlazan con su tipo
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient).sql(sql.capture());
+        assertEquals(2, sql.getValue().split("\\(:n").length - 1);
+        verify(executeSpec).bindNull("tel1", String.class);
+        verify(repo, never()).save(any(UserEntity.class));
+    }
+
+    @Test
+    void saveAll_duplicate_shouldMapToDuplicateExceptionWithoutReloading() {
+        when(mapper.toEntity(baseUser)).thenReturn(baseEntity);
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        when(executeSpec.fetch()).thenReturn(fetchSpec);
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.error(new DuplicateKeyException(
+                "Duplicate entry 'ana@test.com' for key 'uk_users_email'")));
+
+        StepVerifier.create(adapter.saveAll(List.of(baseUser)))
+                .expectErrorMatches(ex -> ex instanceof DuplicateException
+                        && ex.getMessage().equals(AuthConstants.MSG_DUPLICATE_EMAIL))
+                .verify();
+
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void findExistingEmails_emptyCollection_shouldNotQuery() {
+        StepVerifier.create(adapter.findExistingEmails(Set.of()))
+                .verifyComplete();
+
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void findExistingDocuments_shouldUseSingleInQuery() {
+        when(repo.findDocumentsIn(Set.of("123", "456"))).thenReturn(Flux.just("456"));
+
+        StepVerifier.create(adapter.findExistingDocuments(Set.of("123", "456")))
+                .expectNext("456")
+                .verifyComplete();
+    }
+
+    @Test
+    void exportUsers_shouldStreamProjectionWithoutPassword() {
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.filter(Mockito.<Function<Statement, Statement>>any()))
+                .thenReturn(executeSpec);
+        when(executeSpec.map(Mockito.<BiFunction<Row, RowMetadata, User>>any())).thenReturn(rowsFetchSpec);
+        when(rowsFetchSpec.all()).thenReturn(Flux.just(baseUser));
+
+        StepVerifier.create(adapter.exportUsers())
+                .expectNext(baseUser)
+                .verifyComplete();
+
+        // Proyección explícita: la columna password no se lee y no se pasa por el repositorio CRUD
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient).sql(sql.capture());
+        assertFalse(sql.getValue().contains("password"));
+        assertFalse(sql.getValue().contains("*"));
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void existsByEmail_shouldUseSelectOneProjection() {
+        when(repo.selectOneByEmail("ana@test.com")).thenReturn(Mono.just(1));
+        when(repo.selectOneByEmail("otro@test.com")).thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.existsByEmail("ana@test.com")).expectNext(true).verifyComplete();
+        StepVerifier.create(adapter.existsByEmail("otro@test.com")).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void getCredentialsByEmail_shouldReadOnlyAuthColumnsWithoutMapper() {
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind("email", "ana@test.com")).thenReturn(executeSpec);
+        when(executeSpec.map(Mockito.<BiFunction<Row, RowMetadata, User>>any())).thenReturn(rowsFetchSpec);
+        when(rowsFetchSpec.one()).thenReturn(Mono.just(baseUser));
+
+        StepVerifier.create(adapter.getCredentialsByEmail("ana@test.com"))
+                .expectNext(baseUser)
+                .verifyComplete();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient).sql(sql.capture());
+        assertFalse(sql.getValue().contains("address"));
+        assertFalse(sql.getValue().contains("base_salary"));
+        verifyNoInteractions(repo, mapper);
     }
 }
@@ -1,11 +1,18 @@
 package co.com.pragma.autenticacion.r2dbc.config;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.when;
 
@@ -17,6 +24,9 @@ class PostgreSQLConnectionPoolTest {
     @Mock
     private MysqlConnectionProperties properties;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConnectionPool pool;
 
     @BeforeEach
     void setUp() {
@@ -29,8 +39,33 @@ class PostgreSQLConnectionPoolTest {
         when(properties.password()).thenReturn("password");
     }
 
+    @AfterEach
+    void tearDown() {
+        if (pool != null) pool.dispose();
+    }
+
     @Test
     void getConnectionConfigSuccess() {
-        assertNotNull(connectionPool.getConnectionConfig(properties));
+        MysqlPoolProperties poolProperties = new MysqlPoolProperties(2, 4, Duration.ofMinutes(5),
+                Duration.ofMinutes(20), Duration.ofSeconds(2), Duration.ofMinutes(1), ValidationDepth.LOCAL, null);
+
+        pool = connectionPool.getConnectionConfig(properties, poolProperties, meterRegistry);
+
+        assertNotNull(pool);
+        assertNotNull(meterRegistry.find("auth.db.pool.acquired").gauge());
+        assertNotNull(meterRegistry.find("auth.db.pool.pending").gauge());
+        assertNotNull(meterRegistry.find("auth.db.pool.idle").gauge());
+        assertNotNull(meterRegistry.find(InstrumentedConnectionPool.ACQUIRE_METRIC).timer());
+        assertEquals(4.0, meterRegistry.find("auth.db.pool.max").gauge().value());
+    }
+
+    @Test
+    void poolPropertiesDefaults() {
+        MysqlPoolProperties defaults = new MysqlPoolProperties(null, null, null, null, null, null, null, null);
+
+        assertEquals(MysqlPoolProperties.DEFAULT_INITIAL_SIZE, defaults.initialSize());
+        assertEquals(MysqlPoolProperties.DEFAULT_MAX_SIZE, defaults.maxSize());
+        assertEquals(ValidationDepth.LOCAL, defaults.validationDepth());
+        assertEquals(false, defaults.hasValidationQuery());
     }
 }
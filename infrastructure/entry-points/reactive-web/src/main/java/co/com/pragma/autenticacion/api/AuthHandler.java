@@ -3,13 +3,15 @@ package co.com.pragma.autenticacion.api;
 import co.com.pragma.autenticacion.api.dto.LoginRequest;
 import co.com.pragma.autenticacion.api.dto.RefreshRequest;
 import co.com.pragma.autenticacion.api.dto.TokenResponse;
+import co.com.pragma.autenticacion.api.throttle.LoginThrottle;
 import co.com.pragma.autenticacion.model.auth.AuthConstants;
 import co.com.pragma.autenticacion.model.auth.AuthCredentials;
 import co.com.pragma.autenticacion.model.tokeninfo.TokenInfo;
 import co.com.pragma.autenticacion.usecase.auth.AuthUseCase;
-import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
+import co.com.pragma.autenticacion.usecase.exceptions.DomainErrors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
@@ -24,6 +26,9 @@ public class AuthHandler {
     // Caso de uso de autenticación, inyectado automáticamente
     private final AuthUseCase authUseCase;
 
+    // Throttle de intentos de login por correo e IP
+    private final LoginThrottle loginThrottle;
+
     /**
      * Login de usuario.
      * Recibe un LoginRequest, valida que no esté vacío y llama al caso de uso.
@@ -31,18 +36,19 @@ public class AuthHandler {
      */
     public Mono<ServerResponse> login(ServerRequest request) {
         return request.bodyToMono(LoginRequest.class) // Lee el cuerpo de la petición como LoginRequest
-                .switchIfEmpty(Mono.error(new ValidationException(AuthConstants.MSG_BODY_REQUIRED))) // Valida que exista body
-                .flatMap(body -> authUseCase.login(
-                        AuthCredentials.builder()
-                                .email(body.getEmail())
-                                .password(body.getPassword())
-                                .build()
-                )) // Llama al caso de uso, devuelve Mono<TokenInfo>
+                .switchIfEmpty(Mono.error(DomainErrors.BODY_REQUIRED)) // Valida que exista body
+                .flatMap(body -> loginThrottle.check(body.getEmail(), clientIp(request)) // Throttle antes de BD/BCrypt
+                        .then(Mono.defer(() -> authUseCase.login(
+                                AuthCredentials.builder()
+                                        .email(body.getEmail())
+                                        .password(body.getPassword())
+                                        .build()
+                        )))) // Llama al caso de uso, devuelve Mono<TokenInfo>
                 .map(this::toResponse) // Convierte TokenInfo a TokenResponse (DTO para API)
                 .flatMap(resp -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(resp)) // Construye el ServerResponse con JSON
-                .doOnSuccess(r -> log.info(AuthConstants.VALIDATION_LOGIN_SUCCESS)) // Log si fue exitoso
+                .doOnSuccess(r -> log.debug(AuthConstants.VALIDATION_LOGIN_SUCCESS)) // Log si fue exitoso
                 .onErrorResume(ErrorResponses::toResponse); // Manejo centralizado de errores
     }
 
@@ -53,16 +59,47 @@ public class AuthHandler {
      */
     public Mono<ServerResponse> refresh(ServerRequest request) {
         return request.bodyToMono(RefreshRequest.class) // Lee body como RefreshRequest
-                .switchIfEmpty(Mono.error(new ValidationException(AuthConstants.MSG_BODY_REQUIRED))) // Valida que exista body
+                .switchIfEmpty(Mono.error(DomainErrors.BODY_REQUIRED)) // Valida que exista body
                 .flatMap(body -> authUseCase.refresh(body.getRefreshToken())) // Llama al caso de uso refresh
                 .map(this::toResponse) // Convierte TokenInfo a TokenResponse
                 .flatMap(resp -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(resp)) // Construye ServerResponse con JSON
-                .doOnSuccess(r -> log.info(AuthConstants.VALIDATION_REFRESH_SUCCESS)) // Log éxito
+                .doOnSuccess(r -> log.debug(AuthConstants.VALIDATION_REFRESH_SUCCESS)) // Log éxito
                 .onErrorResume(ErrorResponses::toResponse); // Manejo de errores centralizado
     }
 
+    /**
+     * Logout.
+     * Revoca el access token del header Authorization y, si el body trae refreshToken,
+     * también la familia de ese refresh token. Responde 204 sin contenido.
+     */
+    public Mono<ServerResponse> logout(ServerRequest request) {
+        String authorization = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        String accessToken = authorization != null && authorization.startsWith(AuthConstants.BEARER_PREFIX)
+                ? authorization.substring(AuthConstants.BEARER_PREFIX.length())
+                : null;
+        return request.bodyToMono(RefreshRequest.class) // El body es opcional
+                .map(RefreshRequest::getRefreshToken)
+                .defaultIfEmpty("")
+                .flatMap(refreshToken -> authUseCase.logout(accessToken, refreshToken))
+                .then(ServerResponse.noContent().build())
+                .doOnSuccess(r -> log.debug(AuthConstants.VALIDATION_LOGOUT_SUCCESS))
+                .onErrorResume(ErrorResponses::toResponse);
+    }
+
+    /**
+     * IP del cliente según la conexión (con forward-headers-strategy configurado, Spring ya la resuelve
+     * desde X-Forwarded-For de un proxy confiable).
+     */
+    private static String clientIp(ServerRequest request) {
+        return request.remoteAddress()
+                .map(address -> address.getAddress() != null
+                        ? address.getAddress().getHostAddress()
+                        : address.getHostString())
+                .orElse(null);
+    }
+
     /**
      * Convierte TokenInfo del caso de uso a TokenResponse DTO de API.
      * @param t TokenInfo
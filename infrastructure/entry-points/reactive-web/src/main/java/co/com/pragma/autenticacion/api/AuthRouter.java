@@ -1,12 +1,14 @@
 package co.com.pragma.autenticacion.api;
 
 
+import co.com.pragma.autenticacion.api.introspection.IntrospectionHandler;
 import co.com.pragma.autenticacion.model.auth.AuthConstants;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
 import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 
@@ -14,8 +16,13 @@ import static org.springframework.web.reactive.function.server.RouterFunctions.r
 public class AuthRouter {
 
     @Bean
-    public RouterFunction<ServerResponse> authRoutes(AuthHandler authHandler) {
+    public RouterFunction<ServerResponse> authRoutes(AuthHandler authHandler,
+                                                     JwksHandler jwksHandler,
+                                                     IntrospectionHandler introspectionHandler) {
         return route(POST(AuthConstants.LOGIN_PATH), authHandler::login)
-                .andRoute(POST(AuthConstants.REFRESH_PATH), authHandler::refresh);
+                .andRoute(POST(AuthConstants.REFRESH_PATH), authHandler::refresh)
+                .andRoute(POST(AuthConstants.LOGOUT_PATH), authHandler::logout)
+                .andRoute(GET(AuthConstants.JWKS_PATH), jwksHandler::jwks)
+                .andRoute(POST(AuthConstants.INTROSPECT_PATH), introspectionHandler::introspect);
     }
 }
\ No newline at end of file
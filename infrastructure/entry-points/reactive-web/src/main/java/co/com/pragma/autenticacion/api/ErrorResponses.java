@@ -1,19 +1,247 @@
 package co.com.pragma.autenticacion.api;
 
 import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.usecase.exceptions.ServiceUnavailableException;
+import co.com.pragma.autenticacion.usecase.exceptions.TooManyRequestsException;
 import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-public class ErrorResponses {
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Cuerpos de error JSON compartidos por todos los handlers y por el GlobalErrorHandler.
+ *
+ * Explicación:
+ * - Los cuerpos de los mensajes de error constantes (lista explícita en CONSTANT_MESSAGES) se escriben
+ *   a bytes una sola vez; por respuesta solo se agregan la ruta y el timestamp.
+ * - Los mensajes con datos variables (filas, ids, correos) se arman en cada respuesta y no se guardan:
+ *   no pueden ocupar el lugar de los constantes.
+ * - Los cuerpos sin partes variables se envuelven tal cual (sin copia); los del GlobalErrorHandler se
+ *   escriben en un DataBuffer del propio response (con Netty sale del pool de buffers), sin pasar por
+ *   Jackson ni por un String intermedio.
+ * - Los textos se escapan como JSON. Un 500 nunca incluye el mensaje de la excepción.
+ */
+@Slf4j
+public final class ErrorResponses {
+
+    public static final String VALIDATION_CODE = "VALIDATION_ERROR";
+    public static final String VALIDATION_MESSAGE = "Error de validación";
+
+    private static final byte[] ERRORS_OPEN = bytes("\"errors\":[\"");
+    private static final byte[] ERRORS_CLOSE = bytes("\"],");
+    private static final byte[] TIMESTAMP_OPEN = bytes("\"timestamp\":\"");
+    private static final byte[] PATH_OPEN = bytes("\",\"path\":\"");
+    private static final byte[] OBJECT_CLOSE = bytes("\"}");
+    private static final byte[] HEX = bytes("0123456789ABCDEF");
+
+    private static final String INTERNAL_CODE = "INTERNAL_ERROR";
+    private static final String INTERNAL_MESSAGE = "Ha ocurrido un error inesperado";
+
+    // Mensajes de error fijos que llegan a error(), toResponse() o al GlobalErrorHandler.
+    // Un mensaje nuevo que no esté aquí funciona igual, solo que se arma en cada respuesta.
+    private static final List<String> CONSTANT_MESSAGES = List.of(
+            // DomainErrors
+            AuthConstants.MSG_INVALID_CREDENTIALS,
+            AuthConstants.MSG_INVALID_TOKEN,
+            AuthConstants.MGS_FIELD_REQUIRED,
+            AuthConstants.MSG_BODY_REQUIRED,
+            AuthConstants.MSG_TOO_MANY_ATTEMPTS,
+            AuthConstants.MSG_SERVICE_BUSY,
+            // Handlers y adaptadores
+            AuthConstants.MSG_INTERNAL_ERROR,
+            AuthConstants.MSG_IMPORT_UNSUPPORTED_TYPE,
+            AuthConstants.MSG_DUPLICATE_EMAIL,
+            AuthConstants.MSG_DUPLICATE_DOCUMENT,
+            AuthConstants.VALIDATION_PAGINATION_PARAMS,
+            AuthConstants.VALIDATION_USER_NOT_FOUND_UPDATE,
+            // Violaciones individuales de UserValidator
+            AuthConstants.VALIDATION_NAME_REQUIRED,
+            AuthConstants.VALIDATION_LASTNAME_REQUIRED,
+            AuthConstants.VALIDATION_EMAIL_REQUIRED,
+            AuthConstants.VALIDATION_EMAIL_FORMAT,
+            AuthConstants.VALIDATION_DOB_REQUIRED,
+            AuthConstants.VALIDATION_DOB_FORMAT,
+            AuthConstants.VALIDATION_DOB_UNDERAGE,
+            AuthConstants.VALIDATION_SALARY_REQUIRED,
+            AuthConstants.VALIDATION_SALARY_RANGE,
+            AuthConstants.VALIDATION_PATCH_EMPTY,
+            // GlobalErrorHandler
+            VALIDATION_MESSAGE,
+            INTERNAL_MESSAGE);
+
+    // {"error":"<mensaje>"} completo, solo para CONSTANT_MESSAGES
+    private static final Map<String, byte[]> SIMPLE = constantBodies();
+    // {"code":"<código>","message":"<mensaje>", por código y mensaje constante (códigos: uno por excepción)
+    private static final ConcurrentMap<String, byte[]> PREFIXES = new ConcurrentHashMap<>();
+
+    // Timestamp ISO-8601 del segundo en curso
+    private static volatile Second second = new Second(Long.MIN_VALUE, new byte[0]);
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * Errores del flujo de autenticación: 401, 503, 429 o 500 según el tipo.
+     */
     public static Mono<ServerResponse> toResponse(Throwable error) {
         if (error instanceof ValidationException) {
-            return ServerResponse.status(HttpStatus.UNAUTHORIZED)
-                    .bodyValue(error.getMessage());
+            return error(HttpStatus.UNAUTHORIZED, error.getMessage());
+        }
+        if (error instanceof ServiceUnavailableException) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, error.getMessage());
+        }
+        if (error instanceof TooManyRequestsException) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, error.getMessage());
         }
-        return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .bodyValue(AuthConstants.MSG_INTERNAL_ERROR + error.getMessage());
+        log.error("Error no controlado", error);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, AuthConstants.MSG_INTERNAL_ERROR);
+    }
+
+    /**
+     * Respuesta {"error":"mensaje"} con el status indicado.
+     */
+    public static Mono<ServerResponse> error(HttpStatus status, String message) {
+        byte[] body = simpleBody(message);
+        BodyInserter<byte[], ReactiveHttpOutputMessage> inserter = (output, context) ->
+                output.writeWith(Mono.fromSupplier(() -> output.bufferFactory().wrap(body)));
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(inserter);
+    }
+
+    /**
+     * Escribe directamente en el exchange el formato completo del GlobalErrorHandler:
+     * {"code":..,"message":..,"errors":[..],"timestamp":..,"path":..}. detail puede ser null.
+     */
+    public static Mono<Void> write(ServerWebExchange exchange, HttpStatus status,
+                                   String code, String message, String detail) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        Instant now = Instant.now();
+        String path = exchange.getRequest().getPath().value();
+        return response.writeWith(Mono.fromSupplier(() ->
+                detailedBody(response.bufferFactory(), code, message, detail, now, path)));
+    }
+
+    /**
+     * Cuerpo para errores no controlados: nunca expone el mensaje de la excepción.
+     */
+    public static Mono<Void> writeInternal(ServerWebExchange exchange) {
+        return write(exchange, HttpStatus.INTERNAL_SERVER_ERROR, INTERNAL_CODE, INTERNAL_MESSAGE, null);
+    }
+
+    // ---------------------- ARMADO ----------------------
+    static byte[] simpleBody(String message) {
+        String text = String.valueOf(message);
+        byte[] cached = SIMPLE.get(text);
+        return cached != null ? cached : renderSimple(text);
+    }
+
+    private static byte[] renderSimple(String message) {
+        return bytes("{\"error\":\"" + escape(message) + "\"}");
+    }
+
+    private static Map<String, byte[]> constantBodies() {
+        Map<String, byte[]> bodies = new HashMap<>();
+        for (String message : CONSTANT_MESSAGES) bodies.put(message, renderSimple(message));
+        return Map.copyOf(bodies);
+    }
+
+    static DataBuffer detailedBody(DataBufferFactory factory, String code, String message, String detail,
+                                   Instant now, String path) {
+        byte[] prefix = prefix(code, message);
+        byte[] errors = detail == null ? null : bytes(escape(detail));
+        byte[] timestamp = timestamp(now);
+        byte[] escapedPath = bytes(escape(path));
+
+        int length = prefix.length + TIMESTAMP_OPEN.length + timestamp.length
+                + PATH_OPEN.length + escapedPath.length + OBJECT_CLOSE.length;
+        if (errors != null) length += ERRORS_OPEN.length + errors.length + ERRORS_CLOSE.length;
+
+        DataBuffer buffer = factory.allocateBuffer(length);
+        buffer.write(prefix);
+        if (errors != null) buffer.write(ERRORS_OPEN).write(errors).write(ERRORS_CLOSE);
+        return buffer.write(TIMESTAMP_OPEN).write(timestamp)
+                .write(PATH_OPEN).write(escapedPath)
+                .write(OBJECT_CLOSE);
+    }
+
+    private static byte[] prefix(String code, String message) {
+        if (!SIMPLE.containsKey(String.valueOf(message))) return renderPrefix(code, message);
+        return PREFIXES.computeIfAbsent(code + '\u0000' + message, key -> renderPrefix(code, message));
+    }
+
+    private static byte[] renderPrefix(String code, String message) {
+        return bytes("{\"code\":\"" + escape(String.valueOf(code))
+                + "\",\"message\":\"" + escape(String.valueOf(message)) + "\",");
+    }
+
+    // Precisión de segundos: todas las respuestas del mismo segundo comparten los bytes
+    private static byte[] timestamp(Instant now) {
+        Second current = second;
+        if (current.epochSecond() != now.getEpochSecond()) {
+            current = new Second(now.getEpochSecond(), bytes(Instant.ofEpochSecond(now.getEpochSecond()).toString()));
+            second = current;
+        }
+        return current.bytes();
+    }
+
+    /**
+     * Escape JSON de comillas, barra invertida y caracteres de control.
+     */
+    static String escape(String value) {
+        int i = 0;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\') break;
+            i++;
+        }
+        if (i == value.length()) return value;
+
+        StringBuilder sb = new StringBuilder(value.length() + 16).append(value, 0, i);
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\b' -> sb.append("\\b");
+                case '\t' -> sb.append("\\t");
+                case '\f' -> sb.append("\\f");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append("\\u00").append((char) HEX[c >> 4]).append((char) HEX[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Second(long epochSecond, byte[] bytes) {
     }
 }
@@ -10,6 +10,7 @@ import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
@@ -32,12 +33,12 @@ public class HandlerRole {
      */
     public Mono<ServerResponse> crearRol(ServerRequest request) {
         return request.bodyToMono(RoleDTO.class)
-                .map(this::validateDto) // Validamos DTO y lo convertimos a dominio
+                .flatMap(this::validateDto) // Validamos DTO y lo convertimos a dominio
                 .flatMap(roleUseCase::createRole) // Llamada asíncrona al caso de uso
                 .flatMap(savedRol -> ServerResponse.status(201) // Construimos respuesta HTTP 201
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(savedRol))
-                .doOnSuccess(r -> log.info(AuthConstants.VALIDATION_ROLE_CREATE, r))
+                .doOnSuccess(r -> log.debug(AuthConstants.VALIDATION_ROLE_CREATE, r))
                 .doOnError(e -> log.error(AuthConstants.MSG_INVALID_CREATE_ROL, e.getMessage()))
                 .onErrorResume(this::handleError); // Manejo de errores
     }
@@ -47,7 +48,7 @@ public class HandlerRole {
      */
     public Mono<ServerResponse> getRoleById(ServerRequest request) {
         Long id = Long.valueOf(request.pathVariable("uniqueId"));
-        log.info("Consultando rol con ID: {}", id);
+        log.debug("Consultando rol con ID: {}", id);
         return roleUseCase.getRoleById(id)
                 .flatMap(rol -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
@@ -60,12 +61,12 @@ public class HandlerRole {
      */
     public Mono<ServerResponse> updateRole(ServerRequest request) {
         return request.bodyToMono(RoleDTO.class)
-                .map(this::validateDto) // Validamos DTO
+                .flatMap(this::validateDto) // Validamos DTO
                 .flatMap(roleUseCase::updateRole) // Llamada asíncrona al caso de uso
                 .flatMap(updatedRol -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(updatedRol))
-                .doOnSuccess(r -> log.info("Role actualizado: {}", r))
+                .doOnSuccess(r -> log.debug("Role actualizado: {}", r))
                 .doOnError(e -> log.error("Error actualizando rol: {}", e.getMessage()))
                 .onErrorResume(this::handleError);
     }
@@ -75,30 +76,30 @@ public class HandlerRole {
      */
     public Mono<ServerResponse> deleteRole(ServerRequest request) {
         Long id = Long.valueOf(request.pathVariable("uniqueId"));
-        log.info("Eliminando rol con ID: {}", id);
+        log.debug("Eliminando rol con ID: {}", id);
         return roleUseCase.deleteRole(id)
                 .then(ServerResponse.noContent().build()) // Retornamos 204 No Content
-                .doOnSuccess(r -> log.info("Role eliminado con ID: {}", id))
+                .doOnSuccess(r -> log.debug("Role eliminado con ID: {}", id))
                 .doOnError(e -> log.error("Error eliminando rol: {}", e.getMessage()))
                 .onErrorResume(this::handleError);
     }
 
     /**
-     * Validar DTO y mapear a dominio
+     * Validar DTO y mapear a dominio (las violaciones se emiten como error, sin throw)
      */
-    private Role validateDto(RoleDTO dto) {
+    private Mono<Role> validateDto(RoleDTO dto) {
         var violations = validator.validate(dto);
         if (!violations.isEmpty()) {
             String errs = violations.stream()
                     .map(ConstraintViolation::getMessage)
                     .collect(Collectors.joining(", "));
-            throw new ValidationException(errs);
+            return Mono.error(new ValidationException(errs));
         }
-        return Role.builder()
+        return Mono.just(Role.builder()
                 .uniqueId(dto.getUniqueId())
                 .name(dto.getNombre())
                 .description(dto.getDescripcion())
-                .build();
+                .build());
     }
 
     /**
@@ -106,8 +107,6 @@ public class HandlerRole {
      */
     private Mono<ServerResponse> handleError(Throwable e) {
         log.error("Error: {}", e.getMessage());
-        return ServerResponse.badRequest()
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue("{\"error\":\"" + e.getMessage() + "\"}");
+        return ErrorResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
     }
 }
@@ -1,11 +1,16 @@
 package co.com.pragma.autenticacion.api;
 
+import co.com.pragma.autenticacion.api.dto.UserExportDTO;
+import co.com.pragma.autenticacion.api.dto.UserPageResponseDTO;
+import co.com.pragma.autenticacion.api.dto.UserPatchDTO;
 import co.com.pragma.autenticacion.api.dto.UserRequestDTO;
 import co.com.pragma.autenticacion.api.mapper.UserApiMapper;
 import co.com.pragma.autenticacion.model.auth.AuthConstants;
 import co.com.pragma.autenticacion.model.auth.gateways.PasswordEncoderPort;
+import co.com.pragma.autenticacion.usecase.exceptions.DomainErrors;
 import co.com.pragma.autenticacion.usecase.exceptions.DuplicateException;
 import co.com.pragma.autenticacion.usecase.exceptions.NotFoundException;
+import co.com.pragma.autenticacion.usecase.exceptions.ServiceUnavailableException;
 import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
 import co.com.pragma.autenticacion.usecase.user.UserUseCase;
 import jakarta.validation.ConstraintViolation;
@@ -13,6 +18,8 @@ import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
@@ -28,6 +35,11 @@ public class HandlerUsuario {
 
     private static final Logger log = LoggerFactory.getLogger(HandlerUsuario.class);
 
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+    private static final String CSV_FORMAT = "csv";
+    private static final String CSV_HEADER =
+            "id,name,lastName,email,dateOfBirth,identityDocument,telephone,address,baseSalary,roleId\n";
+
     private final UserUseCase userUseCase;         // Caso de uso de usuario
     private final UserApiMapper userApiMapper;     // Mapper DTO ↔ Dominio
     private final Validator validator;             // Bean de validación de Jakarta
@@ -53,17 +65,7 @@ public class HandlerUsuario {
                     return Mono.just(dto);
                 })
 
-                // Paso 3: Validar email existente usando filterWhen
-                .filterWhen(dto -> userUseCase.existsByEmail(dto.getEmail())
-                        .map(exists -> !exists)) // pasa solo si NO existe
-                .switchIfEmpty(Mono.error(new ValidationException(AuthConstants.MSG_DUPLICATE_EMAIL)))
-
-                // Paso 4: Validar documento existente
-                .filterWhen(dto -> userUseCase.existsByDocument(dto.getIdentityDocument())
-                        .map(exists -> !exists)) // pasa solo si NO existe
-                .switchIfEmpty(Mono.error(new ValidationException(AuthConstants.MSG_DUPLICATE_DOCUMENT)))
-
-                // Paso 5: Hashear password de manera reactiva
+                // Paso 3: Hashear password de manera reactiva
                 .flatMap(dto -> passwordEncoder.encode(dto.getPassword())
                         .map(hash -> {
                             dto.setPassword(hash);
@@ -71,22 +73,22 @@ public class HandlerUsuario {
                         })
                 )
 
-                // Paso 6: Mapear DTO a modelo de dominio
+                // Paso 4: Mapear DTO a modelo de dominio
                 .map(userApiMapper::toDomain)
 
-                // Paso 7: Guardar usuario usando caso de uso
+                // Paso 5: Guardar usuario (un único INSERT; duplicados → DuplicateException)
                 .flatMap(userUseCase::saveUser)
 
-                // Paso 8: Mapear de vuelta a DTO para la respuesta
+                // Paso 6: Mapear de vuelta a DTO para la respuesta
                 .map(userApiMapper::toResponseDTO)
 
-                // Paso 9: Construir respuesta HTTP
+                // Paso 7: Construir respuesta HTTP
                 .flatMap(savedDto -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(savedDto))
 
                 // Logging de éxito
-                .doOnSuccess(u -> log.info(AuthConstants.MGS_USER_CREATE_OK, u))
+                .doOnSuccess(u -> log.debug(AuthConstants.MGS_USER_CREATE_OK, u))
 
                 // Logging de error
                 .doOnError(e -> log.error(AuthConstants.MSG_INVALID_CREATE_USER, e.getMessage()))
@@ -94,40 +96,88 @@ public class HandlerUsuario {
                 // Manejo de errores finales
                 .onErrorResume(e -> {
                     if (e instanceof ValidationException || e instanceof DuplicateException) {
-                        return ServerResponse.badRequest()
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .bodyValue("{\"error\":\"" + e.getMessage() + "\"}");
+                        return ErrorResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
                     }
-                    return ServerResponse.status(500)
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .bodyValue("{\"error\":\"Error interno del servidor\"}");
+                    if (e instanceof ServiceUnavailableException) {
+                        return ErrorResponses.error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+                    }
+                    return ErrorResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, AuthConstants.MSG_INTERNAL_ERROR);
                 });
     }
 
     /**
-     * Obtener todos los usuarios
+     * Obtener usuarios paginados por cursor (?limit=&after=). Nunca incluye el password.
+     * Con "Accept: application/x-ndjson" los usuarios se emiten en streaming, uno por línea,
+     * a medida que llegan de la base de datos.
      */
     public Mono<ServerResponse> getAllUsers(ServerRequest request) {
-        // Flux de usuarios mapeado a DTO
-        Flux<UserRequestDTO> users = userUseCase.getAllUsers()
-                .map(userApiMapper::toDTO);
+        Long after;
+        Integer limit;
+        try {
+            after = request.queryParam(AuthConstants.PARAM_AFTER).map(Long::valueOf).orElse(null);
+            limit = request.queryParam(AuthConstants.PARAM_LIMIT).map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException e) {
+            return ErrorResponses.error(HttpStatus.BAD_REQUEST, AuthConstants.VALIDATION_PAGINATION_PARAMS);
+        }
 
-        return ServerResponse.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(users, UserRequestDTO.class)
-                .doOnSuccess(u -> log.info(AuthConstants.MSG_USER_GET_OK))
+        boolean ndjson = request.headers().accept().stream()
+                .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+        if (ndjson) {
+            // Flux sin buffer: cada fila se serializa y se envía al llegar desde R2DBC (sin password)
+            Flux<UserExportDTO> users = userUseCase.streamUsers(after, limit)
+                    .map(userApiMapper::toExportDTO);
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(users, UserExportDTO.class)
+                    .doOnError(e -> log.error(AuthConstants.MSG_INVALID_GET_USER, e.getMessage()));
+        }
+
+        return userUseCase.getUsersPage(after, limit)
+                .map(page -> new UserPageResponseDTO(
+                        page.getItems().stream().map(userApiMapper::toExportDTO).toList(),
+                        page.getNextCursor()))
+                .flatMap(page -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(page))
+                .doOnSuccess(u -> log.debug(AuthConstants.MSG_USER_GET_OK))
                 .doOnError(e -> log.error(AuthConstants.MSG_INVALID_GET_USER, e.getMessage()));
     }
 
+    /**
+     * Exportar todos los usuarios en streaming (?format=csv|ndjson, o por Accept).
+     * Cada fila se serializa y se escribe al llegar de R2DBC: memoria constante sin importar
+     * el tamaño de la tabla. Nunca incluye el password.
+     */
+    public Mono<ServerResponse> exportUsers(ServerRequest request) {
+        boolean csv = request.queryParam(AuthConstants.PARAM_FORMAT)
+                .map(CSV_FORMAT::equalsIgnoreCase)
+                .orElseGet(() -> request.headers().accept().stream()
+                        .anyMatch(type -> type.isCompatibleWith(TEXT_CSV) && !type.isWildcardType()));
+
+        Flux<UserExportDTO> rows = userUseCase.exportUsers()
+                .map(userApiMapper::toExportDTO)
+                .doOnError(e -> log.error(AuthConstants.MSG_INVALID_GET_USER, e.getMessage()));
+        if (!csv) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(rows, UserExportDTO.class);
+        }
+        Flux<String> lines = Flux.concat(Flux.just(CSV_HEADER), rows.map(HandlerUsuario::csvLine));
+        return ServerResponse.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"usuarios.csv\"")
+                .body(lines, String.class);
+    }
+
     /**
      * Obtener usuario por ID
      */
     public Mono<ServerResponse> getUserById(ServerRequest request) {
         Long id = Long.parseLong(request.pathVariable("id"));
-        log.info("Consultando usuario con id: {}", id);
+        log.debug("Consultando usuario con id: {}", id);
 
         return userUseCase.getUserByIdNumber(id)
-                .map(userApiMapper::toDTO)
+                .map(userApiMapper::toExportDTO)
                 .flatMap(user -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(user))
@@ -135,19 +185,50 @@ public class HandlerUsuario {
     }
 
     /**
-     * Editar usuario
+     * Editar usuario (PUT /{id}): el id sale de la ruta, nunca del body.
      */
     public Mono<ServerResponse> editUser(ServerRequest request) {
+        Long id = Long.parseLong(request.pathVariable("id"));
+
         return request.bodyToMono(UserRequestDTO.class)
-                .map(userApiMapper::toDomain)           // Mapear DTO → dominio
-                .flatMap(userUseCase::editUser)         // Editar usuario reactivo
-                .map(userApiMapper::toDTO)              // Mapear dominio → DTO
+                .switchIfEmpty(Mono.error(DomainErrors.BODY_REQUIRED))
+                .map(dto -> userApiMapper.toDomain(dto).toBuilder().idNumber(id).build()) // DTO → dominio con id
+                .flatMap(userUseCase::editUser)         // Un único UPDATE por id
+                .map(userApiMapper::toExportDTO)        // Mapear dominio → DTO (sin password)
                 .flatMap(user -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(user))
-                .doOnSuccess(u -> log.info(AuthConstants.MSG_USER_UPDATE_OK, u))
+                .doOnSuccess(u -> log.debug(AuthConstants.MSG_USER_UPDATE_OK, u))
                 .doOnError(e -> log.error(AuthConstants.MSG_INVALID_EDIT_USER, e.getMessage()))
-                .onErrorResume(NotFoundException.class, e -> ServerResponse.notFound().build());
+                .onErrorResume(NotFoundException.class, e -> ServerResponse.notFound().build())
+                .onErrorResume(e -> e instanceof ValidationException || e instanceof DuplicateException,
+                        e -> ErrorResponses.error(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    /**
+     * Editar parcialmente un usuario (PATCH /{id}): un único UPDATE con los campos enviados.
+     */
+    public Mono<ServerResponse> patchUser(ServerRequest request) {
+        Long id = Long.parseLong(request.pathVariable("id"));
+
+        return request.bodyToMono(UserPatchDTO.class)
+                .switchIfEmpty(Mono.error(DomainErrors.BODY_REQUIRED))
+                .flatMap(dto -> {
+                    var violations = validator.validate(dto);
+                    if (!violations.isEmpty()) {
+                        String errs = violations.stream()
+                                .map(ConstraintViolation::getMessage)
+                                .collect(Collectors.joining(", "));
+                        return Mono.error(new ValidationException(errs));
+                    }
+                    return userUseCase.patchUser(id, userApiMapper.patchToDomain(dto));
+                })
+                .then(ServerResponse.noContent().build())
+                .doOnSuccess(u -> log.debug(AuthConstants.MSG_USER_UPDATE_OK, id))
+                .doOnError(e -> log.error(AuthConstants.MSG_INVALID_EDIT_USER, e.getMessage()))
+                .onErrorResume(NotFoundException.class, e -> ServerResponse.notFound().build())
+                .onErrorResume(e -> e instanceof ValidationException || e instanceof DuplicateException,
+                        e -> ErrorResponses.error(HttpStatus.BAD_REQUEST, e.getMessage()));
     }
 
     /**
@@ -155,11 +236,11 @@ public class HandlerUsuario {
      */
     public Mono<ServerResponse> deleteUser(ServerRequest request) {
         Long id = Long.parseLong(request.pathVariable("id"));
-        log.info("Eliminando usuario con id: {}", id);
+        log.debug("Eliminando usuario con id: {}", id);
 
         return userUseCase.deleteUser(id)
                 .then(ServerResponse.noContent().build())
-                .doOnSuccess(u -> log.info(AuthConstants.MSG_USER_DELETE_OK, id))
+                .doOnSuccess(u -> log.debug(AuthConstants.MSG_USER_DELETE_OK, id))
                 .doOnError(e -> log.error(AuthConstants.MSG_INVALID_DELETE_USER, e.getMessage()))
                 .onErrorResume(NotFoundException.class, e -> ServerResponse.notFound().build());
     }
@@ -189,4 +270,29 @@ public class HandlerUsuario {
                         .bodyValue("{\"exists\": " + exists + "}"))
                 .doOnError(e -> log.error(AuthConstants.VALIDATION_DOCUMENT_INVALID, e.getMessage()));
     }
+
+    private static String csvLine(UserExportDTO u) {
+        StringBuilder line = new StringBuilder(128);
+        appendCsv(line, u.getId()).append(',');
+        appendCsv(line, u.getName()).append(',');
+        appendCsv(line, u.getLastName()).append(',');
+        appendCsv(line, u.getEmail()).append(',');
+        appendCsv(line, u.getDateOfBirth()).append(',');
+        appendCsv(line, u.getIdentityDocument()).append(',');
+        appendCsv(line, u.getTelephone()).append(',');
+        appendCsv(line, u.getAddress()).append(',');
+        appendCsv(line, u.getBaseSalary() != null ? u.getBaseSalary().toPlainString() : null).append(',');
+        appendCsv(line, u.getRoleId());
+        return line.append('\n').toString();
+    }
+
+    // Campo CSV (RFC 4180): entre comillas solo si contiene separador, comillas o saltos de línea
+    private static StringBuilder appendCsv(StringBuilder line, Object value) {
+        if (value == null) return line;
+        String text = value.toString();
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) return line.append(text);
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
 }
@@ -0,0 +1,31 @@
+package co.com.pragma.autenticacion.api;
+
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.JwksProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class JwksHandler {
+
+    // Proveedor de las llaves públicas de verificación
+    private final JwksProvider jwksProvider;
+
+    /**
+     * Publica el JWKS con Cache-Control público: los servicios consumidores lo cachean
+     * y validan los tokens localmente, sin llamar a este servicio.
+     */
+    public Mono<ServerResponse> jwks(ServerRequest request) {
+        CacheControl cacheControl = CacheControl.maxAge(jwksProvider.cacheMaxAge()).cachePublic();
+        return jwksProvider.getJwks()
+                .flatMap(jwks -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .cacheControl(cacheControl)
+                        .bodyValue(jwks));
+    }
+}
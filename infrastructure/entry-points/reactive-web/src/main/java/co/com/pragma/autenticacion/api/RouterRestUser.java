@@ -1,8 +1,15 @@
 package co.com.pragma.autenticacion.api;
 
+import co.com.pragma.autenticacion.api.dto.UserExportDTO;
+import co.com.pragma.autenticacion.api.dto.UserImportResultDTO;
+import co.com.pragma.autenticacion.api.dto.UserPageResponseDTO;
+import co.com.pragma.autenticacion.api.dto.UserPatchDTO;
 import co.com.pragma.autenticacion.api.dto.UserRequestDTO;
+import co.com.pragma.autenticacion.api.userimport.UserImportHandler;
 import co.com.pragma.autenticacion.model.auth.AuthConstants;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -33,16 +40,42 @@ public class RouterRestUser {
             // GET ALL
             @RouterOperation(
                     path = AuthConstants.USERS_BASE_PATH,
-                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
                     method = RequestMethod.GET,
                     beanClass = HandlerUsuario.class,
                     beanMethod = AuthConstants.MSG_GET,
                     operation = @Operation(
                             operationId = AuthConstants.MSG_GET,
                             summary = AuthConstants.MSG_GET_ALL_USERS,
+                            parameters = {
+                                    @Parameter(in = ParameterIn.QUERY, name = AuthConstants.PARAM_LIMIT,
+                                            description = "Tamaño de página (máx. 500)"),
+                                    @Parameter(in = ParameterIn.QUERY, name = AuthConstants.PARAM_AFTER,
+                                            description = "Cursor: id del último usuario de la página anterior")
+                            },
                             responses = {
                                     @ApiResponse(responseCode = "200", description = AuthConstants.MSG_GET_USER_DESCRIPTION,
-                                            content = @Content(schema = @Schema(implementation = UserRequestDTO.class)))
+                                            content = @Content(schema = @Schema(implementation = UserPageResponseDTO.class)))
+                            }
+                    )
+            ),
+            // GET EXPORT (streaming)
+            @RouterOperation(
+                    path = AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_EXPORT,
+                    produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+                    method = RequestMethod.GET,
+                    beanClass = HandlerUsuario.class,
+                    beanMethod = "exportUsers",
+                    operation = @Operation(
+                            operationId = "exportUsers",
+                            summary = "Exportar todos los usuarios en streaming (sin password)",
+                            parameters = {
+                                    @Parameter(in = ParameterIn.QUERY, name = AuthConstants.PARAM_FORMAT,
+                                            description = "csv | ndjson (por defecto ndjson)")
+                            },
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Una fila por usuario, ordenadas por id",
+                                            content = @Content(schema = @Schema(implementation = UserExportDTO.class)))
                             }
                     )
             ),
@@ -58,7 +91,7 @@ public class RouterRestUser {
                             summary = AuthConstants.MSG_GET_USER_BY_ID_DESCRIPTION,
                             responses = {
                                     @ApiResponse(responseCode = "200", description = AuthConstants.MSG_USER_FOUND_BY_ID,
-                                            content = @Content(schema = @Schema(implementation = UserRequestDTO.class))),
+                                            content = @Content(schema = @Schema(implementation = UserExportDTO.class))),
                                     @ApiResponse(responseCode = "404", description = AuthConstants.MSG_USER_NOT_FOUND)
                             }
                     )
@@ -78,9 +111,27 @@ public class RouterRestUser {
                             responses = {@ApiResponse(responseCode = "201", description = AuthConstants.MGS_USER_CREATE_OK)}
                     )
             ),
+            // POST (importación masiva)
+            @RouterOperation(
+                    path = AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_IMPORT,
+                    consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+                    produces = {MediaType.APPLICATION_NDJSON_VALUE},
+                    method = RequestMethod.POST,
+                    beanClass = UserImportHandler.class,
+                    beanMethod = "importUsers",
+                    operation = @Operation(
+                            operationId = "importUsers",
+                            summary = "Importar usuarios en lote (NDJSON o CSV con cabecera)",
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Un resultado por fila, en el orden de entrada",
+                                            content = @Content(schema = @Schema(implementation = UserImportResultDTO.class))),
+                                    @ApiResponse(responseCode = "415", description = AuthConstants.MSG_IMPORT_UNSUPPORTED_TYPE)
+                            }
+                    )
+            ),
             // PUT (editar usuario)
             @RouterOperation(
-                    path = AuthConstants.USERS_BASE_PATH,
+                    path = AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_ID,
                     produces = {MediaType.APPLICATION_JSON_VALUE},
                     method = RequestMethod.PUT,
                     beanClass = HandlerUsuario.class,
@@ -88,8 +139,30 @@ public class RouterRestUser {
                     operation = @Operation(
                             operationId = AuthConstants.MSG_UPDATE,
                             summary = AuthConstants.MSG_USER_OK_UPDATE,
+                            requestBody = @RequestBody(required = true,
+                                    content = @Content(schema = @Schema(implementation = UserRequestDTO.class))),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = AuthConstants.MSG_UPDATE_USER,
+                                            content = @Content(schema = @Schema(implementation = UserExportDTO.class))),
+                                    @ApiResponse(responseCode = "404", description = AuthConstants.MSG_USER_NOT_FOUND)
+                            }
+                    )
+            ),
+            // PATCH (edición parcial)
+            @RouterOperation(
+                    path = AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_ID,
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.PATCH,
+                    beanClass = HandlerUsuario.class,
+                    beanMethod = "patchUser",
+                    operation = @Operation(
+                            operationId = "patchUser",
+                            summary = "Editar parcialmente un usuario (solo los campos enviados)",
+                            requestBody = @RequestBody(required = true,
+                                    content = @Content(schema = @Schema(implementation = UserPatchDTO.class))),
                             responses = {
-                                    @ApiResponse(responseCode = "200", description = AuthConstants.MSG_UPDATE_USER),
+                                    @ApiResponse(responseCode = "204", description = AuthConstants.MSG_UPDATE_USER),
+                                    @ApiResponse(responseCode = "400", description = AuthConstants.VALIDATION_PATCH_EMPTY),
                                     @ApiResponse(responseCode = "404", description = AuthConstants.MSG_USER_NOT_FOUND)
                             }
                     )
@@ -111,12 +184,16 @@ public class RouterRestUser {
                     )
             )
     })
-    public RouterFunction<ServerResponse> routerFunction(HandlerUsuario handler) {
+    public RouterFunction<ServerResponse> routerFunction(HandlerUsuario handler, UserImportHandler importHandler) {
         // Asociación de rutas con métodos del handler
         return route(POST(AuthConstants.USERS_BASE_PATH), handler::registerUser)
+                .andRoute(POST(AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_IMPORT), importHandler::importUsers)
                 .andRoute(GET(AuthConstants.USERS_BASE_PATH), handler::getAllUsers)
+                // Antes de /{id} para que "export" no se interprete como id
+                .andRoute(GET(AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_EXPORT), handler::exportUsers)
                 .andRoute(GET(AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_ID), handler::getUserById)
-                .andRoute(PUT(AuthConstants.USERS_BASE_PATH), handler::editUser)
+                .andRoute(PUT(AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_ID), handler::editUser)
+                .andRoute(PATCH(AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_ID), handler::patchUser)
                 .andRoute(DELETE(AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_ID), handler::deleteUser)
                 .andRoute(GET(AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_EXISTS_EMAIL), handler::existsByEmail)
                 .andRoute(GET(AuthConstants.USERS_BASE_PATH + AuthConstants.PATH_EXISTS_DOC), handler::existsByDocument);
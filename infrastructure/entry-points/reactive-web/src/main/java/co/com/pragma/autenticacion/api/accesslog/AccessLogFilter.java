@@ -0,0 +1,91 @@
+package co.com.pragma.autenticacion.api.accesslog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.RequestPath;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Access log: una línea key=value por petición muestreada, en el logger ACCESS_LOG.
+ *
+ * Explicación:
+ * - Va primero en la cadena, así la latencia incluye seguridad, throttle y handler.
+ * - Se registra al hacer commit del response (status ya definitivo, también para los errores que
+ *   resuelve el GlobalErrorHandler); la latencia es hasta el primer byte. Una desconexión del cliente
+ *   antes del commit se registra con status 499.
+ * - El muestreo se decide antes de armar la línea: lo descartado no crea ni un String.
+ * - Nunca bloquea el event loop: ACCESS_LOG escribe en un appender asíncrono con neverBlock
+ *   (logback-spring.xml); si la cola está llena la línea se descarta.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter implements WebFilter {
+
+    public static final String LOGGER_NAME = "ACCESS_LOG";
+    static final int CLIENT_CLOSED_REQUEST = 499;
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final AccessLogSampler sampler;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.sampler = new AccessLogSampler(properties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!accessLog.isInfoEnabled()) return chain.filter(exchange);
+
+        long start = System.nanoTime();
+        AtomicBoolean logged = new AtomicBoolean();
+        exchange.getResponse().beforeCommit(() -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            record(exchange, status != null ? status.value() : 200, start, logged);
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .doOnCancel(() -> record(exchange, CLIENT_CLOSED_REQUEST, start, logged));
+    }
+
+    private void record(ServerWebExchange exchange, int status, long start, AtomicBoolean logged) {
+        if (!logged.compareAndSet(false, true)) return;
+        ServerHttpRequest request = exchange.getRequest();
+        RequestPath path = request.getPath();
+        double rate = sampler.sample(path.pathWithinApplication(), status);
+        if (rate <= 0) return;
+        accessLog.info(format(request.getMethod().name(), path.value(), status,
+                System.nanoTime() - start, rate, request.getId()));
+    }
+
+    /**
+     * method=GET path=/api/v1/usuarios status=200 latency_ms=3.125 sample=0.1 rid=1a2b3c4d
+     */
+    static String format(String method, String path, int status, long latencyNanos, double rate, String requestId) {
+        long micros = latencyNanos / 1_000;
+        long fraction = micros % 1_000;
+        StringBuilder sb = new StringBuilder(128)
+                .append("method=").append(method)
+                .append(" path=").append(path)
+                .append(" status=").append(status)
+                .append(" latency_ms=").append(micros / 1_000).append('.');
+        if (fraction < 100) sb.append('0');
+        if (fraction < 10) sb.append('0');
+        return sb.append(fraction)
+                .append(" sample=").append(rate)
+                .append(" rid=").append(requestId)
+                .toString();
+    }
+}
@@ -0,0 +1,58 @@
+package co.com.pragma.autenticacion.api.accesslog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Access log muestreado.
+ *
+ * @param enabled activa o desactiva el registro de peticiones.
+ * @param rates   fracción (0..1) de peticiones registradas por clase de status.
+ * @param routes  excepciones por ruta (PathPattern); la primera que coincide gana y lo que no
+ *                defina se toma de rates.
+ */
+@ConfigurationProperties(prefix = "access-log")
+public record AccessLogProperties(
+        Boolean enabled,
+        Rates rates,
+        List<Route> routes) {
+
+    public AccessLogProperties {
+        if (enabled == null) enabled = Boolean.TRUE;
+        rates = rates == null ? Rates.DEFAULTS : rates.orElse(Rates.DEFAULTS);
+        if (routes == null) routes = List.of();
+    }
+
+    /**
+     * @param success     1xx y 2xx.
+     * @param redirect    3xx.
+     * @param clientError 4xx.
+     * @param serverError 5xx.
+     */
+    public record Rates(
+            Double success,
+            Double redirect,
+            Double clientError,
+            Double serverError) {
+
+        static final Rates DEFAULTS = new Rates(0.1, 0.1, 1.0, 1.0);
+
+        Rates orElse(Rates fallback) {
+            return new Rates(
+                    success != null ? success : fallback.success(),
+                    redirect != null ? redirect : fallback.redirect(),
+                    clientError != null ? clientError : fallback.clientError(),
+                    serverError != null ? serverError : fallback.serverError());
+        }
+    }
+
+    /**
+     * @param pattern ruta al estilo de los routers, p. ej. /api/v1/usuarios/**.
+     * @param rates   fracciones propias de la ruta.
+     */
+    public record Route(
+            String pattern,
+            Rates rates) {
+    }
+}
@@ -0,0 +1,64 @@
+package co.com.pragma.autenticacion.api.accesslog;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Decide qué peticiones se registran según ruta y clase de status.
+ * Las fracciones se resuelven una sola vez al arrancar: por petición solo se recorre la lista de rutas.
+ */
+final class AccessLogSampler {
+
+    private final List<Rule> rules;
+    private final double[] defaults;
+    private final DoubleSupplier random;
+
+    AccessLogSampler(AccessLogProperties properties, DoubleSupplier random) {
+        this.defaults = toArray(properties.rates());
+        this.rules = properties.routes().stream()
+                .filter(route -> route.pattern() != null && !route.pattern().isBlank())
+                .map(route -> new Rule(
+                        PathPatternParser.defaultInstance.parse(route.pattern()),
+                        toArray(route.rates() == null ? properties.rates() : route.rates().orElse(properties.rates()))))
+                .toList();
+        this.random = random;
+    }
+
+    /**
+     * Fracción aplicable; 0 si la petición no debe registrarse nunca.
+     */
+    double rate(PathContainer path, int status) {
+        int statusClass = statusClass(status);
+        for (Rule rule : rules) {
+            if (rule.pattern().matches(path)) return rule.rates()[statusClass];
+        }
+        return defaults[statusClass];
+    }
+
+    /**
+     * Devuelve la fracción con la que se muestreó la petición, o 0 si queda fuera de la muestra.
+     */
+    double sample(PathContainer path, int status) {
+        double rate = rate(path, status);
+        if (rate <= 0) return 0;
+        return rate >= 1 || random.getAsDouble() < rate ? rate : 0;
+    }
+
+    private static int statusClass(int status) {
+        if (status >= 500) return 3;
+        if (status >= 400) return 2;
+        if (status >= 300) return 1;
+        return 0;
+    }
+
+    private static double[] toArray(AccessLogProperties.Rates rates) {
+        return new double[]{rates.success(), rates.redirect(), rates.clientError(), rates.serverError()};
+    }
+
+    private record Rule(PathPattern pattern, double[] rates) {
+    }
+}
@@ -0,0 +1,10 @@
+package co.com.pragma.autenticacion.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class IntrospectionRequest {
+    private List<String> tokens;
+}
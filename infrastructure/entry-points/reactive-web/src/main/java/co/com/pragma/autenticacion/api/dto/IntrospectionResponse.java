@@ -0,0 +1,21 @@
+package co.com.pragma.autenticacion.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class IntrospectionResponse {
+    // Un resultado por token, en el mismo orden de la petición
+    private List<Result> results;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+        private boolean active;
+        private Map<String, Object> claims;
+        private Long exp;
+    }
+}
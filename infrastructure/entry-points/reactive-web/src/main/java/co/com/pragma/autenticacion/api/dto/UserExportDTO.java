@@ -0,0 +1,25 @@
+package co.com.pragma.autenticacion.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Usuario tal como se expone en lecturas (listado, stream, consulta por id y exportación):
+ * solo datos no sensibles (sin password).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserExportDTO {
+    private Long id;
+    private String name;
+    private String lastName;
+    private String email;
+    private String dateOfBirth;
+    private String identityDocument;
+    private String telephone;
+    private String address;
+    private BigDecimal baseSalary;
+    private Integer roleId;
+}
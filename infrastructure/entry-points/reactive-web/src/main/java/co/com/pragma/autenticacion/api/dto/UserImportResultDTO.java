@@ -0,0 +1,23 @@
+package co.com.pragma.autenticacion.api.dto;
+
+import co.com.pragma.autenticacion.model.user.UserImportResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * Resultado de una fila de la importación masiva (una línea NDJSON por fila recibida).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResultDTO {
+    private long line;
+    private String status;       // CREATED | INVALID | DUPLICATE | FAILED
+    private Long id;             // id generado, solo en CREATED
+    private String email;
+    private String error;        // motivo del rechazo
+
+    public static UserImportResultDTO from(UserImportResult result) {
+        return new UserImportResultDTO(result.getLine(), result.getStatus().name(),
+                result.getIdNumber(), result.getEmail(), result.getMessage());
+    }
+}
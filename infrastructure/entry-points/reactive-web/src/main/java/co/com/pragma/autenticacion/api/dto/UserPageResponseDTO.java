@@ -0,0 +1,19 @@
+package co.com.pragma.autenticacion.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de usuarios con paginación por cursor")
+public class UserPageResponseDTO {
+
+    @Schema(description = "Usuarios de la página, ordenados por id")
+    private List<UserExportDTO> items;
+
+    @Schema(description = "Cursor para la siguiente página (enviar como 'after'); null si no hay más", example = "150")
+    private Long nextCursor;
+}
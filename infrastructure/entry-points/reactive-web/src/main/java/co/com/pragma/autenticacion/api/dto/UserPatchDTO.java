@@ -0,0 +1,51 @@
+package co.com.pragma.autenticacion.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * Edición parcial de un usuario: solo se actualizan los campos enviados (no null).
+ * El password no se modifica por esta vía.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Campos a modificar de un usuario; los omitidos no cambian")
+public class UserPatchDTO {
+
+    @Schema(description = "Nombre del usuario", example = "Juan")
+    private String name;
+
+    @Schema(description = "Apellido del usuario", example = "Pérez")
+    private String lastName;
+
+    @Email(message = "email inválido")
+    @Schema(description = "Correo electrónico del usuario", example = "juan.perez@empresa.com")
+    private String email;
+
+    @Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}$", message = "fecha_nacimiento debe ser yyyy-MM-dd")
+    @Schema(description = "Fecha de nacimiento del usuario (yyyy-MM-dd)", example = "1990-05-21")
+    private String dateOfBirth;
+
+    @Size(max = 30, message = "documento_identidad máximo 30 car.")
+    @Schema(description = "Documento de identidad del usuario", example = "1234567890")
+    private String identityDocument;
+
+    @Size(min = 7, max = 15, message = "El teléfono debe tener entre 7 y 15 dígitos")
+    @Schema(description = "Número telefónico del usuario", example = "3001234567")
+    private String telephone;
+
+    @DecimalMin(value = "0.0", inclusive = true, message = "salario debe de ser mayor a 0")
+    @DecimalMax(value = "15000000.0", inclusive = true, message = "el salario no debe ser mayor a 15000000")
+    @Schema(description = "Salario base del usuario", example = "2500000")
+    private Double baseSalary;
+
+    @Size(max = 200, message = "direccion máximo 200 car.")
+    @Schema(description = "Dirección de residencia", example = "Calle 123 #45-67")
+    private String address;
+
+    @Min(value = 1, message = "idRol debe ser mayor a 0")
+    @Schema(description = "ID del rol asignado al usuario", example = "1")
+    private Integer roleId;
+}
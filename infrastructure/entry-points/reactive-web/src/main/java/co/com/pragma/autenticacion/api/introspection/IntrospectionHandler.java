@@ -0,0 +1,87 @@
+package co.com.pragma.autenticacion.api.introspection;
+
+import co.com.pragma.autenticacion.api.ErrorResponses;
+import co.com.pragma.autenticacion.api.dto.IntrospectionRequest;
+import co.com.pragma.autenticacion.api.dto.IntrospectionResponse;
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.tokeninfo.TokenIntrospection;
+import co.com.pragma.autenticacion.usecase.auth.AuthUseCase;
+import co.com.pragma.autenticacion.usecase.exceptions.DomainErrors;
+import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Introspección de tokens por lotes: un solo request valida varios tokens en paralelo.
+ *
+ * Métricas:
+ * - auth.introspection.latency: duración de cada lote (histograma).
+ * - auth.introspection.batch.size: tokens por lote.
+ * - auth.introspection.tokens: resultados por token (result=active|inactive).
+ */
+@Component
+public class IntrospectionHandler {
+
+    private final AuthUseCase authUseCase;
+    private final int maxBatch;
+    private final Timer latency;
+    private final DistributionSummary batchSize;
+    private final Counter active;
+    private final Counter inactive;
+
+    public IntrospectionHandler(AuthUseCase authUseCase,
+                                IntrospectionProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.authUseCase = authUseCase;
+        this.maxBatch = properties.maxBatch();
+        this.latency = Timer.builder("auth.introspection.latency")
+                .description("Tiempo de validación de un lote de tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("auth.introspection.batch.size")
+                .description("Tokens por lote de introspección")
+                .register(meterRegistry);
+        this.active = Counter.builder("auth.introspection.tokens").tag("result", "active").register(meterRegistry);
+        this.inactive = Counter.builder("auth.introspection.tokens").tag("result", "inactive").register(meterRegistry);
+    }
+
+    public Mono<ServerResponse> introspect(ServerRequest request) {
+        return request.bodyToMono(IntrospectionRequest.class)
+                .switchIfEmpty(Mono.error(DomainErrors.BODY_REQUIRED))
+                .flatMap(body -> {
+                    int size = body.getTokens() == null ? 0 : body.getTokens().size();
+                    if (size == 0 || size > maxBatch) {
+                        return Mono.error(new ValidationException(AuthConstants.VALIDATION_INTROSPECTION_BATCH + maxBatch));
+                    }
+                    batchSize.record(size);
+                    long start = System.nanoTime();
+                    return authUseCase.introspect(body.getTokens())
+                            .map(this::toResult)
+                            .collectList()
+                            .doOnSuccess(r -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+                })
+                .flatMap(results -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new IntrospectionResponse(results)))
+                .onErrorResume(ValidationException.class, e -> ErrorResponses.error(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    private IntrospectionResponse.Result toResult(TokenIntrospection introspection) {
+        (introspection.isActive() ? active : inactive).increment();
+        return IntrospectionResponse.Result.builder()
+                .active(introspection.isActive())
+                .claims(introspection.getClaims())
+                .exp(introspection.getExpiresAt())
+                .build();
+    }
+}
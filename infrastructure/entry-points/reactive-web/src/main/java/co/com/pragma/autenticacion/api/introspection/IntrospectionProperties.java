@@ -0,0 +1,19 @@
+package co.com.pragma.autenticacion.api.introspection;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Límites del endpoint de introspección.
+ *
+ * @param maxBatch máximo de tokens por petición.
+ */
+@ConfigurationProperties(prefix = "security.introspection")
+public record IntrospectionProperties(
+        Integer maxBatch) {
+
+    public static final int DEFAULT_MAX_BATCH = 100;
+
+    public IntrospectionProperties {
+        if (maxBatch == null || maxBatch < 1) maxBatch = DEFAULT_MAX_BATCH;
+    }
+}
@@ -1,37 +1,49 @@
 package co.com.pragma.autenticacion.api.mapper;
 
+import co.com.pragma.autenticacion.api.dto.UserExportDTO;
+import co.com.pragma.autenticacion.api.dto.UserPatchDTO;
 import co.com.pragma.autenticacion.api.dto.UserRequestDTO;
 import co.com.pragma.autenticacion.api.dto.UserResponseDTO;
+import co.com.pragma.autenticacion.model.role.gateways.RoleCatalog;
 import co.com.pragma.autenticacion.model.user.User;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.springframework.beans.factory.annotation.Autowired;
 
 @Mapper(componentModel = "spring")
-public interface UserApiMapper {
+public abstract class UserApiMapper {
+
+    // Catálogo de roles en memoria (id → nombre), compartido con la emisión de tokens
+    protected RoleCatalog roleCatalog;
+
+    @Autowired
+    public void setRoleCatalog(RoleCatalog roleCatalog) {
+        this.roleCatalog = roleCatalog;
+    }
 
     @Mapping(target = "idNumber", ignore = true)
     @Mapping(target = "idRole", expression = "java(dto.getRoleId() != null ? BigDecimal.valueOf(dto.getRoleId()) : null)")
-    User toDomain(UserRequestDTO dto);
+    public abstract User toDomain(UserRequestDTO dto);
 
+    // Edición parcial: los campos ausentes quedan en null y no se escriben
+    @Mapping(target = "idNumber", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "idRole", expression = "java(dto.getRoleId() != null ? BigDecimal.valueOf(dto.getRoleId()) : null)")
+    public abstract User patchToDomain(UserPatchDTO dto);
+
+    // Vista de lectura (listado, stream, consulta por id y exportación): nunca lleva password
+    @Mapping(target = "id", source = "idNumber")
     @Mapping(target = "roleId", expression = "java(user.getIdRole() != null ? user.getIdRole().intValue() : null)")
-    UserRequestDTO toDTO(User user);
+    public abstract UserExportDTO toExportDTO(User user);
 
     // Mapeo a respuesta segura (no incluye password ni email)
     @Mapping(target = "role", expression = "java(new UserResponseDTO.RolResponseDTO(user.getIdRole().intValue(), mapRoleName(user.getIdRole().intValue())))")
-    UserResponseDTO toResponseDTO(User user);
+    public abstract UserResponseDTO toResponseDTO(User user);
 
     // Método auxiliar para traducir roleId → nombre del rol
-    default String mapRoleName(Integer roleId) {
+    protected String mapRoleName(Integer roleId) {
         if (roleId == null) return null;
-        switch (roleId) {
-            case 1: return "ADMIN";
-            case 2: return "ASESOR";
-            case 3: return "CLIENTE";
-            default: return "DESCONOCIDO";
-        }
+        return roleCatalog.nameOf(roleId.longValue()).orElse("DESCONOCIDO");
     }
 }
-
-
-
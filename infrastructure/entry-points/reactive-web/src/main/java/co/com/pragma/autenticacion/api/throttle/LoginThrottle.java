@@ -0,0 +1,58 @@
+package co.com.pragma.autenticacion.api.throttle;
+
+import co.com.pragma.autenticacion.usecase.exceptions.DomainErrors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/**
+ * Throttle de intentos de login por correo y por IP de cliente.
+ *
+ * - Se evalúa antes del caso de uso: un intento rechazado no consulta la BD ni ejecuta BCrypt.
+ * - Primero se cuenta la IP y luego el correo; si la IP ya está bloqueada no se consume cupo del correo.
+ * - Métricas: auth.login.throttled (tag key=email|ip) y auth.login.throttle.keys.
+ */
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final SlidingWindowRateLimiter byEmail;
+    private final SlidingWindowRateLimiter byIp;
+    private final Counter throttledByEmail;
+    private final Counter throttledByIp;
+
+    public LoginThrottle(LoginThrottleProperties properties, MeterRegistry meterRegistry) {
+        long windowMs = properties.window().toMillis();
+        this.enabled = properties.enabled();
+        this.byEmail = new SlidingWindowRateLimiter(properties.maxPerEmail(), windowMs,
+                properties.maxKeys(), System::currentTimeMillis);
+        this.byIp = new SlidingWindowRateLimiter(properties.maxPerIp(), windowMs,
+                properties.maxKeys(), System::currentTimeMillis);
+        this.throttledByEmail = Counter.builder("auth.login.throttled").tag("key", "email").register(meterRegistry);
+        this.throttledByIp = Counter.builder("auth.login.throttled").tag("key", "ip").register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", byEmail, SlidingWindowRateLimiter::size)
+                .tag("key", "email").register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", byIp, SlidingWindowRateLimiter::size)
+                .tag("key", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Completa vacío si el intento está permitido; en otro caso emite TooManyRequestsException.
+     */
+    public Mono<Void> check(String email, String clientIp) {
+        if (!enabled) return Mono.empty();
+        if (clientIp != null && !byIp.tryAcquire(clientIp)) {
+            throttledByIp.increment();
+            return Mono.error(DomainErrors.TOO_MANY_ATTEMPTS);
+        }
+        if (email != null && !byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT))) {
+            throttledByEmail.increment();
+            return Mono.error(DomainErrors.TOO_MANY_ATTEMPTS);
+        }
+        return Mono.empty();
+    }
+}
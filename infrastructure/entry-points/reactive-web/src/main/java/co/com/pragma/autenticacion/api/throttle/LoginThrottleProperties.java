@@ -0,0 +1,31 @@
+package co.com.pragma.autenticacion.api.throttle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Límites del throttle de login.
+ *
+ * @param enabled        activa o desactiva el throttle.
+ * @param maxPerEmail    intentos permitidos por correo dentro de la ventana.
+ * @param maxPerIp       intentos permitidos por IP de cliente dentro de la ventana.
+ * @param window         duración de la ventana deslizante.
+ * @param maxKeys        claves (correos o IPs) retenidas en memoria por cada contador.
+ */
+@ConfigurationProperties(prefix = "security.login-throttle")
+public record LoginThrottleProperties(
+        Boolean enabled,
+        Integer maxPerEmail,
+        Integer maxPerIp,
+        Duration window,
+        Integer maxKeys) {
+
+    public LoginThrottleProperties {
+        if (enabled == null) enabled = Boolean.TRUE;
+        if (maxPerEmail == null || maxPerEmail < 1) maxPerEmail = 5;
+        if (maxPerIp == null || maxPerIp < 1) maxPerIp = 50;
+        if (window == null || window.isZero() || window.isNegative()) window = Duration.ofMinutes(1);
+        if (maxKeys == null || maxKeys < 1) maxKeys = 100_000;
+    }
+}
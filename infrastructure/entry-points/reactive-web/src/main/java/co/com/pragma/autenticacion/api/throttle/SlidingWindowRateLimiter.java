@@ -0,0 +1,146 @@
+package co.com.pragma.autenticacion.api.throttle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador por clave con ventana deslizante aproximada (ventana actual + anterior ponderada).
+ *
+ * Explicación:
+ * - Cada clave guarda su estado en un único AtomicLong: [índice de ventana | previos | actuales].
+ *   Se actualiza con CAS, sin locks.
+ * - Estimación: previos * (fracción restante de la ventana) + actuales.
+ * - Las claves se reparten en stripes, cada uno con su propio límite de memoria. Al llenarse:
+ *   1. se purgan las claves inactivas (sin intentos en la ventana actual ni en la anterior);
+ *   2. si no alcanza, se descartan claves vigentes por debajo del límite, las de menor conteo primero.
+ *   Las claves bloqueadas nunca se descartan: purgarlas reiniciaría su cupo.
+ * - Si el stripe sigue lleno (todo bloqueado), las claves nuevas comparten un contador de desborde del
+ *   stripe con el mismo límite: la memoria no crece y ninguna clave queda sin contar.
+ * - Solo un hilo purga a la vez; los demás esperan a que termine y vuelven a intentar.
+ */
+public class SlidingWindowRateLimiter {
+
+    private static final int STRIPES = 16;
+    private static final long COUNT_MASK = 0xFFFFL;
+
+    private final int limit;
+    private final long windowMs;
+    private final int maxKeysPerStripe;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public SlidingWindowRateLimiter(int limit, long windowMs, int maxKeys, LongSupplier clock) {
+        this.limit = (int) Math.min(limit, COUNT_MASK);
+        this.windowMs = windowMs;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    /**
+     * Registra un intento para la clave. Devuelve false (sin contarlo) si ya superó el límite.
+     */
+    public boolean tryAcquire(String key) {
+        long now = clock.getAsLong();
+        long window = now / windowMs;
+        double elapsed = (double) (now % windowMs) / windowMs;
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        AtomicLong state = stripe.counters.get(key);
+        if (state == null) state = stripe.track(key, window, elapsed);
+
+        while (true) {
+            long current = state.get();
+            long rolled = roll(current, window);
+            long previous = previous(rolled);
+            long count = count(rolled);
+            if (estimate(rolled, elapsed) >= limit) {
+                if (rolled != current) state.compareAndSet(current, rolled);
+                return false;
+            }
+            if (state.compareAndSet(current, pack(window, previous, count + 1))) return true;
+        }
+    }
+
+    /**
+     * Número de claves retenidas en memoria.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) size += stripe.counters.size();
+        return size;
+    }
+
+    private static double estimate(long rolled, double elapsed) {
+        return previous(rolled) * (1.0 - elapsed) + count(rolled);
+    }
+
+    // Desplaza el estado a la ventana actual: la ventana contigua pasa a "previos", una más antigua se descarta.
+    private static long roll(long state, long window) {
+        long stored = windowOf(state);
+        if (stored == window) return state;
+        if (stored == window - 1) return pack(window, count(state), 0);
+        return pack(window, 0, 0);
+    }
+
+    private static long pack(long window, long previous, long count) {
+        return (window << 32) | (previous << 16) | count;
+    }
+
+    private static long windowOf(long state) {
+        return state >>> 32;
+    }
+
+    private static long previous(long state) {
+        return (state >>> 16) & COUNT_MASK;
+    }
+
+    private static long count(long state) {
+        return state & COUNT_MASK;
+    }
+
+    private final class Stripe {
+        private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+        private final AtomicLong overflow = new AtomicLong();
+        private final AtomicBoolean evicting = new AtomicBoolean();
+
+        // Contador para una clave nueva: propio si hay espacio (tras purgar), o el de desborde si no.
+        private AtomicLong track(String key, long window, double elapsed) {
+            while (counters.size() >= maxKeysPerStripe) {
+                if (!evicting.compareAndSet(false, true)) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                try {
+                    evict(window, elapsed);
+                } finally {
+                    evicting.set(false);
+                }
+                if (counters.size() >= maxKeysPerStripe) return overflow;
+            }
+            return counters.computeIfAbsent(key, k -> new AtomicLong(pack(window, 0, 0)));
+        }
+
+        // Una clave sin intentos en la ventana actual ni en la anterior ya no aporta al conteo.
+        private void evict(long window, double elapsed) {
+            counters.values().removeIf(state -> windowOf(state.get()) < window - 1);
+            int target = maxKeysPerStripe - maxKeysPerStripe / 10 - 1;
+            int excess = counters.size() - target;
+            if (excess <= 0) return;
+
+            List<Map.Entry<String, Double>> candidates = new ArrayList<>();
+            for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+                double estimate = estimate(roll(entry.getValue().get(), window), elapsed);
+                if (estimate < limit) candidates.add(Map.entry(entry.getKey(), estimate));
+            }
+            candidates.sort(Map.Entry.comparingByValue());
+            for (int i = 0; i < candidates.size() && i < excess; i++) {
+                counters.remove(candidates.get(i).getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package co.com.pragma.autenticacion.api.userimport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser mínimo de una línea CSV (RFC 4180 sin saltos de línea dentro de comillas).
+ * - Separador ",", comillas dobles opcionales y "" como comilla escapada.
+ * - Devuelve null si la línea queda con comillas sin cerrar.
+ */
+final class CsvLineParser {
+
+    private CsvLineParser() {
+    }
+
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,182 @@
+package co.com.pragma.autenticacion.api.userimport;
+
+import co.com.pragma.autenticacion.api.ErrorResponses;
+import co.com.pragma.autenticacion.api.dto.UserImportResultDTO;
+import co.com.pragma.autenticacion.api.dto.UserRequestDTO;
+import co.com.pragma.autenticacion.api.mapper.UserApiMapper;
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.user.UserImportRow;
+import co.com.pragma.autenticacion.usecase.user.UserImportUseCase;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de usuarios en streaming.
+ * - Acepta application/x-ndjson (un UserRequestDTO por línea) o text/csv (con cabecera).
+ * - El body se corta en líneas a medida que llega; ninguna fila se acumula más allá del lote en curso.
+ * - Responde application/x-ndjson con un resultado por fila, en el orden de entrada.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserImportHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportHandler.class);
+
+    static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    // Columnas obligatorias de la cabecera CSV (el orden es libre)
+    static final List<String> CSV_COLUMNS = List.of("name", "lastName", "email", "dateOfBirth", "identityDocument",
+            "telephone", "baseSalary", "address", "roleId", "password");
+
+    // Decodificador que separa el body por saltos de línea sin esperar a que termine
+    private static final StringDecoder LINE_DECODER = StringDecoder.allMimeTypes(List.of("\n"), true);
+
+    private final UserImportUseCase userImportUseCase;
+    private final UserApiMapper userApiMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+
+    public Mono<ServerResponse> importUsers(ServerRequest request) {
+        MediaType contentType = request.headers().contentType().orElse(null);
+        Flux<UserImportRow> rows;
+        if (contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+            rows = lines(request).map(this::jsonRow);
+        } else if (contentType != null && contentType.isCompatibleWith(TEXT_CSV)) {
+            rows = csvRows(lines(request));
+        } else {
+            return ErrorResponses.error(HttpStatus.UNSUPPORTED_MEDIA_TYPE, AuthConstants.MSG_IMPORT_UNSUPPORTED_TYPE);
+        }
+
+        Flux<UserImportResultDTO> results = userImportUseCase
+                .importUsers(rows, properties.batchSize(), properties.hashConcurrency())
+                .map(UserImportResultDTO::from)
+                .doOnError(e -> log.error(AuthConstants.MSG_INVALID_CREATE_USER, e.getMessage()));
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results, UserImportResultDTO.class);
+    }
+
+    // ---------------------- LECTURA ----------------------
+    private Flux<Line> lines(ServerRequest request) {
+        Flux<DataBuffer> body = request.bodyToFlux(DataBuffer.class);
+        return LINE_DECODER.decode(body, ResolvableType.forClass(String.class), null, Map.of())
+                .index()
+                .map(t -> new Line(t.getT1() + 1, stripCarriageReturn(t.getT2())))
+                .filter(line -> !line.text().isBlank());
+    }
+
+    private UserImportRow jsonRow(Line line) {
+        try {
+            UserRequestDTO dto = objectMapper.readValue(line.text(), UserRequestDTO.class);
+            if (dto == null) return UserImportRow.invalid(line.number(), AuthConstants.MSG_IMPORT_MALFORMED_ROW + line.text());
+            return toRow(line.number(), dto);
+        } catch (JsonProcessingException e) {
+            return UserImportRow.invalid(line.number(), AuthConstants.MSG_IMPORT_MALFORMED_ROW + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * La primera línea no vacía es la cabecera; si no trae todas las columnas se responde
+     * un único resultado inválido y se deja de leer el body.
+     */
+    private Flux<UserImportRow> csvRows(Flux<Line> lines) {
+        return lines.<UserImportRow>switchOnFirst((signal, flux) -> {
+            if (!signal.hasValue()) {
+                return signal.isOnError() ? Flux.error(signal.getThrowable()) : Flux.empty();
+            }
+            Line first = signal.get();
+            CsvHeader header = CsvHeader.parse(first.text());
+            if (header == null) {
+                return Flux.just(UserImportRow.invalid(first.number(),
+                        AuthConstants.MSG_IMPORT_CSV_HEADER + String.join(",", CSV_COLUMNS)));
+            }
+            return flux.skip(1).map(line -> csvRow(line, header));
+        });
+    }
+
+    private UserImportRow csvRow(Line line, CsvHeader header) {
+        List<String> fields = CsvLineParser.parse(line.text());
+        if (fields == null || fields.size() != header.width()) {
+            return UserImportRow.invalid(line.number(), AuthConstants.MSG_IMPORT_MALFORMED_ROW + line.text());
+        }
+        try {
+            UserRequestDTO dto = new UserRequestDTO();
+            dto.setName(header.value(fields, "name"));
+            dto.setLastName(header.value(fields, "lastName"));
+            dto.setEmail(header.value(fields, "email"));
+            dto.setDateOfBirth(header.value(fields, "dateOfBirth"));
+            dto.setIdentityDocument(header.value(fields, "identityDocument"));
+            dto.setTelephone(header.value(fields, "telephone"));
+            dto.setAddress(header.value(fields, "address"));
+            dto.setPassword(header.value(fields, "password"));
+            String salary = header.value(fields, "baseSalary");
+            dto.setBaseSalary(salary != null ? Double.valueOf(salary) : null);
+            String roleId = header.value(fields, "roleId");
+            dto.setRoleId(roleId != null ? Integer.valueOf(roleId) : null);
+            return toRow(line.number(), dto);
+        } catch (NumberFormatException e) {
+            return UserImportRow.invalid(line.number(), AuthConstants.MSG_IMPORT_MALFORMED_ROW + e.getMessage());
+        }
+    }
+
+    // Mismas validaciones de formato que el alta individual; las de negocio las aplica el caso de uso
+    private UserImportRow toRow(long number, UserRequestDTO dto) {
+        var violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String errs = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", "));
+            return UserImportRow.invalid(number, errs);
+        }
+        return UserImportRow.of(number, userApiMapper.toDomain(dto));
+    }
+
+    private static String stripCarriageReturn(String text) {
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    private record Line(long number, String text) {
+    }
+
+    /**
+     * Posición de cada columna según la cabecera recibida.
+     */
+    private record CsvHeader(Map<String, Integer> index, int width) {
+
+        static CsvHeader parse(String text) {
+            List<String> names = CsvLineParser.parse(text.charAt(0) == '\uFEFF' ? text.substring(1) : text);
+            if (names == null) return null;
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                index.put(names.get(i).trim(), i);
+            }
+            return index.keySet().containsAll(CSV_COLUMNS) ? new CsvHeader(index, names.size()) : null;
+        }
+
+        String value(List<String> fields, String column) {
+            String value = fields.get(index.get(column)).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package co.com.pragma.autenticacion.api.userimport;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros de la importación masiva de usuarios.
+ *
+ * @param batchSize       filas por lote (una consulta de unicidad y un INSERT multi-fila por lote).
+ * @param hashConcurrency passwords en hashing simultáneo; debe caber en el pool + cola de security.hashing.
+ */
+@ConfigurationProperties(prefix = "users.import")
+public record UserImportProperties(
+        Integer batchSize,
+        Integer hashConcurrency) {
+
+    public static final int DEFAULT_BATCH_SIZE = 200;
+    public static final int DEFAULT_HASH_CONCURRENCY = 4;
+
+    public UserImportProperties {
+        if (batchSize == null || batchSize < 1) batchSize = DEFAULT_BATCH_SIZE;
+        if (hashConcurrency == null || hashConcurrency < 1) hashConcurrency = DEFAULT_HASH_CONCURRENCY;
+    }
+}
@@ -0,0 +1,86 @@
+package co.com.pragma.autenticacion.api;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+class ErrorResponsesTest {
+
+    private static final String MESSAGE = "Valor \"inválido\" en C:\\tmp\n\u0001";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void simpleBody_constantMessage_shouldReuseThePrecomputedBytes() throws Exception {
+        byte[] body = ErrorResponses.simpleBody(AuthConstants.MSG_INVALID_CREDENTIALS);
+
+        assertEquals(AuthConstants.MSG_INVALID_CREDENTIALS, objectMapper.readTree(body).get("error").asText());
+        assertSame(body, ErrorResponses.simpleBody(AuthConstants.MSG_INVALID_CREDENTIALS));
+    }
+
+    @Test
+    void simpleBody_nonErrorConstant_shouldNotBePrecomputed() {
+        // Solo la lista explícita de mensajes de error; rutas, claims o plantillas de log no
+        assertNotSame(ErrorResponses.simpleBody(AuthConstants.USERS_BASE_PATH),
+                ErrorResponses.simpleBody(AuthConstants.USERS_BASE_PATH));
+    }
+
+    @Test
+    void simpleBody_variableMessage_shouldBeEscapedAndNotCached() throws Exception {
+        byte[] body = ErrorResponses.simpleBody(MESSAGE);
+
+        assertEquals(MESSAGE, objectMapper.readTree(body).get("error").asText());
+        assertNotSame(body, ErrorResponses.simpleBody(MESSAGE));
+    }
+
+    @Test
+    void toResponse_unexpectedError_shouldNotExposeExceptionMessage() {
+        WebTestClient client = WebTestClient.bindToRouterFunction(route()
+                .GET("/fail", request -> ErrorResponses.toResponse(new IllegalStateException("jdbc://secret-host")))
+                .build()).build();
+
+        client.get().uri("/fail")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo(AuthConstants.MSG_INTERNAL_ERROR);
+    }
+
+    @Test
+    void detailedBody_shouldSpliceTimestampAndPath() throws Exception {
+        DataBuffer buffer = ErrorResponses.detailedBody(DefaultDataBufferFactory.sharedInstance,
+                "VALIDATION_ERROR", "Error de validación", MESSAGE,
+                Instant.parse("2025-01-01T10:15:30.250Z"), "/api/v1/usuarios/\"x\"");
+
+        JsonNode json = objectMapper.readTree(buffer.toString(StandardCharsets.UTF_8));
+        assertEquals("VALIDATION_ERROR", json.get("code").asText());
+        assertEquals("Error de validación", json.get("message").asText());
+        assertEquals(MESSAGE, json.get("errors").get(0).asText());
+        assertEquals("2025-01-01T10:15:30Z", json.get("timestamp").asText());
+        assertEquals("/api/v1/usuarios/\"x\"", json.get("path").asText());
+    }
+
+    @Test
+    void detailedBody_withoutDetail_shouldOmitErrors() throws Exception {
+        DataBuffer buffer = ErrorResponses.detailedBody(DefaultDataBufferFactory.sharedInstance,
+                "SERVICE_UNAVAILABLE", "Servicio no disponible", null, Instant.EPOCH, "/api/v1/login");
+
+        JsonNode json = objectMapper.readTree(buffer.toString(StandardCharsets.UTF_8));
+        assertFalse(json.has("errors"));
+        assertEquals("1970-01-01T00:00:00Z", json.get("timestamp").asText());
+    }
+}
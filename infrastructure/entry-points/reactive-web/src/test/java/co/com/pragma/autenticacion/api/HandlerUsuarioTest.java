@@ -1,9 +1,15 @@
 package co.com.pragma.autenticacion.api;
 
+import co.com.pragma.autenticacion.api.dto.UserExportDTO;
+import co.com.pragma.autenticacion.api.dto.UserPatchDTO;
 import co.com.pragma.autenticacion.api.dto.UserRequestDTO;
 import co.com.pragma.autenticacion.api.mapper.UserApiMapper;
 import co.com.pragma.autenticacion.model.auth.gateways.PasswordEncoderPort;
 import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.model.user.UserPage;
+import co.com.pragma.autenticacion.usecase.exceptions.DuplicateException;
+import co.com.pragma.autenticacion.usecase.exceptions.NotFoundException;
+import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
 import co.com.pragma.autenticacion.usecase.user.UserUseCase;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
@@ -13,10 +19,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -60,21 +68,14 @@ class HandlerUsuarioTest {
                     .build();
         });
 
-        // Mapper seguro: Domain -> DTO
-        when(usuarioMapper.toDTO(any(User.class))).thenAnswer(invocation -> {
+        // Mapper seguro: Domain -> DTO de lectura (sin password)
+        when(usuarioMapper.toExportDTO(any(User.class))).thenAnswer(invocation -> {
             User user = invocation.getArgument(0);
-            UserRequestDTO dto = new UserRequestDTO();
-            dto.setName(user.getName());
-            dto.setLastName(user.getLastName());
-            dto.setEmail(user.getEmail());
-            dto.setIdentityDocument(user.getIdentityDocument());
-            dto.setDateOfBirth(user.getDateOfBirth());
-            dto.setTelephone(user.getTelephone());
-            dto.setBaseSalary(user.getBaseSalary() != null ? user.getBaseSalary().doubleValue() : null);
-            dto.setAddress(user.getAddress());
-            dto.setRoleId(user.getIdRole() != null ? user.getIdRole().intValue() : null);
-            dto.setPassword(user.getPassword());
-            return dto;
+            return UserExportDTO.builder()
+                    .id(user.getIdNumber()).name(user.getName()).lastName(user.getLastName()).email(user.getEmail())
+                    .baseSalary(user.getBaseSalary())
+                    .roleId(user.getIdRole() != null ? user.getIdRole().intValue() : null)
+                    .build();
         });
 
         // Handler real con los mocks
@@ -83,6 +84,10 @@ class HandlerUsuarioTest {
         // Router mínimo para pruebas
         RouterFunction<ServerResponse> router = route()
                 .POST("/api/v1/usuarios", handler::registerUser)
+                .GET("/api/v1/usuarios", handler::getAllUsers)
+                .GET("/api/v1/usuarios/export", handler::exportUsers)
+                .PUT("/api/v1/usuarios/{id}", handler::editUser)
+                .PATCH("/api/v1/usuarios/{id}", handler::patchUser)
                 .build();
 
         webTestClient = WebTestClient.bindToRouterFunction(router).build();
@@ -140,4 +145,165 @@ class HandlerUsuarioTest {
                 .expectBody()
                 .jsonPath("$.error").exists();
     }
+
+    @Test
+    void userRegister_duplicate_singleInsertWithoutExistenceQueries() {
+        UserRequestDTO dto = createTestUserDTO();
+        when(validator.validate(any(UserRequestDTO.class))).thenReturn(Collections.emptySet());
+        when(userUseCase.saveUser(any(User.class)))
+                .thenReturn(Mono.error(new DuplicateException("El correo ya está registrado")));
+
+        webTestClient.post()
+                .uri("/api/v1/usuarios")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(dto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("El correo ya está registrado");
+
+        // La unicidad ya no se consulta antes del INSERT
+        verify(userUseCase, never()).existsByEmail(anyString());
+        verify(userUseCase, never()).existsByDocument(anyString());
+        verify(userUseCase).saveUser(any(User.class));
+    }
+
+    @Test
+    void getAllUsers_pageAndStream_neverExposePassword() {
+        User user = User.builder().idNumber(7L).name("Ana").email("ana@test.com").password("hash").build();
+        when(userUseCase.getUsersPage(null, null)).thenReturn(Mono.just(new UserPage(List.of(user), null)));
+        when(userUseCase.streamUsers(null, null)).thenReturn(Flux.just(user));
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo(7)
+                .jsonPath("$.items[0].password").doesNotExist();
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("ana@test.com")
+                .jsonPath("$.password").doesNotExist();
+    }
+
+    @Test
+    void editUser_usesIdFromPath() {
+        UserRequestDTO dto = createTestUserDTO();
+        when(userUseCase.editUser(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        webTestClient.put()
+                .uri("/api/v1/usuarios/9")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(dto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(9)
+                .jsonPath("$.password").doesNotExist();
+
+        verify(userUseCase).editUser(argThat(user -> Long.valueOf(9L).equals(user.getIdNumber())));
+    }
+
+    @Test
+    void editUser_notFound() {
+        when(userUseCase.editUser(any(User.class))).thenReturn(Mono.error(new NotFoundException("no existe")));
+
+        webTestClient.put()
+                .uri("/api/v1/usuarios/9")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTestUserDTO())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void patchUser_sendsOnlyPresentFields() {
+        UserPatchDTO dto = new UserPatchDTO();
+        dto.setTelephone("3009876543");
+        User changes = User.builder().telephone("3009876543").build();
+        when(validator.validate(any(UserPatchDTO.class))).thenReturn(Collections.emptySet());
+        when(usuarioMapper.patchToDomain(any(UserPatchDTO.class))).thenReturn(changes);
+        when(userUseCase.patchUser(9L, changes)).thenReturn(Mono.empty());
+
+        webTestClient.patch()
+                .uri("/api/v1/usuarios/9")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(dto)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(userUseCase).patchUser(9L, changes);
+    }
+
+    @Test
+    void patchUser_invalidOrMissing() {
+        when(validator.validate(any(UserPatchDTO.class))).thenReturn(Collections.emptySet());
+        when(usuarioMapper.patchToDomain(any(UserPatchDTO.class))).thenReturn(new User());
+        when(userUseCase.patchUser(eq(9L), any(User.class)))
+                .thenReturn(Mono.error(new ValidationException("Debe enviar al menos un campo")));
+        when(userUseCase.patchUser(eq(10L), any(User.class)))
+                .thenReturn(Mono.error(new NotFoundException("no existe")));
+
+        webTestClient.patch()
+                .uri("/api/v1/usuarios/9")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPatchDTO())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Debe enviar al menos un campo");
+
+        webTestClient.patch()
+                .uri("/api/v1/usuarios/10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPatchDTO())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void exportUsers_csv_streamsRowsWithoutPassword() {
+        User user = User.builder()
+                .idNumber(5L).name("Ana").lastName("Diaz, Ruiz").email("ana@test.com")
+                .baseSalary(new BigDecimal("2000.50")).idRole(BigDecimal.ONE).password("hash")
+                .build();
+        when(userUseCase.exportUsers()).thenReturn(Flux.just(user));
+        when(usuarioMapper.toExportDTO(any(User.class))).thenAnswer(invocation -> {
+            User u = invocation.getArgument(0);
+            return UserExportDTO.builder()
+                    .id(u.getIdNumber()).name(u.getName()).lastName(u.getLastName()).email(u.getEmail())
+                    .baseSalary(u.getBaseSalary()).roleId(u.getIdRole().intValue())
+                    .build();
+        });
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios/export?format=csv")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith("text/csv")
+                .expectBody(String.class)
+                .isEqualTo("id,name,lastName,email,dateOfBirth,identityDocument,telephone,address,baseSalary,roleId\n"
+                        + "5,Ana,\"Diaz, Ruiz\",ana@test.com,,,,,2000.50,1\n");
+    }
+
+    @Test
+    void exportUsers_defaultsToNdjson() {
+        when(userUseCase.exportUsers()).thenReturn(Flux.just(User.builder().idNumber(5L).password("hash").build()));
+        when(usuarioMapper.toExportDTO(any(User.class))).thenReturn(UserExportDTO.builder().id(5L).build());
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(5)
+                .jsonPath("$.password").doesNotExist();
+    }
 }
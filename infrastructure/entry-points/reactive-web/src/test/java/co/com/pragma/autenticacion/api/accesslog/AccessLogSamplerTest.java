@@ -0,0 +1,45 @@
+package co.com.pragma.autenticacion.api.accesslog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccessLogSamplerTest {
+
+    private static final AccessLogProperties PROPERTIES = new AccessLogProperties(true,
+            new AccessLogProperties.Rates(0.5, null, null, null),
+            List.of(new AccessLogProperties.Route("/api/v1/login", new AccessLogProperties.Rates(0.01, null, 0.1, null)),
+                    new AccessLogProperties.Route("/actuator/**", new AccessLogProperties.Rates(0.0, null, null, null))));
+
+    @Test
+    void rate_shouldResolveRouteThenGlobalThenDefaults() {
+        AccessLogSampler sampler = new AccessLogSampler(PROPERTIES, () -> 0.0);
+
+        assertEquals(0.01, sampler.rate(path("/api/v1/login"), 200));
+        assertEquals(0.1, sampler.rate(path("/api/v1/login"), 401));
+        assertEquals(1.0, sampler.rate(path("/api/v1/login"), 503));   // default de la clase 5xx
+        assertEquals(0.5, sampler.rate(path("/api/v1/usuarios/7"), 204));
+        assertEquals(0.1, sampler.rate(path("/api/v1/usuarios/7"), 302));
+        assertEquals(0.0, sampler.rate(path("/actuator/health/liveness"), 200));
+    }
+
+    @Test
+    void sample_shouldKeepOnlyDrawsBelowTheRate() {
+        assertEquals(0.5, new AccessLogSampler(PROPERTIES, () -> 0.49).sample(path("/api/v1/roles"), 201));
+        assertEquals(0.0, new AccessLogSampler(PROPERTIES, () -> 0.5).sample(path("/api/v1/roles"), 201));
+        assertEquals(0.0, new AccessLogSampler(PROPERTIES, () -> 0.0).sample(path("/actuator/prometheus"), 200));
+    }
+
+    @Test
+    void format_shouldWriteSingleKeyValueLine() {
+        assertEquals("method=POST path=/api/v1/login status=401 latency_ms=12.045 sample=0.1 rid=1a2b3c4d",
+                AccessLogFilter.format("POST", "/api/v1/login", 401, 12_045_678L, 0.1, "1a2b3c4d"));
+    }
+
+    private static PathContainer path(String value) {
+        return PathContainer.parsePath(value);
+    }
+}
@@ -0,0 +1,129 @@
+package co.com.pragma.autenticacion.api.throttle;
+
+import co.com.pragma.autenticacion.usecase.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long WINDOW_MS = 60_000;
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    @Test
+    void rejectsAfterLimitWithinWindow() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW_MS, 1000, now::get);
+
+        assertTrue(limiter.tryAcquire("a@test.com"));
+        assertTrue(limiter.tryAcquire("a@test.com"));
+        assertTrue(limiter.tryAcquire("a@test.com"));
+        assertFalse(limiter.tryAcquire("a@test.com"));
+
+        // Otra clave tiene su propio cupo
+        assertTrue(limiter.tryAcquire("b@test.com"));
+    }
+
+    @Test
+    void previousWindowIsWeightedAndThenForgotten() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, WINDOW_MS, 1000, now::get);
+        for (int i = 0; i < 4; i++) assertTrue(limiter.tryAcquire("k"));
+
+        // Al inicio de la siguiente ventana los 4 anteriores pesan completos
+        now.set(WINDOW_MS);
+        assertFalse(limiter.tryAcquire("k"));
+
+        // A mitad de ventana pesan 2: quedan 2 intentos
+        now.set(WINDOW_MS + WINDOW_MS / 2);
+        assertTrue(limiter.tryAcquire("k"));
+        assertTrue(limiter.tryAcquire("k"));
+        assertFalse(limiter.tryAcquire("k"));
+
+        // Dos ventanas después ya no queda historial
+        now.set(3 * WINDOW_MS);
+        assertTrue(limiter.tryAcquire("k"));
+    }
+
+    @Test
+    void memoryIsBounded() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1, WINDOW_MS, 160, now::get);
+
+        for (int i = 0; i < 10_000; i++) limiter.tryAcquire("user" + i + "@test.com");
+
+        assertTrue(limiter.size() <= 160, "claves retenidas: " + limiter.size());
+    }
+
+    @Test
+    void throttledKeySurvivesEvictionPressure() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW_MS, 160, now::get);
+        for (int i = 0; i < 3; i++) assertTrue(limiter.tryAcquire("attacker@test.com"));
+
+        // Claves nuevas por debajo del límite llenan todos los stripes varias veces
+        for (int i = 0; i < 10_000; i++) limiter.tryAcquire("user" + i + "@test.com");
+
+        assertFalse(limiter.tryAcquire("attacker@test.com"));
+        assertTrue(limiter.size() <= 160, "claves retenidas: " + limiter.size());
+    }
+
+    @Test
+    void fullStripesCountNewKeysConcurrently() throws Exception {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW_MS, 160, now::get);
+        // Llena todos los stripes con claves bloqueadas (y agota su cupo de desborde)
+        for (int i = 0; i < 2_000; i++) {
+            for (int attempt = 0; attempt < 3; attempt++) limiter.tryAcquire("junk" + i + "@test.com");
+        }
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire("victim" + thread + "-" + i + "@test.com")) admitted.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(0, admitted.get(), "intentos admitidos sin contar");
+        assertTrue(limiter.size() <= 160, "claves retenidas: " + limiter.size());
+    }
+
+    @Test
+    void loginThrottleRejectsByIpBeforeEmail() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginThrottle throttle = new LoginThrottle(
+                new LoginThrottleProperties(true, 10, 2, Duration.ofMinutes(1), 1000), registry);
+
+        StepVerifier.create(throttle.check("a@test.com", "10.0.0.1")).verifyComplete();
+        StepVerifier.create(throttle.check("b@test.com", "10.0.0.1")).verifyComplete();
+        StepVerifier.create(throttle.check("c@test.com", "10.0.0.1"))
+                .expectError(TooManyRequestsException.class)
+                .verify();
+
+        assertEquals(1.0, registry.get("auth.login.throttled").tag("key", "ip").counter().count());
+        assertEquals(0.0, registry.get("auth.login.throttled").tag("key", "email").counter().count());
+    }
+}
@@ -0,0 +1,26 @@
+package co.com.pragma.autenticacion.api.userimport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvLineParserTest {
+
+    @Test
+    void splitsPlainFields() {
+        assertEquals(List.of("Ana", "Martinez", "", "ana@test.com"), CsvLineParser.parse("Ana,Martinez,,ana@test.com"));
+    }
+
+    @Test
+    void keepsCommasAndEscapedQuotesInsideQuotedFields() {
+        assertEquals(List.of("Calle 1, apto \"2\"", "3000000"), CsvLineParser.parse("\"Calle 1, apto \"\"2\"\"\",3000000"));
+    }
+
+    @Test
+    void unterminatedQuoteIsMalformed() {
+        assertNull(CsvLineParser.parse("Ana,\"Martinez"));
+    }
+}
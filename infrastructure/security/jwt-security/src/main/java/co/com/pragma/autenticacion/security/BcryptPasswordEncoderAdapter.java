@@ -0,0 +1,70 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.model.auth.gateways.PasswordEncoderPort;
+import co.com.pragma.autenticacion.usecase.exceptions.DomainErrors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Implementación de PasswordEncoderPort basada en BCrypt.
+ *
+ * Explicación:
+ * - BCrypt consume ~100ms de CPU por operación, por eso NUNCA se ejecuta en el event loop de Netty.
+ * - Cada operación se agenda en un Scheduler dedicado y acotado (hilos + cola con capacidad fija).
+ * - Si la cola está llena, se rechaza de inmediato con ServiceUnavailableException (HTTP 503)
+ *   en lugar de acumular trabajo que nunca alcanzará a atenderse.
+ * - Registra la latencia de cada hash y el número de rechazos en Micrometer.
+ */
+public class BcryptPasswordEncoderAdapter implements PasswordEncoderPort {
+
+    private final BCryptPasswordEncoder encoder;
+    private final Scheduler hashingScheduler;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BcryptPasswordEncoderAdapter(BCryptPasswordEncoder encoder,
+                                        Scheduler hashingScheduler,
+                                        MeterRegistry meterRegistry) {
+        this.encoder = encoder;
+        this.hashingScheduler = hashingScheduler;
+        this.encodeTimer = Timer.builder("auth.hashing.latency")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.hashing.latency")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.hashing.rejected")
+                .description("Operaciones de hashing rechazadas por saturación")
+                .register(meterRegistry);
+    }
+
+    // Encripta una contraseña en el scheduler dedicado.
+    @Override
+    public Mono<String> encode(String raw) {
+        return Mono.fromCallable(() -> encodeTimer.record(() -> encoder.encode(raw)))
+                .subscribeOn(hashingScheduler)
+                .onErrorMap(RejectedExecutionException.class, this::saturated);
+    }
+
+    // Verifica una contraseña contra su hash en el scheduler dedicado.
+    @Override
+    public Mono<Boolean> matches(String raw, String encoded) {
+        return Mono.fromCallable(() -> matchesTimer.record(() -> encoder.matches(raw, encoded)))
+                .subscribeOn(hashingScheduler)
+                .onErrorMap(RejectedExecutionException.class, this::saturated);
+    }
+
+    private Throwable saturated(RejectedExecutionException e) {
+        rejected.increment();
+        return DomainErrors.SERVICE_BUSY;
+    }
+}
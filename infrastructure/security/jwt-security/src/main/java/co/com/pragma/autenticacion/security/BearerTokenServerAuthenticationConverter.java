@@ -1,26 +1,71 @@
 package co.com.pragma.autenticacion.security;
 import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+
 @Component
 public class BearerTokenServerAuthenticationConverter implements ServerAuthenticationConverter {
+
+    // Tokens descartados antes de verificar la firma, por motivo.
+    private final Counter malformed;
+    private final Counter expired;
+    private final Clock clock;
+
+    @Autowired
+    public BearerTokenServerAuthenticationConverter(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    BearerTokenServerAuthenticationConverter(MeterRegistry meterRegistry, Clock clock) {
+        this.malformed = Counter.builder("auth.token.rejected").tag("reason", "malformed").register(meterRegistry);
+        this.expired = Counter.builder("auth.token.rejected").tag("reason", "expired").register(meterRegistry);
+        this.clock = clock;
+    }
+
     @Override
     public Mono<Authentication> convert(ServerWebExchange exchange) {
         // Obtiene el header Authorization de la petición.
         String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-        // Si existe y empieza por "Bearer ", extrae el token.
-        if (header != null && header.startsWith(AuthConstants.BEARER_PREFIX)) {
-            String token = header.substring(AuthConstants.BEARER_PREFIX.length());
-            // Devuelve un UsernamePasswordAuthenticationToken con el token como credenciales y principal.
-            return Mono.just(new UsernamePasswordAuthenticationToken(token, token));
-        }
         // Si no hay token, retorna Mono vacío (no autenticado).
-        return Mono.empty();
+        if (header == null || !header.startsWith(AuthConstants.BEARER_PREFIX)) {
+            return Mono.empty();
+        }
+        String token = header.substring(AuthConstants.BEARER_PREFIX.length());
+        // Basura o tokens vencidos se rechazan aquí (401) sin firma, parser ni pila de excepción.
+        JwtPrecheck.Result result = JwtPrecheck.check(token, clock.millis());
+        if (result == JwtPrecheck.Result.MALFORMED) {
+            malformed.increment();
+            return Mono.error(new RejectedTokenException("Token mal formado"));
+        }
+        if (result == JwtPrecheck.Result.EXPIRED) {
+            expired.increment();
+            return Mono.error(new RejectedTokenException("Token expirado"));
+        }
+        return Mono.just(new BearerToken(token));
+    }
+
+    /**
+     * Token sin verificar: el mismo String como credenciales y principal, sin autoridades.
+     */
+    static final class BearerToken extends AbstractAuthenticationToken {
+        private final String token;
+
+        BearerToken(String token) {
+            super(null);
+            this.token = token;
+        }
+
+        @Override public Object getCredentials() { return token; }
+        @Override public Object getPrincipal() { return token; }
     }
-}
\ No newline at end of file
+}
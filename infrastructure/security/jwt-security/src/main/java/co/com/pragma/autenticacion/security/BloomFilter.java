@@ -0,0 +1,94 @@
+package co.com.pragma.autenticacion.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom concurrente para cadenas (jti).
+ *
+ * Explicación:
+ * - mightContain == false garantiza que la clave no fue agregada: el caso común se resuelve
+ *   con k lecturas de bits, sin tocar mapas ni asignar memoria.
+ * - mightContain == true puede ser un falso positivo: el llamador confirma contra el conjunto exacto.
+ * - add es seguro entre hilos (OR atómico por palabra); no admite borrado, se reconstruye al compactar.
+ */
+final class BloomFilter {
+
+    private static final long MAX_BITS = 1L << 31;
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int hashes;
+
+    private BloomFilter(long numBits, int hashes) {
+        this.words = new AtomicLongArray((int) (numBits >>> 6));
+        this.numBits = numBits;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Dimensiona el filtro: m = -n·ln(p) / ln(2)², k = m/n · ln(2).
+     */
+    static BloomFilter create(int expectedEntries, double falsePositiveRate) {
+        int n = Math.max(1, expectedEntries);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        // Múltiplo de 64, entre una palabra y 2^31 bits (el rango que alcanza index()).
+        bits = Math.min(Math.max(64, (bits + 63) & ~63L), MAX_BITS);
+        int k = Math.max(1, (int) Math.round((double) bits / n * ln2));
+        return new BloomFilter(bits, k);
+    }
+
+    void add(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.weakCompareAndSetVolatile(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    long bitSize() {
+        return numBits;
+    }
+
+    int hashCount() {
+        return hashes;
+    }
+
+    // Doble hashing (Kirsch–Mitzenmacher): g_i = h1 + i·h2, llevado a [0, numBits).
+    private long index(int combined) {
+        return (combined & 0x7fffffffL) % numBits;
+    }
+
+    // FNV-1a de 64 bits sobre los caracteres, seguido del mezclador final de MurmurHash3.
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, len = key.length(); i < len; i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
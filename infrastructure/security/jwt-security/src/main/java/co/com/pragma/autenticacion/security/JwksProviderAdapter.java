@@ -0,0 +1,33 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.JwksProvider;
+import co.com.pragma.autenticacion.security.config.JwtSigningProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Expone el JWKS del anillo de llaves; el documento se serializa una sola vez al arrancar.
+ */
+@Component
+public class JwksProviderAdapter implements JwksProvider {
+
+    private final Mono<String> jwks;
+    private final Duration maxAge;
+
+    public JwksProviderAdapter(JwtKeyRing keyRing, JwtSigningProperties properties) {
+        this.jwks = Mono.just(keyRing.jwksJson());
+        this.maxAge = properties.jwksMaxAge();
+    }
+
+    @Override
+    public Mono<String> getJwks() {
+        return jwks;
+    }
+
+    @Override
+    public Duration cacheMaxAge() {
+        return maxAge;
+    }
+}
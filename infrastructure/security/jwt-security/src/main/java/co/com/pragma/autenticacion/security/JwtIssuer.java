@@ -0,0 +1,352 @@
+package co.com.pragma.autenticacion.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.crypto.EllipticCurveProvider;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Emisor de JWT compactos sin pasar por Jwts.builder().
+ *
+ * Explicación:
+ * - El header ({"kid":..,"alg":..} o {"alg":"HS256"}) se serializa y codifica una sola vez por anillo.
+ * - Los claims se escriben como JSON UTF-8 directamente en un buffer por hilo, en el orden de llamada
+ *   y con el mismo escape que Jackson: el token sale idéntico byte a byte al que arma jjwt.
+ * - Cada hilo tiene su propio Mac (HS256) o Signature (RS256/ES256) ya inicializado con la llave activa.
+ */
+final class JwtIssuer {
+
+    private static final byte[] B64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX_LOWER = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX_UPPER = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    // Tamaño de firma JOSE de ES256 (r || s, 32 bytes cada uno)
+    private static final int ES256_SIGNATURE_LENGTH = 64;
+
+    private final JwtKeyRing keyRing;
+    private final byte[] encodedHeader;
+    private final ThreadLocal<Payload> payloads = ThreadLocal.withInitial(Payload::new);
+
+    JwtIssuer(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.encodedHeader = Base64.getUrlEncoder().withoutPadding()
+                .encode(headerJson(keyRing).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Empieza un token en el buffer del hilo actual; se termina con {@link Payload#compact()}.
+     */
+    Payload begin() {
+        Payload payload = payloads.get();
+        payload.reset();
+        return payload;
+    }
+
+    // Mismo orden que deja jjwt: el kid se agrega antes y el alg al compactar
+    private static String headerJson(JwtKeyRing keyRing) {
+        String alg = "\"alg\":\"" + keyRing.algorithm().getValue() + "\"";
+        String kid = keyRing.activeKid();
+        return kid != null ? "{\"kid\":\"" + kid + "\"," + alg + "}" : "{" + alg + "}";
+    }
+
+    /**
+     * Claims del token en construcción. Como en jjwt, los valores null no se escriben.
+     */
+    final class Payload {
+
+        private byte[] json = new byte[512];
+        private byte[] out = new byte[1024];
+        private int len;
+        private boolean empty;
+        private final Mac mac;
+        private final byte[] macOut;
+        private final Signature signature;
+        private final int signatureLength;
+
+        private Payload() {
+            SignatureAlgorithm algorithm = keyRing.algorithm();
+            try {
+                if (algorithm.isHmac()) {
+                    mac = Mac.getInstance(algorithm.getJcaName());
+                    mac.init(keyRing.signingKey());
+                    macOut = new byte[mac.getMacLength()];
+                    signature = null;
+                    signatureLength = macOut.length;
+                } else {
+                    mac = null;
+                    macOut = null;
+                    signature = Signature.getInstance(algorithm.getJcaName());
+                    signature.initSign((PrivateKey) keyRing.signingKey());
+                    signatureLength = algorithm.isEllipticCurve()
+                            ? ES256_SIGNATURE_LENGTH
+                            : (((RSAKey) keyRing.signingKey()).getModulus().bitLength() + 7) / 8;
+                }
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("No se pudo inicializar la firma " + algorithm, e);
+            }
+        }
+
+        private void reset() {
+            len = 0;
+            empty = true;
+            json[len++] = '{';
+            if (mac != null) mac.reset();
+        }
+
+        Payload string(String name, String value) {
+            if (value == null) return this;
+            key(name);
+            quoted(value);
+            return this;
+        }
+
+        /**
+         * Escribe first + " " + second (null se escribe como "null", igual que la concatenación).
+         */
+        Payload string(String name, String first, String second) {
+            key(name);
+            ensure(2);
+            json[len++] = '"';
+            chars(String.valueOf(first));
+            ensure(1);
+            json[len++] = ' ';
+            chars(String.valueOf(second));
+            ensure(1);
+            json[len++] = '"';
+            return this;
+        }
+
+        Payload number(String name, Long value) {
+            if (value == null) return this;
+            return number(name, value.longValue());
+        }
+
+        Payload number(String name, long value) {
+            key(name);
+            digits(value);
+            return this;
+        }
+
+        /**
+         * Escribe el UUID en su forma textual (8-4-4-4-12, minúsculas) sin crear el String.
+         */
+        Payload uuid(String name, UUID value) {
+            key(name);
+            ensure(38);
+            long msb = value.getMostSignificantBits();
+            long lsb = value.getLeastSignificantBits();
+            json[len++] = '"';
+            hex(msb >>> 32, 8);
+            json[len++] = '-';
+            hex(msb >>> 16, 4);
+            json[len++] = '-';
+            hex(msb, 4);
+            json[len++] = '-';
+            hex(lsb >>> 48, 4);
+            json[len++] = '-';
+            hex(lsb, 12);
+            json[len++] = '"';
+            return this;
+        }
+
+        Payload strings(String name, List<String> values) {
+            if (values == null) return this;
+            key(name);
+            ensure(1);
+            json[len++] = '[';
+            for (int i = 0; i < values.size(); i++) {
+                ensure(5);
+                if (i > 0) json[len++] = ',';
+                String value = values.get(i);
+                if (value == null) {
+                    json[len++] = 'n';
+                    json[len++] = 'u';
+                    json[len++] = 'l';
+                    json[len++] = 'l';
+                } else {
+                    quoted(value);
+                }
+            }
+            ensure(1);
+            json[len++] = ']';
+            return this;
+        }
+
+        /**
+         * Cierra el JSON, lo codifica junto al header y lo firma: header.payload.firma.
+         */
+        String compact() {
+            ensure(1);
+            json[len++] = '}';
+            int capacity = encodedHeader.length + 2 + encodedLength(len) + encodedLength(signatureLength);
+            if (out.length < capacity) out = new byte[Math.max(capacity, out.length * 2)];
+
+            System.arraycopy(encodedHeader, 0, out, 0, encodedHeader.length);
+            int pos = encodedHeader.length;
+            out[pos++] = '.';
+            pos = encode(json, len, out, pos);
+            int signed = pos;
+            out[pos++] = '.';
+            try {
+                if (mac != null) {
+                    mac.update(out, 0, signed);
+                    mac.doFinal(macOut, 0);
+                    pos = encode(macOut, macOut.length, out, pos);
+                } else {
+                    signature.update(out, 0, signed);
+                    byte[] sig = signature.sign();
+                    if (keyRing.algorithm().isEllipticCurve()) {
+                        sig = EllipticCurveProvider.transcodeSignatureToConcat(sig, ES256_SIGNATURE_LENGTH);
+                    }
+                    pos = encode(sig, sig.length, out, pos);
+                }
+            } catch (GeneralSecurityException e) {
+                throw new JwtException("No se pudo firmar el token", e);
+            }
+            // Todo el token es ASCII: ISO-8859-1 copia los bytes sin decodificar
+            return new String(out, 0, pos, StandardCharsets.ISO_8859_1);
+        }
+
+        // ---------------------- JSON ----------------------
+        private void key(String name) {
+            ensure(1);
+            if (!empty) json[len++] = ',';
+            empty = false;
+            quoted(name);
+            ensure(1);
+            json[len++] = ':';
+        }
+
+        private void quoted(String value) {
+            ensure(1);
+            json[len++] = '"';
+            chars(value);
+            ensure(1);
+            json[len++] = '"';
+        }
+
+        // UTF-8 con el escape por defecto de Jackson: comillas, barra invertida y controles (< 0x20)
+        private void chars(String value) {
+            ensure(value.length() * 6);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        json[len++] = (byte) c;
+                    } else {
+                        escape(c);
+                    }
+                } else if (c < 0x800) {
+                    json[len++] = (byte) (0xC0 | (c >> 6));
+                    json[len++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    json[len++] = (byte) (0xF0 | (cp >> 18));
+                    json[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    json[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    json[len++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    json[len++] = '?';
+                } else {
+                    json[len++] = (byte) (0xE0 | (c >> 12));
+                    json[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    json[len++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void escape(char c) {
+            json[len++] = '\\';
+            switch (c) {
+                case '"' -> json[len++] = '"';
+                case '\\' -> json[len++] = '\\';
+                case '\b' -> json[len++] = 'b';
+                case '\t' -> json[len++] = 't';
+                case '\f' -> json[len++] = 'f';
+                case '\n' -> json[len++] = 'n';
+                case '\r' -> json[len++] = 'r';
+                default -> {
+                    json[len++] = 'u';
+                    json[len++] = '0';
+                    json[len++] = '0';
+                    json[len++] = HEX_UPPER[c >> 4];
+                    json[len++] = HEX_UPPER[c & 0xF];
+                }
+            }
+        }
+
+        private void digits(long value) {
+            if (value == Long.MIN_VALUE) {
+                chars(Long.toString(value));
+                return;
+            }
+            ensure(20);
+            if (value < 0) {
+                json[len++] = '-';
+                value = -value;
+            }
+            int start = len;
+            do {
+                json[len++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            for (int i = start, j = len - 1; i < j; i++, j--) {
+                byte tmp = json[i];
+                json[i] = json[j];
+                json[j] = tmp;
+            }
+        }
+
+        private void hex(long value, int digits) {
+            for (int i = digits - 1; i >= 0; i--) {
+                json[len + i] = HEX_LOWER[(int) (value & 0xF)];
+                value >>>= 4;
+            }
+            len += digits;
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > json.length) json = Arrays.copyOf(json, Math.max(json.length * 2, len + extra));
+        }
+    }
+
+    // ---------------------- BASE64URL ----------------------
+    static int encodedLength(int length) {
+        int rem = length % 3;
+        return (length / 3) * 4 + (rem == 0 ? 0 : rem + 1);
+    }
+
+    // Base64url sin relleno escrito en dst desde pos; devuelve la nueva posición
+    static int encode(byte[] src, int length, byte[] dst, int pos) {
+        int end = length - length % 3;
+        for (int i = 0; i < end; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[pos++] = B64URL[bits >>> 18];
+            dst[pos++] = B64URL[(bits >>> 12) & 0x3F];
+            dst[pos++] = B64URL[(bits >>> 6) & 0x3F];
+            dst[pos++] = B64URL[bits & 0x3F];
+        }
+        if (length - end == 1) {
+            int bits = (src[end] & 0xFF) << 16;
+            dst[pos++] = B64URL[bits >>> 18];
+            dst[pos++] = B64URL[(bits >>> 12) & 0x3F];
+        } else if (length - end == 2) {
+            int bits = (src[end] & 0xFF) << 16 | (src[end + 1] & 0xFF) << 8;
+            dst[pos++] = B64URL[bits >>> 18];
+            dst[pos++] = B64URL[(bits >>> 12) & 0x3F];
+            dst[pos++] = B64URL[(bits >>> 6) & 0x3F];
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,250 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.security.config.JwtSigningProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Anillo de llaves de firma de JWT.
+ *
+ * Explicación:
+ * - HS256: una sola llave simétrica (security.jwt.secret), sin "kid" y sin JWKS publicable.
+ * - RS256/ES256: una llave activa que firma (su "kid" va en el header) y llaves en retiro que solo validan.
+ * - El JWKS (solo llaves públicas) se serializa una vez al construir el anillo.
+ * - En modo asimétrico, los tokens HS256 (sin "kid") solo se aceptan si se habilitó acceptHmac, su "iat"
+ *   es anterior a hmacCutover y aún no pasó el TTL del refresh token desde el cambio. Un token HS256
+ *   recién firmado con el secreto nunca vale.
+ */
+public final class JwtKeyRing {
+
+    private static final Pattern KID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SignatureAlgorithm algorithm;
+    private final Key signingKey;
+    private final String activeKid;
+    private final Map<String, PublicKey> verificationKeys;
+    private final SecretKey hmacKey;
+    private final Instant hmacCutover;
+    private final Instant hmacDeadline;
+    private final String jwksJson;
+
+    private JwtKeyRing(SignatureAlgorithm algorithm, Key signingKey, String activeKid,
+                       Map<String, PublicKey> verificationKeys, SecretKey hmacKey, Instant hmacCutover) {
+        this.algorithm = algorithm;
+        this.signingKey = signingKey;
+        this.activeKid = activeKid;
+        this.verificationKeys = Map.copyOf(verificationKeys);
+        this.hmacKey = hmacKey;
+        this.hmacCutover = hmacCutover;
+        this.hmacDeadline = hmacCutover == null ? null : hmacCutover.plusMillis(AuthConstants.REFRESH_TOKEN_TTL_MS);
+        this.jwksJson = toJwks(algorithm, verificationKeys);
+    }
+
+    /**
+     * Anillo simétrico HS256 (comportamiento original).
+     */
+    public static JwtKeyRing hmac(String secret) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return new JwtKeyRing(SignatureAlgorithm.HS256, key, null, Map.of(), key, null);
+    }
+
+    /**
+     * Construye el anillo desde la configuración. Falla al arrancar si las llaves no son coherentes.
+     */
+    public static JwtKeyRing from(JwtSigningProperties properties, String secret) {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(properties.algorithm());
+        if (algorithm == SignatureAlgorithm.HS256) return hmac(secret);
+        if (algorithm != SignatureAlgorithm.RS256 && algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalStateException("Algoritmo de firma no soportado: " + algorithm);
+        }
+
+        String keyType = algorithm.isRsa() ? "RSA" : "EC";
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        PrivateKey active = null;
+        String activeKid = null;
+        for (JwtSigningProperties.Key key : properties.keys()) {
+            if (key.kid() == null || !KID.matcher(key.kid()).matches()) {
+                throw new IllegalStateException("kid inválido: " + key.kid());
+            }
+            if (publicKeys.containsKey(key.kid())) {
+                throw new IllegalStateException("kid duplicado: " + key.kid());
+            }
+            PrivateKey privateKey = null;
+            if (!key.isRetiring()) {
+                if (active != null) throw new IllegalStateException("Solo puede haber una llave activa");
+                if (key.privateKey() == null) throw new IllegalStateException("La llave activa requiere privateKey");
+                privateKey = readPrivateKey(key.privateKey(), keyType);
+                active = privateKey;
+                activeKid = key.kid();
+            }
+            PublicKey publicKey = publicKeyOf(key, privateKey, keyType);
+            if (publicKey instanceof ECPublicKey ec && ec.getParams().getCurve().getField().getFieldSize() != 256) {
+                throw new IllegalStateException("ES256 requiere llaves P-256: " + key.kid());
+            }
+            publicKeys.put(key.kid(), publicKey);
+        }
+        if (active == null) throw new IllegalStateException("No hay llave activa para " + algorithm);
+
+        SecretKey legacy = null;
+        if (Boolean.TRUE.equals(properties.acceptHmac())) {
+            if (properties.hmacCutover() == null) {
+                throw new IllegalStateException("accept-hmac requiere hmac-cutover");
+            }
+            if (secret != null && !secret.isBlank()) legacy = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        }
+        return new JwtKeyRing(algorithm, active, activeKid, publicKeys, legacy, legacy == null ? null : properties.hmacCutover());
+    }
+
+    public SignatureAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public Key signingKey() {
+        return signingKey;
+    }
+
+    /**
+     * "kid" de la llave activa; null en HS256.
+     */
+    public String activeKid() {
+        return activeKid;
+    }
+
+    /**
+     * JWKS con las llaves públicas activas y en retiro ({"keys":[]} en HS256).
+     */
+    public String jwksJson() {
+        return jwksJson;
+    }
+
+    /**
+     * Llave con la que se debe verificar un token según su header.
+     * - Con "kid": la llave pública correspondiente (activa o en retiro).
+     * - Sin "kid": solo tokens HMAC, si el secreto está habilitado y (en modo asimétrico) dentro de la
+     *   ventana de transición.
+     */
+    public Key verificationKey(JwsHeader<?> header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid != null) {
+            PublicKey key = verificationKeys.get(kid);
+            if (key == null) throw new JwtException("kid desconocido: " + kid);
+            return key;
+        }
+        String alg = header.getAlgorithm();
+        if (hmacKey != null && alg != null && alg.startsWith("HS")) {
+            if (hmacCutover == null) return hmacKey;
+            Date issuedAt = claims.getIssuedAt();
+            if (issuedAt == null || !issuedAt.toInstant().isBefore(hmacCutover)) {
+                throw new JwtException("Token HS256 emitido después del cambio de firma");
+            }
+            if (!Instant.now().isBefore(hmacDeadline)) throw new JwtException("Tokens HS256 ya no se aceptan");
+            return hmacKey;
+        }
+        throw new JwtException("Token sin kid");
+    }
+
+    // ---------------------- PEM ----------------------
+
+    private static PrivateKey readPrivateKey(String path, String keyType) {
+        try {
+            return KeyFactory.getInstance(keyType).generatePrivate(new PKCS8EncodedKeySpec(readPem(path)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Llave privada inválida en " + path, e);
+        }
+    }
+
+    private static PublicKey publicKeyOf(JwtSigningProperties.Key key, PrivateKey privateKey, String keyType) {
+        try {
+            if (key.publicKey() != null) {
+                return KeyFactory.getInstance(keyType).generatePublic(new X509EncodedKeySpec(readPem(key.publicKey())));
+            }
+            if (privateKey instanceof RSAPrivateCrtKey rsa) {
+                return KeyFactory.getInstance("RSA")
+                        .generatePublic(new RSAPublicKeySpec(rsa.getModulus(), rsa.getPublicExponent()));
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Llave pública inválida para kid " + key.kid(), e);
+        }
+        throw new IllegalStateException("La llave " + key.kid() + " requiere publicKey");
+    }
+
+    private static byte[] readPem(String path) {
+        try {
+            String pem = Files.readString(Path.of(path), StandardCharsets.US_ASCII);
+            String body = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(body);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("No se pudo leer el PEM " + path, e);
+        }
+    }
+
+    // ---------------------- JWKS ----------------------
+
+    private static String toJwks(SignatureAlgorithm algorithm, Map<String, PublicKey> keys) {
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        boolean first = true;
+        for (Map.Entry<String, PublicKey> entry : keys.entrySet()) {
+            if (!first) json.append(',');
+            first = false;
+            json.append("{\"kid\":\"").append(entry.getKey())
+                    .append("\",\"use\":\"sig\",\"alg\":\"").append(algorithm.getValue()).append('"');
+            if (entry.getValue() instanceof RSAPublicKey rsa) {
+                json.append(",\"kty\":\"RSA\",\"n\":\"").append(b64(unsigned(rsa.getModulus(), 0)))
+                        .append("\",\"e\":\"").append(b64(unsigned(rsa.getPublicExponent(), 0))).append('"');
+            } else if (entry.getValue() instanceof ECPublicKey ec) {
+                int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+                json.append(",\"kty\":\"EC\",\"crv\":\"P-256\",\"x\":\"")
+                        .append(b64(unsigned(ec.getW().getAffineX(), size)))
+                        .append("\",\"y\":\"").append(b64(unsigned(ec.getW().getAffineY(), size))).append('"');
+            }
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    // Representación big-endian sin signo; con length > 0 se rellena a la izquierda hasta ese tamaño.
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            return padded;
+        }
+        return bytes;
+    }
+
+    private static String b64(byte[] bytes) {
+        return B64URL.encodeToString(bytes);
+    }
+}
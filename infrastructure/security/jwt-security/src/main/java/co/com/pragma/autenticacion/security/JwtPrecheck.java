@@ -0,0 +1,148 @@
+package co.com.pragma.autenticacion.security;
+
+import java.util.Arrays;
+
+/**
+ * Revisión barata de un JWT compacto antes de verificar la firma.
+ *
+ * Explicación:
+ * - Sin criptografía ni excepciones: forma (tres segmentos base64url), tamaños, header/payload JSON y "exp".
+ * - Solo descarta lo que jjwt también rechazaría; PLAUSIBLE no garantiza nada, la firma se valida después.
+ * - El payload se decodifica una vez y se recorre solo el nivel superior del objeto buscando "exp".
+ */
+final class JwtPrecheck {
+
+    enum Result { PLAUSIBLE, MALFORMED, EXPIRED }
+
+    // Los tokens propios rondan 300-700 caracteres (RS256 incluido); más que esto es basura
+    static final int MAX_LENGTH = 8 * 1024;
+
+    // Un objeto JSON ("{\"...") codificado en base64url siempre empieza por "eyJ"
+    private static final String JSON_OBJECT_PREFIX = "eyJ";
+    private static final long NO_EXP = Long.MIN_VALUE;
+    private static final int[] BASE64URL = new int[128];
+
+    static {
+        Arrays.fill(BASE64URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private JwtPrecheck() {
+    }
+
+    static Result check(String token, long nowMs) {
+        int length = token.length();
+        if (length == 0 || length > MAX_LENGTH) return Result.MALFORMED;
+
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) firstDot = i;
+                else if (secondDot < 0) secondDot = i;
+                else return Result.MALFORMED;
+            } else if (c >= 128 || BASE64URL[c] < 0) {
+                return Result.MALFORMED;
+            }
+        }
+        if (secondDot < 0
+                || !validSegment(0, firstDot)
+                || !validSegment(firstDot + 1, secondDot)
+                || !validSegment(secondDot + 1, length)
+                || !token.startsWith(JSON_OBJECT_PREFIX)
+                || !token.startsWith(JSON_OBJECT_PREFIX, firstDot + 1)) {
+            return Result.MALFORMED;
+        }
+
+        long exp = expiration(decode(token, firstDot + 1, secondDot));
+        // exp está en segundos; jjwt rechaza cuando ahora > exp (sin tolerancia)
+        if (exp != NO_EXP && exp < nowMs / 1000) return Result.EXPIRED;
+        return Result.PLAUSIBLE;
+    }
+
+    // Un segmento base64url sin relleno nunca deja un único carácter suelto al final
+    private static boolean validSegment(int from, int to) {
+        int length = to - from;
+        return length > 0 && length % 4 != 1;
+    }
+
+    private static byte[] decode(String token, int from, int to) {
+        int length = to - from;
+        byte[] out = new byte[length * 3 / 4];
+        int bits = 0;
+        int count = 0;
+        int pos = 0;
+        for (int i = from; i < to; i++) {
+            bits = bits << 6 | BASE64URL[token.charAt(i)];
+            count += 6;
+            if (count >= 8) {
+                count -= 8;
+                out[pos++] = (byte) (bits >> count);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * "exp" del nivel superior en segundos; NO_EXP si no está, no es un entero o el JSON no cuadra
+     * (en esos casos decide jjwt).
+     */
+    private static long expiration(byte[] json) {
+        int depth = 0;
+        int i = 0;
+        while (i < json.length) {
+            byte b = json[i];
+            if (b == '"') {
+                int start = i + 1;
+                int end = endOfString(json, start);
+                if (end < 0) return NO_EXP;
+                i = end + 1;
+                if (depth == 1 && end - start == 3
+                        && json[start] == 'e' && json[start + 1] == 'x' && json[start + 2] == 'p') {
+                    int colon = skipWhitespace(json, i);
+                    if (colon < json.length && json[colon] == ':') return integer(json, skipWhitespace(json, colon + 1));
+                }
+                continue;
+            }
+            if (b == '{' || b == '[') depth++;
+            else if (b == '}' || b == ']') depth--;
+            i++;
+        }
+        return NO_EXP;
+    }
+
+    private static int endOfString(byte[] json, int from) {
+        for (int i = from; i < json.length; i++) {
+            if (json[i] == '\\') i++;
+            else if (json[i] == '"') return i;
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] json, int from) {
+        int i = from;
+        while (i < json.length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) i++;
+        return i;
+    }
+
+    private static long integer(byte[] json, int from) {
+        int i = from;
+        boolean negative = i < json.length && json[i] == '-';
+        if (negative) i++;
+        long value = 0;
+        int digits = 0;
+        while (i < json.length && json[i] >= '0' && json[i] <= '9') {
+            // Más de 18 dígitos no cabe con seguridad en un long: se deja a jjwt
+            if (++digits > 18) return NO_EXP;
+            value = value * 10 + (json[i] - '0');
+            i++;
+        }
+        if (digits == 0) return NO_EXP;
+        if (i < json.length && (json[i] == '.' || json[i] == 'e' || json[i] == 'E')) return NO_EXP;
+        return negative ? -value : value;
+    }
+}
@@ -8,10 +8,13 @@ import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -21,45 +24,112 @@ public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationM
 
     // Puerto TokenProvider para parsear y validar tokens.
     private final TokenProvider tokenProvider;
+    // Caché de tokens ya verificados: evita repetir HMAC + parseo JSON por cada petición.
+    private final VerifiedTokenCache tokenCache;
+    // Lista de revocación en memoria: se consulta también en el camino rápido de la caché.
+    private final TokenRevocationList revocationList;
 
-    public JwtReactiveAuthenticationManager(TokenProvider tokenProvider) {
+    public JwtReactiveAuthenticationManager(TokenProvider tokenProvider,
+                                            VerifiedTokenCache tokenCache,
+                                            TokenRevocationList revocationList) {
         this.tokenProvider = tokenProvider;
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
     }
 
     @Override
     public Mono<Authentication> authenticate(Authentication authentication) {
         // Extrae el token de las credenciales.
         String token = (String) authentication.getCredentials();
+        // Camino rápido: si el token ya fue verificado y no ha expirado, basta una búsqueda por hash.
+        Authentication cached = tokenCache.get(token);
+        if (cached != null) {
+            return isRevoked(cached)
+                    ? Mono.error(new BadCredentialsException("Token revocado"))
+                    : Mono.just(cached);
+        }
         // Llama a parseAndValidate para obtener los claims del token.
         return tokenProvider.parseAndValidate(token)
                 .map(claims -> {
-                    // Extrae la lista de roles desde los claims.
-                    Object rolesObj = claims.get(AuthConstants.CLAIM_ROLES);
-                    List<String> roles = rolesObj instanceof List ? (List<String>) rolesObj : List.of();
-
-                    // Convierte cada rol a SimpleGrantedAuthority para Spring Security.
-                    var authorities = roles.stream()
-                            .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
-                            .collect(Collectors.toList());
-
-                    // Obtiene el principal (email del usuario) del claim.
-                    String rawPrincipal = (String) claims.get(AuthConstants.CLAIM_EMAIL);
-                    if (rawPrincipal == null) {
-                        rawPrincipal = (String) ((Map<String, Object>) claims).get(Claims.SUBJECT);
+                    JwtAuthentication auth = toAuthentication(token, claims);
+                    if (isRevoked(auth)) {
+                        throw new BadCredentialsException("Token revocado");
                     }
-                    final String principal = rawPrincipal;
-
-                    // Crea un Authentication personalizado con roles y principal.
-                    Authentication auth = new AbstractAuthenticationToken(authorities) {
-                        @Override public Object getCredentials() { return token; }
-                        @Override public Object getPrincipal() { return principal; }
-                    };
-                    ((AbstractAuthenticationToken) auth).setAuthenticated(true);
-                    return auth;
+                    // Guarda el resultado hasta la expiración del token (si la trae).
+                    Long expiresAtMs = epochMillis(claims.get(Claims.EXPIRATION));
+                    if (expiresAtMs != null) {
+                        tokenCache.put(token, auth, expiresAtMs);
+                    }
+                    return (Authentication) auth;
                 })
-                // Asegura el tipo correcto.
-                .cast(Authentication.class)
                 // Si hay error al validar el token, se lanza BadCredentialsException.
                 .onErrorMap(e -> new BadCredentialsException("Token inválido", e));
     }
-}
\ No newline at end of file
+
+    private boolean isRevoked(Authentication authentication) {
+        if (!(authentication instanceof JwtAuthentication jwt)) return false;
+        return revocationList.isRevoked(jwt.tokenId, jwt.userId, jwt.issuedAtMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private JwtAuthentication toAuthentication(String token, Map<String, Object> claims) {
+        // Extrae la lista de roles desde los claims.
+        Object rolesObj = claims.get(AuthConstants.CLAIM_ROLES);
+        List<String> roles = rolesObj instanceof List ? (List<String>) rolesObj : List.of();
+
+        // Convierte cada rol a SimpleGrantedAuthority para Spring Security.
+        var authorities = roles.stream()
+                .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+                .collect(Collectors.toList());
+
+        // Obtiene el principal (email del usuario) del claim.
+        String rawPrincipal = (String) claims.get(AuthConstants.CLAIM_EMAIL);
+        if (rawPrincipal == null) {
+            rawPrincipal = (String) claims.get(Claims.SUBJECT);
+        }
+        final String principal = rawPrincipal;
+
+        // Crea un Authentication con roles y principal, más los datos que usa la lista de revocación.
+        Object tokenId = claims.get(Claims.ID);
+        Object userId = claims.get(AuthConstants.CLAIM_ID);
+        Long issuedAtMs = epochMillis(claims.get(Claims.ISSUED_AT));
+        JwtAuthentication auth = new JwtAuthentication(authorities, token, principal,
+                tokenId != null ? tokenId.toString() : null,
+                userId instanceof Number n ? n.longValue() : null,
+                issuedAtMs != null ? issuedAtMs : 0L);
+        auth.setAuthenticated(true);
+        return auth;
+    }
+
+    // Los claims "exp"/"iat" llegan en segundos (JSON numérico) o como Date según el origen.
+    private static Long epochMillis(Object value) {
+        if (value instanceof Number n) return n.longValue() * 1000L;
+        if (value instanceof Date d) return d.getTime();
+        return null;
+    }
+
+    /**
+     * Authentication de un JWT verificado; conserva jti, uid e iat para revisar revocaciones
+     * también cuando se sirve desde la caché.
+     */
+    private static final class JwtAuthentication extends AbstractAuthenticationToken {
+        private final String token;
+        private final String principal;
+        private final String tokenId;
+        private final Long userId;
+        private final long issuedAtMs;
+
+        private JwtAuthentication(Collection<? extends GrantedAuthority> authorities, String token, String principal,
+                                  String tokenId, Long userId, long issuedAtMs) {
+            super(authorities);
+            this.token = token;
+            this.principal = principal;
+            this.tokenId = tokenId;
+            this.userId = userId;
+            this.issuedAtMs = issuedAtMs;
+        }
+
+        @Override public Object getCredentials() { return token; }
+        @Override public Object getPrincipal() { return principal; }
+    }
+}
@@ -1,64 +1,79 @@
 package co.com.pragma.autenticacion.security;
 import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.tokeninfo.RefreshToken;
 import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenProvider;
 import co.com.pragma.autenticacion.model.user.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.*;
 
 @Component
 public class JwtTokenProviderAdapter implements TokenProvider {
-    // Llave secreta usada para firmar los tokens JWT.
-    private final SecretKey secretKey;
+    // Anillo de llaves: llave activa para firmar y llaves (activa + en retiro) para validar.
+    private final JwtKeyRing keyRing;
     // Parser para validar y extraer claims de un JWT.
     private final JwtParser parser;
+    // Emisor con header precalculado y buffers/firmas por hilo.
+    private final JwtIssuer issuer;
 
-    // Constructor: inyecta la clave secreta desde application.properties con @Value.
-    public JwtTokenProviderAdapter(@Value("${security.jwt.secret}") String secret) {
-        // Genera la clave secreta a partir de la cadena de configuración.
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        // Construye un parser JWT usando la clave secreta para validación.
-        this.parser = Jwts.parserBuilder().setSigningKey(this.secretKey).build();
+    // Constructor: recibe el anillo de llaves configurado (HS256, RS256 o ES256).
+    @Autowired
+    public JwtTokenProviderAdapter(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.issuer = new JwtIssuer(keyRing);
+        // El parser elige la llave de verificación según el "kid" (o HMAC legado) del header.
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyRing.verificationKey(header, claims);
+                    }
+                })
+                .build();
+    }
+
+    // Constructor de conveniencia para HS256 con secreto compartido.
+    public JwtTokenProviderAdapter(String secret) {
+        this(JwtKeyRing.hmac(secret));
     }
 
     // Genera un Access Token (token de corta duración con roles y datos del usuario).
+    // Mismos claims y orden que con Jwts.builder(), escritos directo en el buffer del emisor.
     @Override
     public Mono<String> generateAccessToken(User user, List<String> roles, long ttlMs) {
-        // Marca el tiempo actual.
-        Date now = new Date();
-        // Calcula la fecha de expiración sumando el TTL.
-        Date exp = new Date(now.getTime() + ttlMs);
-        // Construye el token con claims personalizados.
-        String token = Jwts.builder()
-                .setSubject(user.getEmail()) // Subject = email del usuario.
-                .setIssuedAt(now) // Fecha de emisión.
-                .setExpiration(exp) // Fecha de expiración.
-                .claim(AuthConstants.CLAIM_ID, user.getIdNumber()) // Claim: ID del usuario.
-                .claim(AuthConstants.CLAIM_EMAIL, user.getEmail()) // Claim: email.
-                .claim(AuthConstants.CLAIM_NAME, user.getName() + " " + user.getLastName()) // Claim: nombre completo.
-                .claim(AuthConstants.CLAIM_ROLES, roles) // Claim: lista de roles.
-                .signWith(secretKey, SignatureAlgorithm.HS256) // Firma con HMAC SHA-256.
-                .compact(); // Genera el token final.
+        // Marca el tiempo actual (iat/exp van en segundos, como los deja jjwt).
+        long now = System.currentTimeMillis();
+        String token = issuer.begin()
+                .string(Claims.SUBJECT, user.getEmail()) // Subject = email del usuario.
+                .uuid(Claims.ID, UUID.randomUUID()) // jti: permite revocar este token puntualmente.
+                .number(Claims.ISSUED_AT, now / 1000) // Fecha de emisión.
+                .number(Claims.EXPIRATION, (now + ttlMs) / 1000) // Fecha de expiración.
+                .number(AuthConstants.CLAIM_ID, user.getIdNumber()) // Claim: ID del usuario.
+                .string(AuthConstants.CLAIM_EMAIL, user.getEmail()) // Claim: email.
+                .string(AuthConstants.CLAIM_NAME, user.getName(), user.getLastName()) // Claim: nombre completo.
+                .strings(AuthConstants.CLAIM_ROLES, roles) // Claim: lista de roles.
+                .string(AuthConstants.CLAIM_TYPE, AuthConstants.TOKEN_TYPE_ACCESS) // Tipo: access.
+                .compact(); // Firma con la llave activa y genera el token final.
         return Mono.just(token); // Retorna el token en un Mono.
     }
 
-    // Genera un Refresh Token (solo contiene email, usado para renovar Access Tokens).
+    // Genera un Refresh Token (email, id, jti y familia; la expiración es la del registro en el almacén).
     @Override
-    public Mono<String> generateRefreshToken(User user, long ttlMs) {
-        Date now = new Date();
-        Date exp = new Date(now.getTime() + ttlMs);
-        String token = Jwts.builder()
-                .setSubject("refresh:" + user.getEmail()) // Subject indica que es un refresh.
-                .setIssuedAt(now)
-                .setExpiration(exp)
-                .claim(AuthConstants.CLAIM_EMAIL, user.getEmail()) // Claim mínimo: email.
-                .signWith(secretKey, SignatureAlgorithm.HS256)
+    public Mono<String> generateRefreshToken(User user, RefreshToken refreshToken) {
+        long now = System.currentTimeMillis();
+        String token = issuer.begin()
+                .string(Claims.SUBJECT, "refresh:" + user.getEmail()) // Subject indica que es un refresh.
+                .string(Claims.ID, refreshToken.getTokenId()) // jti: clave del registro en el almacén.
+                .number(Claims.ISSUED_AT, now / 1000)
+                .number(Claims.EXPIRATION, refreshToken.getExpiresAt().toEpochMilli() / 1000)
+                .string(AuthConstants.CLAIM_EMAIL, user.getEmail()) // Claim mínimo: email.
+                .number(AuthConstants.CLAIM_ID, user.getIdNumber()) // Id: el refresh busca al usuario por id.
+                .string(AuthConstants.CLAIM_FAMILY, refreshToken.getFamilyId()) // Familia de la sesión.
+                .string(AuthConstants.CLAIM_TYPE, AuthConstants.TOKEN_TYPE_REFRESH) // Tipo: refresh.
                 .compact();
         return Mono.just(token);
     }
@@ -73,4 +88,4 @@ public class JwtTokenProviderAdapter implements TokenProvider {
             return new HashMap<>(jws.getBody());
         });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package co.com.pragma.autenticacion.security;
+
+import org.springframework.security.authentication.BadCredentialsException;
+
+/**
+ * Token descartado por JwtPrecheck. No captura la pila: es un resultado esperado (tráfico con basura)
+ * y la respuesta es la misma 401 que la de BadCredentialsException.
+ */
+final class RejectedTokenException extends BadCredentialsException {
+
+    RejectedTokenException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,210 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.tokeninfo.TokenRevocation;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationRepository;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationStore;
+import co.com.pragma.autenticacion.security.config.TokenRevocationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lista de revocación de access tokens servida desde memoria.
+ *
+ * Explicación:
+ * - La BD (TokenRevocationRepository) es la fuente de verdad compartida entre instancias.
+ * - En memoria: filtro de Bloom de jti revocados + conjunto exacto (jti → exp) y mapa usuario → notBefore.
+ *   El caso común (token no revocado) se descarta en el filtro sin consultar mapas.
+ * - Las revocaciones locales se aplican de inmediato; las de otras instancias llegan por
+ *   sincronización incremental periódica (por fecha de creación, con una ventana de solapamiento).
+ * - La compactación descarta entradas cuyos tokens ya vencieron y reconstruye el filtro.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList implements TokenRevocationStore, DisposableBean {
+
+    private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(30);
+
+    private final TokenRevocationRepository repository;
+    private final TokenRevocationProperties properties;
+    private final Clock clock;
+    // jti revocado → expiración del token (ms)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // usuario → instante (ms) antes del cual sus tokens quedan revocados
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+    // Serializa escrituras y la reconstrucción del filtro; las lecturas no toman lock.
+    private final Object writeLock = new Object();
+    private volatile BloomFilter bloom;
+    private volatile long syncedUntil;
+    private volatile Disposable jobs;
+
+    @Autowired
+    public TokenRevocationList(TokenRevocationRepository repository,
+                               TokenRevocationProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(repository, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    TokenRevocationList(TokenRevocationRepository repository,
+                        TokenRevocationProperties properties,
+                        MeterRegistry meterRegistry,
+                        Clock clock) {
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+        this.bloom = BloomFilter.create(properties.expectedTokens(), properties.falsePositiveRate());
+        gauge(meterRegistry, "token", revokedTokens::size);
+        gauge(meterRegistry, "user", notBefore::size);
+    }
+
+    /**
+     * Indica si el token está revocado, por jti o por el notBefore de su usuario.
+     *
+     * @param tokenId    claim "jti" (puede ser null en tokens antiguos).
+     * @param userId     claim "uid" (puede ser null).
+     * @param issuedAtMs claim "iat" en milisegundos.
+     */
+    @Override
+    public boolean isRevoked(String tokenId, Long userId, long issuedAtMs) {
+        if (userId != null) {
+            Long userNotBefore = notBefore.get(userId);
+            // "iat" tiene resolución de segundos: un token del mismo segundo que la revocación también cae.
+            if (userNotBefore != null && issuedAtMs < userNotBefore) return true;
+        }
+        return tokenId != null && bloom.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+    }
+
+    @Override
+    public Mono<Void> revokeToken(String tokenId, Instant expiresAt) {
+        return persist(TokenRevocation.builder()
+                .tokenId(tokenId)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Override
+    public Mono<Void> revokeUser(Long userId, Instant userNotBefore) {
+        return persist(TokenRevocation.builder()
+                .userId(userId)
+                .notBefore(userNotBefore)
+                // Pasado el TTL del access token, ningún token anterior a notBefore sigue vigente.
+                .expiresAt(userNotBefore.plusMillis(AuthConstants.ACCESS_TOKEN_TTL_MS))
+                .build());
+    }
+
+    private Mono<Void> persist(TokenRevocation revocation) {
+        return Mono.defer(() -> repository.save(revocation.toBuilder().createdAt(clock.instant()).build()))
+                .doOnNext(this::apply)
+                .then();
+    }
+
+    /**
+     * Carga inicial (bloqueante, como el catálogo de roles) y arranque de las tareas periódicas.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        try {
+            Long loaded = sync().block(LOAD_TIMEOUT);
+            log.info("Lista de revocación cargada: {} registros", loaded);
+        } catch (RuntimeException e) {
+            log.error("No se pudo cargar la lista de revocación: {}", e.getMessage());
+        }
+        jobs = Disposables.composite(
+                every(properties.syncInterval(), this::sync, "sincronizar"),
+                every(properties.compactInterval(), this::compact, "compactar"));
+    }
+
+    /**
+     * Trae las revocaciones creadas desde la última sincronización (menos la ventana de solapamiento).
+     * Aplicar dos veces el mismo registro no tiene efecto.
+     */
+    Mono<Long> sync() {
+        return Mono.defer(() -> {
+            long since = Math.max(0, syncedUntil - properties.syncOverlap().toMillis());
+            return repository.findCreatedSince(Instant.ofEpochMilli(since))
+                    .doOnNext(revocation -> {
+                        apply(revocation);
+                        if (revocation.getCreatedAt() != null) {
+                            syncedUntil = Math.max(syncedUntil, revocation.getCreatedAt().toEpochMilli());
+                        }
+                    })
+                    .count();
+        });
+    }
+
+    /**
+     * Descarta en memoria y en la BD las revocaciones cuyos tokens ya vencieron.
+     */
+    Mono<Long> compact() {
+        return Mono.defer(() -> {
+            long now = clock.millis();
+            synchronized (writeLock) {
+                revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+                notBefore.values().removeIf(userNotBefore -> userNotBefore + AuthConstants.ACCESS_TOKEN_TTL_MS < now);
+                // Un filtro de Bloom no admite borrado: se reconstruye con los jti vigentes.
+                BloomFilter rebuilt = BloomFilter.create(
+                        Math.max(properties.expectedTokens(), revokedTokens.size() * 2),
+                        properties.falsePositiveRate());
+                revokedTokens.keySet().forEach(rebuilt::add);
+                bloom = rebuilt;
+            }
+            return repository.deleteExpired(Instant.ofEpochMilli(now));
+        });
+    }
+
+    void apply(TokenRevocation revocation) {
+        if (revocation.getExpiresAt() != null && revocation.getExpiresAt().toEpochMilli() < clock.millis()) return;
+        synchronized (writeLock) {
+            if (revocation.getTokenId() != null && revocation.getExpiresAt() != null) {
+                // Primero el conjunto exacto y luego el filtro: un lector nunca ve el bit sin la entrada.
+                revokedTokens.put(revocation.getTokenId(), revocation.getExpiresAt().toEpochMilli());
+                bloom.add(revocation.getTokenId());
+            }
+            if (revocation.getUserId() != null && revocation.getNotBefore() != null) {
+                notBefore.merge(revocation.getUserId(), revocation.getNotBefore().toEpochMilli(), Math::max);
+            }
+        }
+    }
+
+    private Disposable every(Duration interval, Supplier<Mono<Long>> task, String name) {
+        return Flux.interval(interval, interval)
+                // Si una ejecución tarda más que el intervalo, se omite el tick en lugar de acumularlos.
+                .onBackpressureDrop()
+                .concatMap(tick -> task.get()
+                        .onErrorResume(e -> {
+                            log.warn("No se pudo {} la lista de revocación: {}", name, e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    private static void gauge(MeterRegistry meterRegistry, String type, Supplier<Number> size) {
+        Gauge.builder("auth.token.revocations", size)
+                .description("Revocaciones vigentes en memoria")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        Disposable current = jobs;
+        if (current != null) current.dispose();
+    }
+}
@@ -0,0 +1,120 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.security.config.TokenCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caché acotada de tokens ya verificados.
+ *
+ * Explicación:
+ * - La clave es el SHA-256 del token (no se guarda el token en claro como clave).
+ * - El valor es el Authentication ya construido (principal + authorities).
+ * - Cada entrada expira en min(exp del token, ahora + maxTtl): nunca sobrevive al token.
+ * - Al llenarse, primero purga expirados y luego descarta entradas arbitrarias hasta bajar al 90%.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final int maxSize;
+    private final long maxTtlMs;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public VerifiedTokenCache(TokenCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(TokenCacheProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.maxSize = properties.maxSize();
+        this.maxTtlMs = properties.maxTtl().toMillis();
+        this.clock = clock;
+        this.hits = Counter.builder("auth.token.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.token.cache").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("auth.token.cache.evictions").register(meterRegistry);
+        Gauge.builder("auth.token.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Devuelve el Authentication del token si está en caché y no ha expirado; null en otro caso.
+     */
+    public Authentication get(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMs() <= clock.millis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.authentication();
+    }
+
+    /**
+     * Guarda el Authentication de un token recién verificado.
+     * @param tokenExpiresAtMs expiración del token ("exp") en milisegundos epoch.
+     */
+    public void put(String token, Authentication authentication, long tokenExpiresAtMs) {
+        long now = clock.millis();
+        long expiresAt = Math.min(tokenExpiresAtMs, now + maxTtlMs);
+        if (expiresAt <= now) return;
+        if (entries.size() >= maxSize) evict(now);
+        entries.put(digest(token), new Entry(authentication, expiresAt));
+    }
+
+    // Purga expirados y, si sigue lleno, descarta entradas hasta dejar un 10% de holgura.
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            entries.values().removeIf(e -> e.expiresAtMs() <= now);
+            int target = maxSize - maxSize / 10 - 1;
+            Iterator<String> it = entries.keySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA_256.get();
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    private record Entry(Authentication authentication, long expiresAtMs) {}
+}
@@ -1,10 +1,20 @@
 package co.com.pragma.autenticacion.security.config;
 
 import co.com.pragma.autenticacion.model.auth.gateways.PasswordEncoderPort;
+import co.com.pragma.autenticacion.security.BcryptPasswordEncoderAdapter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class EncoderConfig {
@@ -15,25 +25,43 @@ public class EncoderConfig {
         return new BCryptPasswordEncoder();
     }
 
-    // Declara un bean que implementa PasswordEncoderPort usando BCryptPasswordEncoder.
+    // Scheduler de Reactor dedicado al hashing (nunca el event loop de Netty).
+    // Pool de tamaño fijo y cola acotada: si se llena, AbortPolicy rechaza la tarea.
+    // El executor no se expone como bean para no reemplazar el TaskExecutor de Spring Boot.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler hashingScheduler(HashingProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.poolSize(), properties.poolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                hashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // Métricas de saturación: profundidad de la cola y hilos ocupados.
+        Gauge.builder("auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Operaciones de hashing esperando en cola")
+                .register(meterRegistry);
+        Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hilos de hashing ocupados")
+                .register(meterRegistry);
+
+        return Schedulers.fromExecutorService(executor, "bcrypt");
+    }
+
+    // Declara un bean que implementa PasswordEncoderPort usando BCrypt sobre el scheduler dedicado.
     @Bean
-    public PasswordEncoderPort passwordEncoderPort(BCryptPasswordEncoder encoder) {
-        // Implementa PasswordEncoderPort como clase anónima.
-        return new PasswordEncoderPort() {
-
-            // Método para encriptar una contraseña de texto plano.
-            @Override
-            public Mono<String> encode(String raw) {
-                // Devuelve un Mono que ejecuta la encriptación de forma asíncrona (no bloqueante).
-                return Mono.fromCallable(() -> encoder.encode(raw));
-            }
-
-            // Método para verificar si una contraseña coincide con su hash.
-            @Override
-            public Mono<Boolean> matches(String raw, String encoded) {
-                // Retorna un Mono con el resultado de la verificación de BCrypt.
-                return Mono.fromCallable(() -> encoder.matches(raw, encoded));
-            }
+    public PasswordEncoderPort passwordEncoderPort(BCryptPasswordEncoder encoder,
+                                                   Scheduler hashingScheduler,
+                                                   MeterRegistry meterRegistry) {
+        return new BcryptPasswordEncoderAdapter(encoder, hashingScheduler, meterRegistry);
+    }
+
+    private static ThreadFactory hashingThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bcrypt-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
         };
     }
-}
\ No newline at end of file
+}
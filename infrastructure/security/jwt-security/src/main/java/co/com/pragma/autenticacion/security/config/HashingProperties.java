@@ -0,0 +1,22 @@
+package co.com.pragma.autenticacion.security.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del motor de hashing de contraseñas (BCrypt).
+ *
+ * @param poolSize      hilos dedicados al hashing (por defecto, núcleos disponibles).
+ * @param queueCapacity tareas que pueden esperar en cola antes de rechazar con 503.
+ */
+@ConfigurationProperties(prefix = "security.hashing")
+public record HashingProperties(
+        Integer poolSize,
+        Integer queueCapacity) {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    public HashingProperties {
+        if (poolSize == null || poolSize < 1) poolSize = Runtime.getRuntime().availableProcessors();
+        if (queueCapacity == null || queueCapacity < 1) queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    }
+}
@@ -0,0 +1,17 @@
+package co.com.pragma.autenticacion.security.config;
+
+import co.com.pragma.autenticacion.security.JwtKeyRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JwtKeyConfig {
+
+    // Anillo de llaves de firma: HS256 con security.jwt.secret o RS256/ES256 desde archivos PEM.
+    @Bean
+    public JwtKeyRing jwtKeyRing(JwtSigningProperties properties,
+                                 @Value("${security.jwt.secret:}") String secret) {
+        return JwtKeyRing.from(properties, secret);
+    }
+}
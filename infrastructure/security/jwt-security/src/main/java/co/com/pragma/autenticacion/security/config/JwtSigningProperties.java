@@ -0,0 +1,55 @@
+package co.com.pragma.autenticacion.security.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Configuración de la firma de tokens.
+ *
+ * @param algorithm  HS256 (secreto compartido security.jwt.secret), RS256 o ES256 (llaves PEM).
+ * @param acceptHmac en modo asimétrico, seguir aceptando tokens HS256 emitidos antes del cambio (false por defecto).
+ * @param hmacCutover instante del cambio a RS256/ES256; obligatorio con acceptHmac. Solo se aceptan tokens
+ *                    HS256 con "iat" anterior, y únicamente hasta que pase el TTL del refresh token.
+ * @param keys       anillo de llaves: exactamente una activa (con llave privada) y cero o más en retiro.
+ * @param jwksMaxAge tiempo que los clientes pueden cachear /.well-known/jwks.json.
+ */
+@ConfigurationProperties(prefix = "security.jwt.signing")
+public record JwtSigningProperties(
+        String algorithm,
+        Boolean acceptHmac,
+        Instant hmacCutover,
+        List<Key> keys,
+        Duration jwksMaxAge) {
+
+    public static final String DEFAULT_ALGORITHM = "HS256";
+    public static final Duration DEFAULT_JWKS_MAX_AGE = Duration.ofHours(1);
+
+    public JwtSigningProperties {
+        if (algorithm == null || algorithm.isBlank()) algorithm = DEFAULT_ALGORITHM;
+        if (acceptHmac == null) acceptHmac = Boolean.FALSE;
+        if (keys == null) keys = List.of();
+        if (jwksMaxAge == null || jwksMaxAge.isNegative()) jwksMaxAge = DEFAULT_JWKS_MAX_AGE;
+    }
+
+    /**
+     * Llave del anillo.
+     *
+     * @param kid        identificador publicado en el header "kid" y en el JWKS.
+     * @param privateKey ruta al PEM PKCS#8 ("BEGIN PRIVATE KEY"); obligatoria solo en la llave activa.
+     * @param publicKey  ruta al PEM X.509 ("BEGIN PUBLIC KEY"); en RSA se deriva de la privada si se omite.
+     * @param retiring   true: ya no firma, pero sigue publicada y validando tokens vigentes.
+     */
+    public record Key(
+            String kid,
+            String privateKey,
+            String publicKey,
+            Boolean retiring) {
+
+        public boolean isRetiring() {
+            return Boolean.TRUE.equals(retiring);
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class SecurityConfig {
                 .authorizeExchange(ex -> ex
                         // Endpoints públicos.
                         .pathMatchers(AuthConstants.LOGIN_PATH, AuthConstants.REFRESH_PATH,
+                                AuthConstants.JWKS_PATH,
                                 "/swagger-ui.html",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
@@ -35,6 +36,9 @@ public class SecurityConfig {
                         // Registro de usuarios permitido a cualquiera.
                         .pathMatchers(HttpMethod.POST, "/api/v1/usuarios").permitAll()
                         // Endpoints restringidos a roles específicos.
+                        // La introspección devuelve los claims completos de tokens ajenos: solo ADMIN.
+                        .pathMatchers(HttpMethod.POST, AuthConstants.INTROSPECT_PATH)
+                        .hasRole(AuthConstants.ADMIN_ROLE)
                         .pathMatchers("/api/v1/usuarios/**")
                         .hasAnyRole(AuthConstants.ADMIN_ROLE, AuthConstants.ADVISOR_ROLE)
                         .pathMatchers(HttpMethod.GET, "/api/v1/solicitud")
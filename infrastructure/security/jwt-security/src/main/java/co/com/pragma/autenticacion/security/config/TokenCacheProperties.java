@@ -0,0 +1,25 @@
+package co.com.pragma.autenticacion.security.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché de tokens ya verificados.
+ *
+ * @param maxSize número máximo de tokens en caché.
+ * @param maxTtl  tiempo máximo que un token permanece en caché (nunca supera su "exp").
+ */
+@ConfigurationProperties(prefix = "security.jwt.cache")
+public record TokenCacheProperties(
+        Integer maxSize,
+        Duration maxTtl) {
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    public static final Duration DEFAULT_MAX_TTL = Duration.ofMinutes(5);
+
+    public TokenCacheProperties {
+        if (maxSize == null || maxSize < 1) maxSize = DEFAULT_MAX_SIZE;
+        if (maxTtl == null || maxTtl.isNegative() || maxTtl.isZero()) maxTtl = DEFAULT_MAX_TTL;
+    }
+}
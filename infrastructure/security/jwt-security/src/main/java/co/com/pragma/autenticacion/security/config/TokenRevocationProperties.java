@@ -0,0 +1,35 @@
+package co.com.pragma.autenticacion.security.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la lista de revocación de access tokens.
+ *
+ * @param syncInterval      cada cuánto se traen de la BD las revocaciones hechas por otras instancias.
+ * @param syncOverlap       ventana hacia atrás que se vuelve a leer en cada sincronización
+ *                          (cubre inserts que confirman tarde y desfase de relojes entre instancias).
+ * @param compactInterval   cada cuánto se descartan revocaciones cuyos tokens ya vencieron.
+ * @param expectedTokens    tokens revocados esperados simultáneamente (dimensiona el filtro de Bloom).
+ * @param falsePositiveRate tasa de falsos positivos objetivo del filtro.
+ */
+@ConfigurationProperties(prefix = "security.jwt.revocation")
+public record TokenRevocationProperties(
+        Duration syncInterval,
+        Duration syncOverlap,
+        Duration compactInterval,
+        Integer expectedTokens,
+        Double falsePositiveRate) {
+
+    public static final int DEFAULT_EXPECTED_TOKENS = 100_000;
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    public TokenRevocationProperties {
+        if (syncInterval == null || syncInterval.isNegative() || syncInterval.isZero()) syncInterval = Duration.ofSeconds(5);
+        if (syncOverlap == null || syncOverlap.isNegative()) syncOverlap = Duration.ofSeconds(30);
+        if (compactInterval == null || compactInterval.isNegative() || compactInterval.isZero()) compactInterval = Duration.ofMinutes(10);
+        if (expectedTokens == null || expectedTokens < 1) expectedTokens = DEFAULT_EXPECTED_TOKENS;
+        if (falsePositiveRate == null || falsePositiveRate <= 0 || falsePositiveRate >= 1) falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+    }
+}
@@ -0,0 +1,50 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.usecase.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BcryptPasswordEncoderAdapterTest {
+
+    // Strength bajo para que las pruebas sean rápidas.
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+
+    @Test
+    void encodeAndMatches_shouldRunOnDedicatedScheduler() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Hilos "normales" (no NonBlocking) como el pool real, para no disparar BlockHound con SecureRandom.
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        var adapter = new BcryptPasswordEncoderAdapter(encoder, Schedulers.fromExecutorService(executor), registry);
+
+        StepVerifier.create(adapter.encode("secret").flatMap(hash -> adapter.matches("secret", hash)))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertEquals(1, registry.get("auth.hashing.latency").tag("operation", "encode").timer().count());
+        assertEquals(1, registry.get("auth.hashing.latency").tag("operation", "matches").timer().count());
+        executor.shutdown();
+    }
+
+    @Test
+    void matches_shouldFailWithServiceUnavailableWhenSaturated() {
+        // Un executor apagado rechaza toda tarea, igual que un pool con la cola llena.
+        ExecutorService saturated = Executors.newSingleThreadExecutor();
+        saturated.shutdownNow();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        var adapter = new BcryptPasswordEncoderAdapter(encoder, Schedulers.fromExecutorService(saturated), registry);
+
+        StepVerifier.create(adapter.matches("secret", "hash"))
+                .expectError(ServiceUnavailableException.class)
+                .verify();
+
+        assertEquals(1.0, registry.get("auth.hashing.rejected").counter().count());
+    }
+}
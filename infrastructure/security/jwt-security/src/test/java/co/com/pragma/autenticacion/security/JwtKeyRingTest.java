@@ -0,0 +1,174 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.tokeninfo.RefreshToken;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.security.config.JwtSigningProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "ChangeThisSecretKeyToASecureLongRandomValue!@PrAgma2024";
+    private static final User USER = User.builder()
+            .idNumber(1L).name("Ana").lastName("Martinez").email("ana@test.com").build();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rs256_signsWithKidAndValidatesWithActiveAndRetiringKeys() throws Exception {
+        KeyPair current = rsa();
+        KeyPair previous = rsa();
+        JwtKeyRing oldRing = JwtKeyRing.from(properties("RS256",
+                new JwtSigningProperties.Key("2026-04", pem("old", current.getPrivate().getEncoded(), "PRIVATE KEY"), null, false)
+        ), SECRET);
+        String oldToken = new JwtTokenProviderAdapter(oldRing).generateAccessToken(USER, List.of("ADMIN"), 60_000).block();
+
+        // Rotación: la llave anterior pasa a retiro y una nueva firma
+        JwtKeyRing ring = JwtKeyRing.from(properties("RS256",
+                new JwtSigningProperties.Key("2026-10", pem("new", previous.getPrivate().getEncoded(), "PRIVATE KEY"), null, false),
+                new JwtSigningProperties.Key("2026-04", null, pem("old-pub", current.getPublic().getEncoded(), "PUBLIC KEY"), true)
+        ), SECRET);
+        JwtTokenProviderAdapter provider = new JwtTokenProviderAdapter(ring);
+        String token = provider.generateAccessToken(USER, List.of("ADMIN"), 60_000).block();
+
+        assertTrue(header(token).contains("\"kid\":\"2026-10\""));
+        assertTrue(header(token).contains("\"alg\":\"RS256\""));
+        StepVerifier.create(provider.parseAndValidate(token))
+                .assertNext(claims -> assertEquals("ana@test.com", claims.get(AuthConstants.CLAIM_EMAIL)))
+                .verifyComplete();
+        StepVerifier.create(provider.parseAndValidate(oldToken))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        String jwks = ring.jwksJson();
+        assertTrue(jwks.contains("\"kid\":\"2026-10\"") && jwks.contains("\"kid\":\"2026-04\""));
+        assertTrue(jwks.contains("\"kty\":\"RSA\""));
+        assertTrue(!jwks.contains("\"d\""), "el JWKS no debe incluir material privado");
+    }
+
+    @Test
+    void es256_publishesP256Coordinates() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair pair = generator.generateKeyPair();
+        JwtKeyRing ring = JwtKeyRing.from(properties("ES256",
+                new JwtSigningProperties.Key("ec-1",
+                        pem("ec", pair.getPrivate().getEncoded(), "PRIVATE KEY"),
+                        pem("ec-pub", pair.getPublic().getEncoded(), "PUBLIC KEY"), false)
+        ), null);
+        JwtTokenProviderAdapter provider = new JwtTokenProviderAdapter(ring);
+
+        RefreshToken refresh = RefreshToken.builder()
+                .tokenId("jti-1").familyId("fam-1").expiresAt(Instant.now().plusSeconds(60)).build();
+        String token = provider.generateRefreshToken(USER, refresh).block();
+
+        StepVerifier.create(provider.parseAndValidate(token))
+                .assertNext(claims -> {
+                    assertEquals("jti-1", claims.get(AuthConstants.CLAIM_TOKEN_ID));
+                    assertEquals("fam-1", claims.get(AuthConstants.CLAIM_FAMILY));
+                })
+                .verifyComplete();
+        assertTrue(ring.jwksJson().contains("\"crv\":\"P-256\""));
+    }
+
+    @Test
+    void hmacToken_rejectedWhenLegacyHmacDisabled() throws Exception {
+        KeyPair pair = rsa();
+        JwtKeyRing ring = JwtKeyRing.from(new JwtSigningProperties("RS256", false, null, List.of(
+                new JwtSigningProperties.Key("k1", pem("k1", pair.getPrivate().getEncoded(), "PRIVATE KEY"), null, false)
+        ), null), SECRET);
+        JwtTokenProviderAdapter provider = new JwtTokenProviderAdapter(ring);
+        String hmacToken = new JwtTokenProviderAdapter(SECRET).generateAccessToken(USER, List.of(), 60_000).block();
+
+        StepVerifier.create(provider.parseAndValidate(hmacToken)).expectError().verify();
+    }
+
+    @Test
+    void hmacToken_mintedAfterCutover_rejectedEvenWithLegacyHmacEnabled() throws Exception {
+        JwtTokenProviderAdapter provider = new JwtTokenProviderAdapter(legacyRing(Instant.now().minusSeconds(60)));
+        String freshHmacToken = new JwtTokenProviderAdapter(SECRET).generateAccessToken(USER, List.of("ADMIN"), 60_000).block();
+
+        StepVerifier.create(provider.parseAndValidate(freshHmacToken)).expectError().verify();
+    }
+
+    @Test
+    void hmacToken_issuedBeforeCutover_acceptedOnlyUntilRefreshTtlPasses() throws Exception {
+        String hmacToken = new JwtTokenProviderAdapter(SECRET).generateAccessToken(USER, List.of(), 60_000).block();
+
+        JwtTokenProviderAdapter inWindow = new JwtTokenProviderAdapter(legacyRing(Instant.now()));
+        StepVerifier.create(inWindow.parseAndValidate(hmacToken)).expectNextCount(1).verifyComplete();
+
+        JwtTokenProviderAdapter afterWindow = new JwtTokenProviderAdapter(legacyRing(
+                Instant.now().minusMillis(AuthConstants.REFRESH_TOKEN_TTL_MS)));
+        StepVerifier.create(afterWindow.parseAndValidate(hmacToken)).expectError().verify();
+    }
+
+    @Test
+    void legacyHmacWithoutCutover_failsAtStartup() throws Exception {
+        KeyPair pair = rsa();
+        JwtSigningProperties properties = new JwtSigningProperties("RS256", true, null, List.of(
+                new JwtSigningProperties.Key("k1", pem("k1", pair.getPrivate().getEncoded(), "PRIVATE KEY"), null, false)
+        ), null);
+
+        assertThrows(IllegalStateException.class, () -> JwtKeyRing.from(properties, SECRET));
+    }
+
+    @Test
+    void hs256_keepsJwksEmpty() {
+        JwtKeyRing ring = JwtKeyRing.from(properties("HS256"), SECRET);
+
+        assertEquals("{\"keys\":[]}", ring.jwksJson());
+        assertEquals(null, ring.activeKid());
+    }
+
+    @Test
+    void missingActiveKey_failsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> JwtKeyRing.from(properties("RS256"), SECRET));
+    }
+
+    private JwtSigningProperties properties(String algorithm, JwtSigningProperties.Key... keys) {
+        return new JwtSigningProperties(algorithm, false, null, List.of(keys), null);
+    }
+
+    private JwtKeyRing legacyRing(Instant cutover) throws Exception {
+        KeyPair pair = rsa();
+        return JwtKeyRing.from(new JwtSigningProperties("RS256", true, cutover, List.of(
+                new JwtSigningProperties.Key("k1", pem("legacy", pair.getPrivate().getEncoded(), "PRIVATE KEY"), null, false)
+        ), null), SECRET);
+    }
+
+    private String pem(String name, byte[] der, String type) throws IOException {
+        Path file = dir.resolve(name + ".pem");
+        String body = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der);
+        Files.writeString(file, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+        return file.toString();
+    }
+
+    private static KeyPair rsa() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+}
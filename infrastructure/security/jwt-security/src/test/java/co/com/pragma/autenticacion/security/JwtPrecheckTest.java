@@ -0,0 +1,91 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.BadCredentialsException;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JwtPrecheckTest {
+
+    private static final String SECRET = "ChangeThisSecretKeyToASecureLongRandomValue!@PrAgma2024";
+    private static final JwtTokenProviderAdapter PROVIDER = new JwtTokenProviderAdapter(SECRET);
+    private static final User USER = User.builder()
+            .idNumber(1L).name("Ana").lastName("Martinez").email("ana@test.com").build();
+
+    @Test
+    void check_shouldAcceptIssuedTokens() {
+        String token = PROVIDER.generateAccessToken(USER, List.of("ADMIN"), 60_000).block();
+
+        assertEquals(JwtPrecheck.Result.PLAUSIBLE, JwtPrecheck.check(token, System.currentTimeMillis()));
+    }
+
+    @Test
+    void check_shouldRejectGarbageWithoutParsing() {
+        long now = System.currentTimeMillis();
+        String token = PROVIDER.generateAccessToken(USER, List.of("ADMIN"), 60_000).block();
+
+        assertEquals(JwtPrecheck.Result.MALFORMED, JwtPrecheck.check("", now));
+        assertEquals(JwtPrecheck.Result.MALFORMED, JwtPrecheck.check("not-a-token", now));
+        assertEquals(JwtPrecheck.Result.MALFORMED, JwtPrecheck.check(token + ".extra", now));
+        assertEquals(JwtPrecheck.Result.MALFORMED, JwtPrecheck.check(token.substring(0, token.lastIndexOf('.') + 1), now));
+        assertEquals(JwtPrecheck.Result.MALFORMED, JwtPrecheck.check(token.replace('.', '!'), now));
+        assertEquals(JwtPrecheck.Result.MALFORMED, JwtPrecheck.check("abcde.abcd.abcd", now));
+        assertEquals(JwtPrecheck.Result.MALFORMED, JwtPrecheck.check("a".repeat(JwtPrecheck.MAX_LENGTH + 1), now));
+    }
+
+    @Test
+    void check_shouldRejectExpiredTokenByTopLevelExpOnly() {
+        long now = System.currentTimeMillis();
+        String expired = token("{\"sub\":\"ana\",\"exp\":" + (now / 1000 - 10) + "}");
+        // "exp" dentro de un string o de un objeto anidado no cuenta
+        String nested = token("{\"name\":\"\\\"exp\\\":1\",\"meta\":{\"exp\":1},\"exp\":" + (now / 1000 + 60) + "}");
+        String noExp = token("{\"sub\":\"ana\"}");
+
+        assertEquals(JwtPrecheck.Result.EXPIRED, JwtPrecheck.check(expired, now));
+        assertEquals(JwtPrecheck.Result.PLAUSIBLE, JwtPrecheck.check(nested, now));
+        assertEquals(JwtPrecheck.Result.PLAUSIBLE, JwtPrecheck.check(noExp, now));
+    }
+
+    @Test
+    void converter_shouldFailFastWithBadCredentialsAndCountRejection() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BearerTokenServerAuthenticationConverter converter = new BearerTokenServerAuthenticationConverter(registry,
+                Clock.fixed(Instant.now(), ZoneOffset.UTC));
+        String token = PROVIDER.generateAccessToken(USER, List.of("ADMIN"), 60_000).block();
+
+        StepVerifier.create(converter.convert(exchange(AuthConstants.BEARER_PREFIX + "junk")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+        StepVerifier.create(converter.convert(exchange(AuthConstants.BEARER_PREFIX + token)))
+                .assertNext(auth -> assertEquals(token, auth.getCredentials()))
+                .verifyComplete();
+        StepVerifier.create(converter.convert(exchange("Basic abc"))).verifyComplete();
+
+        assertEquals(1.0, registry.get("auth.token.rejected").tag("reason", "malformed").counter().count());
+    }
+
+    private static String token(String payloadJson) {
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+        return b64.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + b64.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8)) + ".c2lnbmF0dXJl";
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/usuarios")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+}
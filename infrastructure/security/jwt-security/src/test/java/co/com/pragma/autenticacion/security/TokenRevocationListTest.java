@@ -0,0 +1,182 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.model.tokeninfo.TokenRevocation;
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationRepository;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.security.config.TokenCacheProperties;
+import co.com.pragma.autenticacion.security.config.TokenRevocationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String SECRET = "ChangeThisSecretKeyToASecureLongRandomValue!@PrAgma2024";
+
+    private MutableClock clock;
+    private InMemoryRepository repository;
+    private TokenRevocationList list;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        repository = new InMemoryRepository();
+        list = new TokenRevocationList(repository, new TokenRevocationProperties(null, null, null, 1_000, 0.01),
+                new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    void revokeToken_isVisibleImmediately() {
+        StepVerifier.create(list.revokeToken("jti-1", NOW.plusSeconds(60))).verifyComplete();
+
+        assertTrue(list.isRevoked("jti-1", null, NOW.toEpochMilli()));
+        assertFalse(list.isRevoked("jti-2", null, NOW.toEpochMilli()));
+        assertFalse(list.isRevoked(null, 7L, NOW.toEpochMilli()));
+    }
+
+    @Test
+    void revokeUser_revokesTokensIssuedBeforeNotBefore() {
+        StepVerifier.create(list.revokeUser(7L, NOW)).verifyComplete();
+
+        assertTrue(list.isRevoked("any", 7L, NOW.minusSeconds(1).toEpochMilli()));
+        assertFalse(list.isRevoked("any", 7L, NOW.toEpochMilli()));
+        assertFalse(list.isRevoked("any", 8L, NOW.minusSeconds(1).toEpochMilli()));
+    }
+
+    @Test
+    void sync_appliesRevocationsFromOtherInstances() {
+        repository.rows.add(TokenRevocation.builder().id(1L).tokenId("remote")
+                .expiresAt(NOW.plusSeconds(60)).createdAt(NOW).build());
+
+        StepVerifier.create(list.sync()).expectNext(1L).verifyComplete();
+        assertTrue(list.isRevoked("remote", null, 0));
+
+        // La ventana de solapamiento vuelve a leer la fila: aplicarla dos veces no cambia nada.
+        StepVerifier.create(list.sync()).expectNext(1L).verifyComplete();
+        assertTrue(list.isRevoked("remote", null, 0));
+    }
+
+    @Test
+    void sync_skipsAlreadyExpiredRows() {
+        repository.rows.add(TokenRevocation.builder().id(1L).tokenId("old")
+                .expiresAt(NOW.minusSeconds(1)).createdAt(NOW.minusSeconds(60)).build());
+
+        StepVerifier.create(list.sync()).expectNext(1L).verifyComplete();
+        assertFalse(list.isRevoked("old", null, 0));
+    }
+
+    @Test
+    void compact_dropsExpiredEntriesAndPurgesDatabase() {
+        StepVerifier.create(list.revokeToken("short", NOW.plusSeconds(10))).verifyComplete();
+        StepVerifier.create(list.revokeToken("long", NOW.plusSeconds(600))).verifyComplete();
+
+        clock.set(NOW.plusSeconds(60));
+        StepVerifier.create(list.compact()).expectNext(1L).verifyComplete();
+
+        assertFalse(list.isRevoked("short", null, 0));
+        assertTrue(list.isRevoked("long", null, 0));
+        assertEquals(1, repository.rows.size());
+    }
+
+    @Test
+    void bloomFilter_hasNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String key = UUID.randomUUID().toString();
+            filter.add(key);
+            added.add(key);
+        }
+        added.forEach(key -> assertTrue(filter.mightContain(key)));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) falsePositives++;
+        }
+        assertTrue(falsePositives < 300, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void authenticationManager_rejectsRevokedTokenEvenWhenCached() {
+        JwtTokenProviderAdapter provider = new JwtTokenProviderAdapter(SECRET);
+        User user = User.builder().idNumber(7L).email("ana@test.com").name("Ana").lastName("Díaz").build();
+        String token = provider.generateAccessToken(user, List.of("ADMIN"), 60_000).block();
+        TokenRevocationList realTime = new TokenRevocationList(repository,
+                new TokenRevocationProperties(null, null, null, 1_000, 0.01), new SimpleMeterRegistry());
+        JwtReactiveAuthenticationManager manager = new JwtReactiveAuthenticationManager(provider,
+                new VerifiedTokenCache(new TokenCacheProperties(100, Duration.ofMinutes(5)), new SimpleMeterRegistry()),
+                realTime);
+        UsernamePasswordAuthenticationToken bearer = new UsernamePasswordAuthenticationToken(token, token);
+
+        StepVerifier.create(manager.authenticate(bearer)).expectNextCount(1).verifyComplete();
+
+        String jti = provider.parseAndValidate(token).block().get("jti").toString();
+        StepVerifier.create(realTime.revokeToken(jti, Instant.now().plusSeconds(60))).verifyComplete();
+
+        StepVerifier.create(manager.authenticate(bearer)).expectError(BadCredentialsException.class).verify();
+    }
+
+    /**
+     * Repositorio en memoria que simula la tabla compartida.
+     */
+    private static final class InMemoryRepository implements TokenRevocationRepository {
+        private final List<TokenRevocation> rows = new CopyOnWriteArrayList<>();
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public Mono<TokenRevocation> save(TokenRevocation revocation) {
+            TokenRevocation saved = revocation.toBuilder().id(ids.incrementAndGet()).build();
+            rows.add(saved);
+            return Mono.just(saved);
+        }
+
+        @Override
+        public Flux<TokenRevocation> findCreatedSince(Instant since) {
+            return Flux.fromIterable(rows).filter(row -> !row.getCreatedAt().isBefore(since));
+        }
+
+        @Override
+        public Mono<Long> deleteExpired(Instant now) {
+            return Mono.fromSupplier(() -> {
+                int before = rows.size();
+                rows.removeIf(row -> row.getExpiresAt().isBefore(now));
+                return (long) (before - rows.size());
+            });
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant instant) {
+            this.now = instant;
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
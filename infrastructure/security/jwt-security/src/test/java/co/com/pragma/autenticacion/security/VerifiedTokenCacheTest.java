@@ -0,0 +1,63 @@
+package co.com.pragma.autenticacion.security;
+
+import co.com.pragma.autenticacion.security.config.TokenCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private SimpleMeterRegistry registry;
+    private final Authentication auth = new TestingAuthenticationToken("ana@test.com", "token", "ROLE_ADMIN");
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private VerifiedTokenCache cacheAt(Instant now, int maxSize) {
+        return new VerifiedTokenCache(new TokenCacheProperties(maxSize, Duration.ofMinutes(5)),
+                registry, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void get_shouldReturnCachedAuthenticationUntilTokenExpires() {
+        VerifiedTokenCache cache = cacheAt(NOW, 10);
+        cache.put("token-a", auth, NOW.plusSeconds(60).toEpochMilli());
+
+        assertSame(auth, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertEquals(1.0, registry.get("auth.token.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void put_shouldIgnoreAlreadyExpiredTokens() {
+        VerifiedTokenCache cache = cacheAt(NOW, 10);
+        cache.put("expired", auth, NOW.minusSeconds(1).toEpochMilli());
+
+        assertNull(cache.get("expired"));
+    }
+
+    @Test
+    void put_shouldStayBoundedWhenFull() {
+        VerifiedTokenCache cache = cacheAt(NOW, 10);
+        long exp = NOW.plusSeconds(60).toEpochMilli();
+        for (int i = 0; i < 50; i++) {
+            cache.put("token-" + i, auth, exp);
+        }
+
+        assertTrue(registry.get("auth.token.cache.size").gauge().value() <= 10);
+        assertSame(auth, cache.get("token-49"));
+    }
+}
@@ -0,0 +1,85 @@
+package co.com.pragma.autenticacion.benchmarks;
+
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationRepository;
+import co.com.pragma.autenticacion.security.JwtReactiveAuthenticationManager;
+import co.com.pragma.autenticacion.security.JwtTokenProviderAdapter;
+import co.com.pragma.autenticacion.security.TokenRevocationList;
+import co.com.pragma.autenticacion.security.VerifiedTokenCache;
+import co.com.pragma.autenticacion.security.config.TokenCacheProperties;
+import co.com.pragma.autenticacion.security.config.TokenRevocationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Autenticación de un Bearer token por petición: con caché de tokens verificados (hit)
+ * y sin ella (HMAC + parseo JSON en cada llamada), más la consulta a la lista de revocación.
+ */
+@State(Scope.Benchmark)
+public class AuthenticationManagerBenchmark {
+
+    private JwtReactiveAuthenticationManager cached;
+    private JwtReactiveAuthenticationManager uncached;
+    private Authentication bearer;
+    private TokenRevocationList revocations;
+    private String probeTokenId;
+    private long issuedAtMs;
+
+    private static final int REVOKED = 10_000;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProviderAdapter provider = new JwtTokenProviderAdapter(Fixtures.SECRET);
+        String token = provider.generateAccessToken(Fixtures.user(), List.of("ADMIN"), Fixtures.ACCESS_TTL_MS).block();
+        bearer = new UsernamePasswordAuthenticationToken(token, token);
+
+        // Lista de revocación con REVOKED tokens ajenos: el token medido pasa por el filtro de Bloom.
+        TokenRevocationRepository repository = (TokenRevocationRepository) Proxy.newProxyInstance(
+                TokenRevocationRepository.class.getClassLoader(),
+                new Class<?>[]{TokenRevocationRepository.class},
+                (proxy, method, args) -> "save".equals(method.getName()) ? Mono.just(args[0]) : Mono.empty());
+        revocations = new TokenRevocationList(repository, new TokenRevocationProperties(null, null, null, null, null),
+                new SimpleMeterRegistry());
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        for (int i = 0; i < REVOKED; i++) {
+            revocations.revokeToken(UUID.randomUUID().toString(), expiresAt).block();
+        }
+        probeTokenId = UUID.randomUUID().toString();
+        issuedAtMs = System.currentTimeMillis();
+
+        cached = new JwtReactiveAuthenticationManager(provider,
+                new VerifiedTokenCache(new TokenCacheProperties(10_000, Duration.ofMinutes(5)), new SimpleMeterRegistry()),
+                revocations);
+        // Un TTL menor a 1 ms hace que la caché nunca retenga entradas: cada llamada valida el token completo
+        uncached = new JwtReactiveAuthenticationManager(provider,
+                new VerifiedTokenCache(new TokenCacheProperties(10_000, Duration.ofNanos(1)), new SimpleMeterRegistry()),
+                revocations);
+        cached.authenticate(bearer).block();
+    }
+
+    @Benchmark
+    public Authentication authenticateCached() {
+        return cached.authenticate(bearer).block();
+    }
+
+    @Benchmark
+    public Authentication authenticateUncached() {
+        return uncached.authenticate(bearer).block();
+    }
+
+    @Benchmark
+    public boolean revocationCheck() {
+        return revocations.isRevoked(probeTokenId, 1L, issuedAtMs);
+    }
+}
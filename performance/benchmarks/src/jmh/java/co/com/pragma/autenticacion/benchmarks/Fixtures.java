@@ -0,0 +1,33 @@
+package co.com.pragma.autenticacion.benchmarks;
+
+import co.com.pragma.autenticacion.model.user.User;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos de prueba compartidos por los benchmarks.
+ */
+final class Fixtures {
+
+    static final String SECRET = "ChangeThisSecretKeyToASecureLongRandomValue!@PrAgma2024";
+    static final long ACCESS_TTL_MS = 15 * 60_000L;
+
+    private Fixtures() {
+    }
+
+    static User user() {
+        return User.builder()
+                .idNumber(42L)
+                .name("Ana")
+                .lastName("Martinez")
+                .dateOfBirth("1990-01-01")
+                .address("Calle 1")
+                .telephone("3000000")
+                .email("ana@test.com")
+                .baseSalary(BigDecimal.valueOf(1_200_000))
+                .identityDocument("1234567890")
+                .idRole(BigDecimal.ONE)
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package co.com.pragma.autenticacion.benchmarks;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.security.JwtKeyRing;
+import co.com.pragma.autenticacion.security.JwtTokenProviderAdapter;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Emisión de access tokens HS256: Jwts.builder() (camino anterior) frente al emisor de JwtTokenProviderAdapter.
+ * Para ver la asignación por operación: ./gradlew :benchmarks:jmh -PjmhInclude=JwtIssuance -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+public class JwtIssuanceBenchmark {
+
+    private JwtKeyRing keyRing;
+    private JwtTokenProviderAdapter provider;
+    private User user;
+    private List<String> roles;
+
+    @Setup
+    public void setUp() {
+        keyRing = JwtKeyRing.hmac(Fixtures.SECRET);
+        provider = new JwtTokenProviderAdapter(keyRing);
+        user = Fixtures.user();
+        roles = List.of("ADMIN");
+    }
+
+    @Benchmark
+    public String jjwtBuilder() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + Fixtures.ACCESS_TTL_MS))
+                .claim(AuthConstants.CLAIM_ID, user.getIdNumber())
+                .claim(AuthConstants.CLAIM_EMAIL, user.getEmail())
+                .claim(AuthConstants.CLAIM_NAME, user.getName() + " " + user.getLastName())
+                .claim(AuthConstants.CLAIM_ROLES, roles)
+                .signWith(keyRing.signingKey(), keyRing.algorithm())
+                .compact();
+    }
+
+    @Benchmark
+    public String issuer() {
+        return provider.generateAccessToken(user, roles, Fixtures.ACCESS_TTL_MS).block();
+    }
+}
@@ -0,0 +1,41 @@
+package co.com.pragma.autenticacion.benchmarks;
+
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.security.JwtTokenProviderAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emisión y validación de tokens con JwtTokenProviderAdapter (HS256).
+ */
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProviderAdapter provider;
+    private User user;
+    private List<String> roles;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProviderAdapter(Fixtures.SECRET);
+        user = Fixtures.user();
+        roles = List.of("ADMIN");
+        token = provider.generateAccessToken(user, roles, Fixtures.ACCESS_TTL_MS).block();
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return provider.generateAccessToken(user, roles, Fixtures.ACCESS_TTL_MS).block();
+    }
+
+    @Benchmark
+    public Map<String, Object> parseAndValidate() {
+        return provider.parseAndValidate(token).block();
+    }
+}
@@ -0,0 +1,67 @@
+package co.com.pragma.autenticacion.benchmarks;
+
+import co.com.pragma.autenticacion.api.dto.UserExportDTO;
+import co.com.pragma.autenticacion.api.dto.UserRequestDTO;
+import co.com.pragma.autenticacion.api.dto.UserResponseDTO;
+import co.com.pragma.autenticacion.api.mapper.UserApiMapperImpl;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.r2dbc.entity.UserEntity;
+import co.com.pragma.autenticacion.r2dbc.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Conversiones MapStruct: persistencia (UserMapper) y API (UserApiMapper).
+ */
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private UserMapperImpl userMapper;
+    private UserApiMapperImpl apiMapper;
+    private User user;
+    private UserEntity entity;
+    private UserRequestDTO dto;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        apiMapper = new UserApiMapperImpl();
+        Map<Long, String> roles = Map.of(1L, "ADMIN", 2L, "ASESOR", 3L, "CLIENTE");
+        apiMapper.setRoleCatalog(id -> Optional.ofNullable(roles.get(id)));
+        user = Fixtures.user();
+        entity = userMapper.toEntity(user);
+        dto = new UserRequestDTO(user.getName(), user.getLastName(), user.getEmail(), user.getDateOfBirth(),
+                user.getIdentityDocument(), user.getTelephone(), user.getBaseSalary().doubleValue(),
+                user.getAddress(), user.getIdRole().intValue(), user.getPassword());
+    }
+
+    @Benchmark
+    public UserEntity domainToEntity() {
+        return userMapper.toEntity(user);
+    }
+
+    @Benchmark
+    public User entityToDomain() {
+        return userMapper.toModel(entity);
+    }
+
+    @Benchmark
+    public User requestToDomain() {
+        return apiMapper.toDomain(dto);
+    }
+
+    @Benchmark
+    public UserExportDTO domainToDto() {
+        return apiMapper.toExportDTO(user);
+    }
+
+    @Benchmark
+    public UserResponseDTO domainToResponse() {
+        return apiMapper.toResponseDTO(user);
+    }
+}
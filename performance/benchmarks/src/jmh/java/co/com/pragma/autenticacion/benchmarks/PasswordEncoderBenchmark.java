@@ -0,0 +1,52 @@
+package co.com.pragma.autenticacion.benchmarks;
+
+import co.com.pragma.autenticacion.model.auth.gateways.PasswordEncoderPort;
+import co.com.pragma.autenticacion.security.BcryptPasswordEncoderAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de BCrypt a través del puerto PasswordEncoderPort (el scheduler inmediato aísla el coste
+ * del hash del salto de hilo). 10 es la fuerza usada en producción.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordEncoderBenchmark {
+
+    private static final String RAW = "S3cret-Passw0rd";
+
+    @Param({"10"})
+    public int strength;
+
+    private PasswordEncoderPort encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BcryptPasswordEncoderAdapter(new BCryptPasswordEncoder(strength),
+                Schedulers.immediate(), new SimpleMeterRegistry());
+        hash = encoder.encode(RAW).block();
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(RAW).block();
+    }
+
+    @Benchmark
+    public Boolean matches() {
+        return encoder.matches(RAW, hash).block();
+    }
+}
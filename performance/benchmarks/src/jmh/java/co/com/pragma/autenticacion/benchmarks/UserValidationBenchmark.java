@@ -0,0 +1,69 @@
+package co.com.pragma.autenticacion.benchmarks;
+
+import co.com.pragma.autenticacion.model.tokeninfo.gateways.TokenRevocationStore;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.model.user.gateways.UserRepository;
+import co.com.pragma.autenticacion.usecase.user.UserUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Validaciones de negocio de UserUseCase medidas a través de saveUser, con un repositorio
+ * en memoria que devuelve el mismo usuario, sin I/O. La comparación aislada de las reglas
+ * está en UserValidatorBenchmark.
+ */
+@State(Scope.Benchmark)
+public class UserValidationBenchmark {
+
+    private UserUseCase useCase;
+    private User valid;
+    private User invalidEmail;
+    private User invalidDate;
+
+    @Setup
+    public void setUp() {
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> "saveUser".equals(method.getName())
+                        ? Mono.just(args[0])
+                        : Mono.empty());
+        // La revocación solo participa en deleteUser, que no se mide aquí.
+        TokenRevocationStore revocations = (TokenRevocationStore) Proxy.newProxyInstance(
+                TokenRevocationStore.class.getClassLoader(),
+                new Class<?>[]{TokenRevocationStore.class},
+                (proxy, method, args) -> method.getReturnType() == boolean.class ? Boolean.FALSE : Mono.empty());
+        useCase = new UserUseCase(repository, revocations);
+        valid = Fixtures.user();
+        invalidEmail = valid.toBuilder().email("sin-arroba").build();
+        invalidDate = valid.toBuilder().dateOfBirth("01/01/1990").build();
+    }
+
+    @Benchmark
+    public User validUser() {
+        return useCase.saveUser(valid).block();
+    }
+
+    @Benchmark
+    public Object invalidEmail() {
+        return rejected(invalidEmail);
+    }
+
+    @Benchmark
+    public Object invalidDateOfBirth() {
+        return rejected(invalidDate);
+    }
+
+    private Object rejected(User user) {
+        try {
+            return useCase.saveUser(user).onErrorResume(e -> Mono.empty()).block();
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package co.com.pragma.autenticacion.benchmarks;
+
+import co.com.pragma.autenticacion.model.auth.AuthConstants;
+import co.com.pragma.autenticacion.model.user.User;
+import co.com.pragma.autenticacion.usecase.exceptions.ValidationException;
+import co.com.pragma.autenticacion.usecase.user.UserValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * UserValidator frente a la validación anterior de UserUseCase (regex por llamada, BigDecimal
+ * nuevo, DateTimeFormatter por llamada y excepciones como flujo de control), copiada en
+ * LegacyValidation tal como estaba.
+ */
+@State(Scope.Benchmark)
+public class UserValidatorBenchmark {
+
+    private UserValidator validator;
+    private User valid;
+    private User invalidEmail;
+    private User invalidDate;
+
+    @Setup
+    public void setUp() {
+        validator = new UserValidator();
+        valid = Fixtures.user();
+        invalidEmail = valid.toBuilder().email("sin-arroba").build();
+        invalidDate = valid.toBuilder().dateOfBirth("01/01/1990").build();
+    }
+
+    @Benchmark
+    public List<String> validatorValid() {
+        return validator.violations(valid);
+    }
+
+    @Benchmark
+    public List<String> validatorInvalidEmail() {
+        return validator.violations(invalidEmail);
+    }
+
+    @Benchmark
+    public List<String> validatorInvalidDate() {
+        return validator.violations(invalidDate);
+    }
+
+    @Benchmark
+    public Object legacyValid() {
+        return LegacyValidation.check(valid);
+    }
+
+    @Benchmark
+    public Object legacyInvalidEmail() {
+        return LegacyValidation.check(invalidEmail);
+    }
+
+    @Benchmark
+    public Object legacyInvalidDate() {
+        return LegacyValidation.check(invalidDate);
+    }
+
+    /**
+     * Copia de las validaciones privadas que tenía UserUseCase antes de UserValidator.
+     */
+    static final class LegacyValidation {
+
+        static Object check(User user) {
+            try {
+                validateUser(user);
+                return null;
+            } catch (ValidationException e) {
+                return e;
+            }
+        }
+
+        private static void validateUser(User user) {
+            if (isNullOrEmpty(user.getName())) throw new ValidationException(AuthConstants.VALIDATION_NAME_REQUIRED);
+            if (isNullOrEmpty(user.getLastName())) throw new ValidationException(AuthConstants.VALIDATION_LASTNAME_REQUIRED);
+
+            validateEmail(user.getEmail());
+            validateSalary(user.getBaseSalary());
+            validateDateOfBirth(user.getDateOfBirth());
+        }
+
+        private static void validateEmail(String email) {
+            if (isNullOrEmpty(email)) throw new ValidationException(AuthConstants.VALIDATION_EMAIL_REQUIRED);
+            if (!email.matches("^[A-Za-z0-9+_.-]+@(.+)$"))
+                throw new ValidationException(AuthConstants.VALIDATION_EMAIL_FORMAT);
+        }
+
+        private static void validateSalary(BigDecimal salario) {
+            if (salario == null) throw new ValidationException(AuthConstants.VALIDATION_SALARY_REQUIRED);
+            if (salario.compareTo(BigDecimal.ZERO) < 0 || salario.compareTo(new BigDecimal("1500000")) > 0)
+                throw new ValidationException(AuthConstants.VALIDATION_SALARY_RANGE);
+        }
+
+        private static void validateDateOfBirth(String dateOfBirth) {
+            if (isNullOrEmpty(dateOfBirth)) throw new ValidationException(AuthConstants.VALIDATION_DOB_REQUIRED);
+            try {
+                LocalDate fecha = LocalDate.parse(dateOfBirth, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                int edad = Period.between(fecha, LocalDate.now()).getYears();
+                if (edad < 18) throw new ValidationException(AuthConstants.VALIDATION_DOB_UNDERAGE);
+            } catch (DateTimeParseException e) {
+                throw new ValidationException(AuthConstants.VALIDATION_DOB_FORMAT);
+            }
+        }
+
+        private static boolean isNullOrEmpty(String value) {
+            return value == null || value.trim().isEmpty();
+        }
+    }
+}